@@ -1,5 +1,14 @@
 import java.util.Scanner;
 
+import org.hibernate.HibernateException;
+
+import com.proj.employeemanagement.connection.SessionFactoryLifecycle;
+import com.proj.employeemanagement.controller.EmployeeController;
+import com.proj.employeemanagement.dao.impl.EmployeeKeyIndex;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.outbox.OutboxRelay;
+import com.proj.employeemanagement.util.ExportFormat;
 import com.proj.employeemanagement.view.EmployeeView;
 import com.proj.employeemanagement.view.ProjectView;
 
@@ -15,7 +24,60 @@ public class EmployeeManagement {
 
     public static void main(String[] args) {
         EmployeeManagement employeeManagement = new EmployeeManagement();
-        employeeManagement.executeOperation();    
+
+        try {
+            if (Boolean.parseBoolean(System.getProperty("employeemanagement.warmup",
+                    "true"))) {
+                SessionFactoryLifecycle.warmUp();
+                EmployeeKeyIndex.warmUp();
+            }
+            OutboxRelay.startConfigured();
+            if (0 < args.length && "export".equals(args[0])) {
+                employeeManagement.exportEmployees(args);
+            } else {
+                employeeManagement.executeOperation();
+            }
+        } catch (HibernateException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception);
+            System.out.println("Could not connect to the database!!!");
+        } finally {
+            SessionFactoryLifecycle.shutdown();
+        }
+    }
+
+    /**
+     * Exports all employees without the interactive menu, for scheduled jobs.
+     * Arguments are: export file-path [csv|jsonl] [gzip] [parallelism].
+     *
+     * @param args  command line arguments starting with export
+     */
+    public void exportEmployees(String[] args) {
+        String filePath = (1 < args.length) ? args[1] : "employees.csv";
+        ExportFormat exportFormat = (2 < args.length && "jsonl".equals(args[2]))
+                ? ExportFormat.JSON_LINES : ExportFormat.CSV;
+        boolean isCompressed = (3 < args.length && "gzip".equals(args[3]));
+        int parallelism = 1;
+
+        if (4 < args.length) {
+            try {
+                parallelism = Integer.parseInt(args[4]);
+            } catch (NumberFormatException exception) {
+                parallelism = 0;
+            }
+            if (1 > parallelism) {
+                System.out.println("Parallelism must be a positive integer\nUsage: export"
+                        + " file-path [csv|jsonl] [gzip] [parallelism]");
+                return;
+            }
+        }
+
+        try {
+            System.out.println(new EmployeeController().exportEmployees(filePath,
+                    exportFormat, isCompressed, parallelism));
+        } catch (EmployeeManagementException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception);
+            System.out.println(exception);
+        }
     }
 
     /**
@@ -1,10 +1,27 @@
 package com.proj.employeemanagement.connection;
 
-import java.io.File;
-import org.hibernate.cfg.Configuration;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.OptimisticLockException;
+
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StaleStateException;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
 
 /**
  * ConnectionFactory class sets-up connection with the database.
@@ -15,7 +32,10 @@ import org.hibernate.SessionFactory;
  */
 public class ConnectionFactory {
 
-    private static SessionFactory sessionFactory;
+    private static final Map<Session, Connection> REPLICA_CONNECTIONS
+            = new ConcurrentHashMap<>();
+    private static final Set<Transaction> READ_ONLY_TRANSACTIONS
+            = ConcurrentHashMap.newKeySet();
 
     private ConnectionFactory() {
     }
@@ -26,34 +46,283 @@ public class ConnectionFactory {
      * @return SessionFactory  used to create session
      */
     public static SessionFactory getSessionFactory() {
+        return SessionFactoryLifecycle.getSessionFactory();
+    }
     
+    /**
+     * Get session, which is the session of the unit of work when one is
+     * running on this thread.
+     *
+     * @return Session used to get a physical connection with a database
+     */        
+    public static Session getSession() {
+        return UnitOfWork.isActive() ? UnitOfWork.getCurrentSession()
+                : getSessionFactory().openSession();
+    }
+
+    /**
+     * Get session for fetching only. Loaded entities are read-only, so no
+     * snapshots are kept for dirty checking, and the session is never
+     * flushed. Inside a unit of work its session is returned unchanged.
+     * When replicas are configured the session reads from one of them,
+     * unless this thread wrote recently and must see its own writes.
+     *
+     * @return Session used to read from the database
+     */        
+    public static Session getReadOnlySession() {
+        ReplicaRouter replicaRouter = SessionFactoryLifecycle.getReplicaRouter();
+        Session session = null;
+
+        if (UnitOfWork.isActive()) {
+            return UnitOfWork.getCurrentSession();
+        }
+        if (replicaRouter.isReplicaReadAllowed()) {
+            session = openReplicaSession(replicaRouter);
+        }
+        if (null == session) {
+            session = getSessionFactory().openSession();
+        }
+
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        return session;
+    }
+
+    /**
+     * Opens a session on a replica connection, or returns null when no
+     * replica connection can be had so the read falls back to the primary.
+     * The session reads the second level cache but never puts into it, so
+     * a lagging replica cannot bring back an entry evicted after a write.
+     */
+    private static Session openReplicaSession(ReplicaRouter replicaRouter) {
+        Connection connection = null;
+        Session session = null;
 
         try {
-            if (null == sessionFactory || sessionFactory.isClosed()) {                                                
-                sessionFactory = new Configuration().configure()
-                        .buildSessionFactory(); 
-            } 
-        } catch (Exception exception) {
-            exception.printStackTrace();
+            connection = replicaRouter.borrow();
+            session = getSessionFactory().withOptions().connection(connection)
+                    .openSession();
+            session.setCacheMode(CacheMode.GET);
+            REPLICA_CONNECTIONS.put(session, connection);
+        } catch (SQLException | HibernateException exception) {
+            EmployeeManagementLogger.LOGGER.warn("Replica unavailable, reading"
+                    + " from the primary", exception);
+            if (null != connection) {
+                replicaRouter.release(connection);
+            }
         }
-        return sessionFactory;
+        return session;
     }
-    
+
     /**
-     * Get session.
+     * Begins a transaction and marks its JDBC connection read-only before
+     * any statement runs, which lets the driver and database skip the
+     * bookkeeping of a writing transaction where supported. The pool
+     * clears the flag when the connection is returned.
      *
-     * @return Session used to get a physical connection with a database
+     * @param session  session opened by getReadOnlySession
+     * @return         Transaction the read-only transaction
+     */
+    public static Transaction beginReadOnlyTransaction(Session session) {
+        Transaction transaction = null;
+
+        if (UnitOfWork.isActive()) {
+            return session.getTransaction();
+        }
+        transaction = session.beginTransaction();
+        session.doWork(connection -> connection.setReadOnly(true));
+        READ_ONLY_TRANSACTIONS.add(transaction);
+        return transaction;
+    }
+
+    /**
+     * Begins a transaction, or joins the transaction of the unit of work
+     * running on this thread.
+     *
+     * @param session  session given by getSession
+     * @return         Transaction the transaction of the DAO call
+     */
+    public static Transaction beginTransaction(Session session) {
+        return UnitOfWork.isActive() ? session.getTransaction()
+                : session.beginTransaction();
+    }
+
+    /**
+     * Commits the transaction. Inside a unit of work the changes are only
+     * flushed, so failures still surface in the DAO call, and the unit
+     * commits them at its end. Once a writing transaction or unit has
+     * committed, the read-your-writes window of the thread starts.
+     *
+     * @param transaction  transaction given by beginTransaction
+     */
+    public static void commit(Transaction transaction) {
+        ReplicaRouter replicaRouter = SessionFactoryLifecycle.getReplicaRouter();
+
+        if (UnitOfWork.isActive()) {
+            UnitOfWork.getCurrentSession().flush();
+            UnitOfWork.afterCommit(replicaRouter::recordWrite);
+        } else {
+            transaction.commit();
+            if (!READ_ONLY_TRANSACTIONS.remove(transaction)) {
+                replicaRouter.recordWrite();
+            }
+        }
+    }
+
+    /**
+     * Rolls back the transaction. Inside a unit of work the whole unit is
+     * marked to be rolled back at its end instead.
+     *
+     * @param transaction  transaction given by beginTransaction
+     */
+    public static void rollback(Transaction transaction) {
+        if (UnitOfWork.isActive()) {
+            transaction.setRollbackOnly();
+        } else {
+            READ_ONLY_TRANSACTIONS.remove(transaction);
+            transaction.rollback();
+        }
+    }
+
+    /**
+     * Get stateless session, which keeps no persistence context and suits
+     * reading or writing large numbers of rows.
+     *
+     * @return StatelessSession used to get a physical connection with a database
      */        
-    public static Session getSession() {
-        return getSessionFactory().openSession();
+    public static StatelessSession getStatelessSession() {
+        return getSessionFactory().openStatelessSession();
+    }
+    
+    /**
+     * Gets usage statistics of the connection pool behind the session factory.
+     *
+     * @return ConnectionPoolStats pool statistics or null if the pool is not
+     *                             the configured connection provider
+     */
+    public static ConnectionPoolStats getPoolStats() {
+        ConnectionProvider connectionProvider = ((SessionFactoryImplementor)
+                getSessionFactory()).getServiceRegistry()
+                .getService(ConnectionProvider.class);
+
+        return (connectionProvider.isUnwrappableAs(PooledConnectionProvider.class))
+                ? connectionProvider.unwrap(PooledConnectionProvider.class).getStats()
+                : null;
+    }
+
+    /**
+     * Gets query plan cache and query execution statistics of the session
+     * factory.
+     *
+     * @return QueryStats query statistics or null if statistics are not
+     *                    generated
+     */
+    public static QueryStats getQueryStats() {
+        return QueryStats.of(getSessionFactory().getStatistics());
     }
     
     /**
-     * Closes session.
+     * Evicts cached entities and collections which a write may have made 
+     * stale, such as a bulk HQL statement or a change to the other side of
+     * a many-to-many mapping.
+     *
+     * @param entityClass      entity whose region is to be cleared or null
+     * @param collectionRoles  collection regions to be cleared
+     */
+    public static void evictCache(Class<?> entityClass, String... collectionRoles) {
+        Cache cache = getSessionFactory().getCache();
+
+        if (null != entityClass) {
+            cache.evictEntityData(entityClass);
+        }
+        for (String collectionRole : collectionRoles) {
+            cache.evictCollectionData(collectionRole);
+        }
+    }
+
+    /**
+     * Evicts the cached collection of a single owner.
+     *
+     * @param collectionRole  role of the collection
+     * @param ownerId         id of the entity owning the collection
+     */
+    public static void evictCollection(String collectionRole, Serializable ownerId) {
+        getSessionFactory().getCache().evictCollectionData(collectionRole, ownerId);
+    }
+    
+    /**
+     * Tells whether a failed write was rejected because the version of the
+     * row no longer matches, that is another user updated it first. The
+     * check walks the causes as Hibernate wraps the stale state failure on
+     * commit.
+     *
+     * @param exception  failure of the write
+     * @return           boolean true if the row was changed concurrently
+     */
+    public static boolean isVersionConflict(Throwable exception) {
+        for (Throwable cause = exception; null != cause; cause = cause.getCause()) {
+            if ((cause instanceof StaleStateException)
+                    || (cause instanceof OptimisticLockException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether a failed write was rejected by the database for what it
+     * tried to write, a constraint violation or a value which does not fit
+     * its column, so trying it again cannot succeed. Any other failure, a
+     * lost connection among them, may pass on a later attempt.
+     *
+     * @param exception  failure of the write
+     * @return           boolean true if the write can never succeed
+     */
+    public static boolean isPermanentFailure(Throwable exception) {
+        for (Throwable cause = exception; null != cause; cause = cause.getCause()) {
+            if (cause instanceof IllegalArgumentException) {
+                return true;
+            }
+            if ((cause instanceof SQLException)
+                    && (null != ((SQLException) cause).getSQLState())) {
+                String sqlState = ((SQLException) cause).getSQLState();
+
+                return sqlState.startsWith("22") || sqlState.startsWith("23");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Closes session unless it belongs to the running unit of work. The
+     * connection of a replica session goes back to its pool.
      *
      * @param session  session to be closed
      */    
     public static void close(Session session) {
+        Connection replicaConnection = null;
+
+        try {
+            if ((null != session) && (session != UnitOfWork.getCurrentSession())) {
+                replicaConnection = REPLICA_CONNECTIONS.remove(session);
+                READ_ONLY_TRANSACTIONS.remove(session.getTransaction());
+                session.close();
+            }
+        } catch (HibernateException exception) {
+            exception.printStackTrace();
+        } finally {
+            if (null != replicaConnection) {
+                SessionFactoryLifecycle.getReplicaRouter().release(replicaConnection);
+            }
+        }
+    }
+
+    /**
+     * Closes stateless session.
+     *
+     * @param session  stateless session to be closed
+     */    
+    public static void close(StatelessSession session) {
         try {
             if (null != session) {
                 session.close();
@@ -0,0 +1,100 @@
+package com.proj.employeemanagement.connection;
+
+/**
+ * Snapshot of connection pool usage used to size the pool against real
+ * traffic.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ConnectionPoolStats {
+
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int waitingThreads;
+    private final int totalConnections;
+    private final int maxSize;
+    private final long acquireCount;
+    private final long acquireTimeNanos;
+    private final long maxAcquireTimeNanos;
+    private final long timeoutCount;
+    private final long leakCount;
+
+    public ConnectionPoolStats(int activeConnections, int idleConnections,
+            int waitingThreads, int totalConnections, int maxSize,
+            long acquireCount, long acquireTimeNanos, long maxAcquireTimeNanos,
+            long timeoutCount, long leakCount) {
+
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waitingThreads = waitingThreads;
+        this.totalConnections = totalConnections;
+        this.maxSize = maxSize;
+        this.acquireCount = acquireCount;
+        this.acquireTimeNanos = acquireTimeNanos;
+        this.maxAcquireTimeNanos = maxAcquireTimeNanos;
+        this.timeoutCount = timeoutCount;
+        this.leakCount = leakCount;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    public double getAverageAcquireMillis() {
+        return (0 == acquireCount) ? 0 : acquireTimeNanos / 1000000.0 / acquireCount;
+    }
+
+    public double getMaxAcquireMillis() {
+        return maxAcquireTimeNanos / 1000000.0;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public long getLeakCount() {
+        return leakCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append("active=").append(activeConnections)
+                .append(", idle=").append(idleConnections)
+                .append(", waiting=").append(waitingThreads)
+                .append(", total=").append(totalConnections)
+                .append("/").append(maxSize)
+                .append(", acquired=").append(acquireCount)
+                .append(", avgAcquireMs=")
+                .append(String.format("%.3f", getAverageAcquireMillis()))
+                .append(", maxAcquireMs=")
+                .append(String.format("%.3f", getMaxAcquireMillis()))
+                .append(", timeouts=").append(timeoutCount)
+                .append(", leaks=").append(leakCount);
+
+        return stringBuilder.toString();
+    }
+}
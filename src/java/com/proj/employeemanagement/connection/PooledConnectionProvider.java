@@ -0,0 +1,468 @@
+package com.proj.employeemanagement.connection;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.internal.ConnectionProviderInitiator;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+
+/**
+ * Bounded JDBC connection pool plugged into the session factory as its
+ * connection provider. Connections are validated before they are handed out,
+ * borrowers wait at most the acquire timeout and connections held longer than
+ * the leak detection threshold are reported in the log. A slot is reserved
+ * against the maximum size before a connection is opened, so the pool never
+ * holds more connections than allowed, and every returned connection gets
+ * back the read-only, auto-commit and isolation settings it was opened with.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class PooledConnectionProvider implements ConnectionProvider,
+        Configurable, Stoppable {
+
+    public static final String MIN_SIZE = "hibernate.connection.pool.min_size";
+    public static final String MAX_SIZE = "hibernate.connection.pool.max_size";
+    public static final String ACQUIRE_TIMEOUT
+            = "hibernate.connection.pool.acquire_timeout";
+    public static final String VALIDATION_TIMEOUT
+            = "hibernate.connection.pool.validation_timeout";
+    public static final String LEAK_DETECTION_THRESHOLD
+            = "hibernate.connection.pool.leak_detection_threshold";
+
+    private final BlockingDeque<PooledConnection> idleConnections
+            = new LinkedBlockingDeque<>();
+    private final Map<Connection, PooledConnection> activeConnections
+            = new ConcurrentHashMap<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireTimeNanos = new AtomicLong();
+    private final AtomicLong maxAcquireTimeNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+
+    private String url;
+    private Properties connectionProperties;
+    private int minSize;
+    private int maxSize;
+    private long acquireTimeoutMillis;
+    private int validationTimeoutSeconds;
+    private long leakDetectionThresholdMillis;
+    private Boolean autoCommit;
+    private Integer isolation;
+    private Semaphore permits;
+    private ScheduledExecutorService leakDetector;
+
+    /**
+     * Reads connection and pool settings from the hibernate configuration.
+     *
+     * @param configurationValues  settings of the session factory being built
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void configure(Map configurationValues) {
+        String driverClass = getString(configurationValues, AvailableSettings.DRIVER, null);
+
+        url = getString(configurationValues, AvailableSettings.URL, null);
+        connectionProperties = new Properties();
+        connectionProperties.setProperty("user",
+                getString(configurationValues, AvailableSettings.USER, ""));
+        connectionProperties.setProperty("password",
+                getString(configurationValues, AvailableSettings.PASS, ""));
+        minSize = getInt(configurationValues, MIN_SIZE, 2);
+        maxSize = Math.max(1, getInt(configurationValues, MAX_SIZE, 10));
+        minSize = Math.min(minSize, maxSize);
+        acquireTimeoutMillis = getInt(configurationValues, ACQUIRE_TIMEOUT, 5000);
+        validationTimeoutSeconds = getInt(configurationValues, VALIDATION_TIMEOUT, 2);
+        leakDetectionThresholdMillis = getInt(configurationValues,
+                LEAK_DETECTION_THRESHOLD, 60000);
+        autoCommit = (null == getString(configurationValues, AvailableSettings.AUTOCOMMIT,
+                null)) ? null : Boolean.valueOf(getString(configurationValues,
+                        AvailableSettings.AUTOCOMMIT, null));
+        isolation = ConnectionProviderInitiator.extractIsolation(configurationValues);
+        permits = new Semaphore(maxSize, true);
+
+        try {
+            if (null != driverClass) {
+                Class.forName(driverClass);
+            }
+        } catch (ClassNotFoundException exception) {
+            EmployeeManagementLogger.LOGGER.error("JDBC driver not found: "
+                    + driverClass, exception);
+        }
+
+        if (0 < leakDetectionThresholdMillis) {
+            leakDetector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "connection-leak-detector");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1000, leakDetectionThresholdMillis / 2);
+            leakDetector.scheduleAtFixedRate(this::detectLeaks, period, period,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Opens connections until the pool holds at least the configured minimum.
+     * Connections opened by borrowers at the same time count towards it.
+     *
+     * @return int number of connections opened
+     */
+    public int fill() throws SQLException {
+        int opened = 0;
+
+        while (reserve(minSize)) {
+            idleConnections.offerLast(openConnection());
+            opened++;
+        }
+        return opened;
+    }
+
+    /**
+     * Borrows a validated connection, waiting up to the acquire timeout when
+     * every connection is in use.
+     *
+     * @return Connection connection borrowed from the pool
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        long startTime = System.nanoTime();
+        PooledConnection pooledConnection = null;
+
+        waitingThreads.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a connection, " + getStats());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection",
+                    exception);
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+
+        try {
+            while (null == pooledConnection) {
+                PooledConnection idleConnection = idleConnections.pollFirst();
+
+                if ((null == idleConnection) && reserve(maxSize)) {
+                    pooledConnection = openConnection();
+                    continue;
+                }
+                if (null == idleConnection) {
+                    // Every slot is taken yet fewer connections are borrowed,
+                    // so one is on its way back to the idle connections
+                    idleConnection = idleConnections.pollFirst(acquireTimeoutMillis,
+                            TimeUnit.MILLISECONDS);
+                    if (null == idleConnection) {
+                        timeoutCount.incrementAndGet();
+                        throw new SQLException("Timed out after " + acquireTimeoutMillis
+                                + " ms waiting for an idle connection, " + getStats());
+                    }
+                }
+                if (isValid(idleConnection.connection)) {
+                    pooledConnection = idleConnection;
+                } else {
+                    discard(idleConnection.connection);
+                }
+            }
+        } catch (InterruptedException exception) {
+            permits.release();
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection",
+                    exception);
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+
+        pooledConnection.borrowedAt = System.currentTimeMillis();
+        pooledConnection.borrowedBy = (0 < leakDetectionThresholdMillis)
+                ? new Exception("Connection borrowed by "
+                        + Thread.currentThread().getName())
+                : null;
+        pooledConnection.leakReported = false;
+        activeConnections.put(pooledConnection.connection, pooledConnection);
+        recordAcquireTime(System.nanoTime() - startTime);
+        return pooledConnection.connection;
+    }
+
+    /**
+     * Returns a borrowed connection to the pool, restoring the settings it
+     * was opened with so the next borrower does not inherit a read-only
+     * flag, auto-commit mode or isolation level changed by this one.
+     *
+     * @param connection  connection previously handed out by this pool
+     */
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        PooledConnection pooledConnection = activeConnections.remove(connection);
+
+        if (null == pooledConnection) {
+            connection.close();
+            return;
+        }
+        try {
+            if (pooledConnection.leakReported) {
+                EmployeeManagementLogger.LOGGER.warn("Previously reported "
+                        + "leaked connection was returned after "
+                        + (System.currentTimeMillis() - pooledConnection.borrowedAt)
+                        + " ms");
+            }
+            if (connection.isClosed()) {
+                totalConnections.decrementAndGet();
+            } else {
+                reset(pooledConnection);
+                idleConnections.offerFirst(pooledConnection);
+            }
+        } catch (SQLException exception) {
+            discard(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Gets a point in time view of the pool usage.
+     *
+     * @return ConnectionPoolStats current pool statistics
+     */
+    public ConnectionPoolStats getStats() {
+        return new ConnectionPoolStats(activeConnections.size(),
+                idleConnections.size(), waitingThreads.get(),
+                totalConnections.get(), maxSize, acquireCount.get(),
+                acquireTimeNanos.get(), maxAcquireTimeNanos.get(),
+                timeoutCount.get(), leakCount.get());
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean isUnwrappableAs(Class unwrapType) {
+        return ConnectionProvider.class.equals(unwrapType)
+                || ((Class<?>) unwrapType).isAssignableFrom(getClass());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (isUnwrappableAs(unwrapType)) {
+            return (T) this;
+        }
+        throw new IllegalArgumentException("Cannot unwrap to " + unwrapType);
+    }
+
+    /**
+     * Closes every pooled connection and stops the leak detector.
+     */
+    @Override
+    public void stop() {
+        PooledConnection pooledConnection;
+
+        if (null != leakDetector) {
+            leakDetector.shutdownNow();
+        }
+        while (null != (pooledConnection = idleConnections.pollFirst())) {
+            discard(pooledConnection.connection);
+        }
+        if (!activeConnections.isEmpty()) {
+            EmployeeManagementLogger.LOGGER.warn(activeConnections.size()
+                    + " connections still in use while stopping the pool");
+            for (Connection connection : activeConnections.keySet()) {
+                discard(connection);
+            }
+            activeConnections.clear();
+        }
+    }
+
+    /**
+     * Takes a slot for a new connection unless the pool already holds the
+     * limit. The check and the count change in one step, so threads opening
+     * connections at the same time never go past the limit together.
+     *
+     * @param limit  number of connections the pool may hold
+     * @return       boolean true if a slot was taken
+     */
+    private boolean reserve(int limit) {
+        int current;
+
+        do {
+            current = totalConnections.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!totalConnections.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Opens a new physical connection to the database in a slot taken with
+     * reserve, applying the configured auto-commit mode and isolation level.
+     * The slot is given back if the connection cannot be opened.
+     *
+     * @return PooledConnection newly opened connection
+     */
+    private PooledConnection openConnection() throws SQLException {
+        Connection connection = null;
+
+        try {
+            connection = DriverManager.getConnection(url, connectionProperties);
+            if (null != autoCommit) {
+                connection.setAutoCommit(autoCommit);
+            }
+            if (null != isolation) {
+                connection.setTransactionIsolation(isolation);
+            }
+            return new PooledConnection(connection, connection.getAutoCommit(),
+                    connection.getTransactionIsolation());
+        } catch (SQLException | RuntimeException exception) {
+            if (null != connection) {
+                discard(connection);
+            } else {
+                totalConnections.decrementAndGet();
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Restores the settings a returned connection was opened with.
+     *
+     * @param pooledConnection  connection given back by its borrower
+     */
+    private void reset(PooledConnection pooledConnection) throws SQLException {
+        Connection connection = pooledConnection.connection;
+
+        if (connection.isReadOnly()) {
+            connection.setReadOnly(false);
+        }
+        if (pooledConnection.autoCommit != connection.getAutoCommit()) {
+            connection.setAutoCommit(pooledConnection.autoCommit);
+        }
+        if (pooledConnection.isolation != connection.getTransactionIsolation()) {
+            connection.setTransactionIsolation(pooledConnection.isolation);
+        }
+    }
+
+    /**
+     * Checks whether an idle connection is still usable.
+     *
+     * @param connection  connection to be validated
+     * @return            boolean true if connection is usable or false
+     */
+    private boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes a physical connection and removes it from the pool count.
+     *
+     * @param connection  connection to be closed
+     */
+    private void discard(Connection connection) {
+        totalConnections.decrementAndGet();
+        try {
+            connection.close();
+        } catch (SQLException exception) {
+            EmployeeManagementLogger.LOGGER.warn("Could not close connection",
+                    exception);
+        }
+    }
+
+    /**
+     * Logs connections which have been borrowed longer than the leak
+     * detection threshold.
+     */
+    private void detectLeaks() {
+        long now = System.currentTimeMillis();
+
+        for (PooledConnection pooledConnection : activeConnections.values()) {
+            if (!pooledConnection.leakReported && leakDetectionThresholdMillis
+                    < now - pooledConnection.borrowedAt) {
+                pooledConnection.leakReported = true;
+                leakCount.incrementAndGet();
+                EmployeeManagementLogger.LOGGER.warn("Possible connection leak, "
+                        + "connection held for " + (now - pooledConnection.borrowedAt)
+                        + " ms", pooledConnection.borrowedBy);
+            }
+        }
+    }
+
+    /**
+     * Adds the time taken by one borrower to the acquire latency counters.
+     *
+     * @param elapsedNanos  time taken to hand out the connection
+     */
+    private void recordAcquireTime(long elapsedNanos) {
+        long currentMax;
+
+        acquireCount.incrementAndGet();
+        acquireTimeNanos.addAndGet(elapsedNanos);
+        do {
+            currentMax = maxAcquireTimeNanos.get();
+        } while (elapsedNanos > currentMax
+                && !maxAcquireTimeNanos.compareAndSet(currentMax, elapsedNanos));
+    }
+
+    private static String getString(Map<?, ?> configurationValues, String key,
+            String defaultValue) {
+        Object value = configurationValues.get(key);
+        return (null == value) ? defaultValue : value.toString().trim();
+    }
+
+    private static int getInt(Map<?, ?> configurationValues, String key, int defaultValue) {
+        String value = getString(configurationValues, key, null);
+        return (null == value || value.isEmpty()) ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Physical connection along with its borrow bookkeeping.
+     */
+    private static class PooledConnection {
+
+        private final Connection connection;
+        private final boolean autoCommit;
+        private final int isolation;
+        private volatile long borrowedAt;
+        private volatile Exception borrowedBy;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection connection, boolean autoCommit,
+                int isolation) {
+            this.connection = connection;
+            this.autoCommit = autoCommit;
+            this.isolation = isolation;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.proj.employeemanagement.connection;
+
+import org.hibernate.stat.Statistics;
+
+/**
+ * Snapshot of query statistics of the session factory, used to confirm that
+ * queries are served from the query plan cache instead of being parsed again.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class QueryStats {
+
+    private final long planCacheHitCount;
+    private final long planCacheMissCount;
+    private final long executionCount;
+    private final long maxExecutionMillis;
+    private final String slowestQuery;
+
+    public QueryStats(long planCacheHitCount, long planCacheMissCount,
+            long executionCount, long maxExecutionMillis, String slowestQuery) {
+
+        this.planCacheHitCount = planCacheHitCount;
+        this.planCacheMissCount = planCacheMissCount;
+        this.executionCount = executionCount;
+        this.maxExecutionMillis = maxExecutionMillis;
+        this.slowestQuery = slowestQuery;
+    }
+
+    /**
+     * Takes a snapshot of the statistics of a session factory.
+     *
+     * @param statistics  statistics of the session factory
+     * @return            QueryStats snapshot or null if statistics are off
+     */
+    static QueryStats of(Statistics statistics) {
+        return statistics.isStatisticsEnabled()
+                ? new QueryStats(statistics.getQueryPlanCacheHitCount(),
+                        statistics.getQueryPlanCacheMissCount(),
+                        statistics.getQueryExecutionCount(),
+                        statistics.getQueryExecutionMaxTime(),
+                        statistics.getQueryExecutionMaxTimeQueryString())
+                : null;
+    }
+
+    public long getPlanCacheHitCount() {
+        return planCacheHitCount;
+    }
+
+    public long getPlanCacheMissCount() {
+        return planCacheMissCount;
+    }
+
+    public double getPlanCacheHitRatio() {
+        long lookupCount = planCacheHitCount + planCacheMissCount;
+
+        return (0 == lookupCount) ? 0 : (double) planCacheHitCount / lookupCount;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public long getMaxExecutionMillis() {
+        return maxExecutionMillis;
+    }
+
+    public String getSlowestQuery() {
+        return slowestQuery;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append("planCacheHits=").append(planCacheHitCount)
+                .append(", planCacheMisses=").append(planCacheMissCount)
+                .append(", hitRatio=")
+                .append(String.format("%.2f", getPlanCacheHitRatio()))
+                .append(", executions=").append(executionCount)
+                .append(", maxExecutionMs=").append(maxExecutionMillis);
+        if (null != slowestQuery) {
+            stringBuilder.append(", slowest=").append(slowestQuery.trim());
+        }
+
+        return stringBuilder.toString();
+    }
+}
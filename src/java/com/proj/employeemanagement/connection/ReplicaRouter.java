@@ -0,0 +1,227 @@
+package com.proj.employeemanagement.connection;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+
+/**
+ * Routes read-only sessions to replica databases, each with its own pool
+ * configured like the primary pool. A replica is chosen round robin or, with
+ * the least_loaded strategy, by the fewest connections in use. After a
+ * thread writes to the primary its reads stay on the primary for the
+ * stickiness window, so it reads its own writes despite replication lag.
+ *
+ * In the embedded profile there is no replication, so every table a read
+ * can touch is created in each replica database as a read-only linked table
+ * of the primary. The replica is still a database of its own with its own
+ * pool, which is what the routing needs to be tried out.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ReplicaRouter {
+
+    public static final String REPLICA_URLS = "hibernate.connection.replica.urls";
+    public static final String REPLICA_STRATEGY = "hibernate.connection.replica.strategy";
+    public static final String STICKINESS_MILLIS = "hibernate.connection.replica.stickiness_ms";
+    public static final String LEAST_LOADED = "least_loaded";
+
+    private static final ThreadLocal<Long> LAST_WRITE_MILLIS = new ThreadLocal<>();
+    private static final String[] LINKED_TABLES = {"employee", "address", "project",
+            "project_employee"};
+
+    private final List<PooledConnectionProvider> replicas = new ArrayList<>();
+    private final Map<Connection, PooledConnectionProvider> borrowedConnections
+            = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final boolean isLeastLoaded;
+    private final long stickinessMillis;
+
+    /**
+     * Creates a pool for every comma separated URL of the replica setting.
+     * Without replica URLs the router is disabled and every read goes to
+     * the primary.
+     *
+     * @param configurationValues  settings of the session factory
+     */
+    public ReplicaRouter(Map<String, Object> configurationValues) {
+        Object replicaUrls = configurationValues.get(REPLICA_URLS);
+        Object stickiness = configurationValues.get(STICKINESS_MILLIS);
+
+        isLeastLoaded = LEAST_LOADED.equalsIgnoreCase(String.valueOf(
+                configurationValues.get(REPLICA_STRATEGY)).trim());
+        stickinessMillis = (null == stickiness) ? 5000
+                : Long.parseLong(stickiness.toString().trim());
+        if (null != replicaUrls) {
+            for (String replicaUrl : replicaUrls.toString().split(",")) {
+                if (!replicaUrl.trim().isEmpty()) {
+                    Map<String, Object> replicaValues = new HashMap<>(configurationValues);
+                    PooledConnectionProvider replica = new PooledConnectionProvider();
+
+                    replicaValues.put(AvailableSettings.URL, replicaUrl.trim());
+                    replica.configure(replicaValues);
+                    replicas.add(replica);
+                    if (SessionFactoryLifecycle.isEmbeddedProfile()) {
+                        linkPrimaryTables(replica, configurationValues);
+                    }
+                }
+            }
+        }
+        if (!replicas.isEmpty()) {
+            EmployeeManagementLogger.LOGGER.info("Routing reads to " + replicas.size()
+                    + " replicas " + (isLeastLoaded ? "least loaded" : "round robin")
+                    + " first, sticky for " + stickinessMillis + " ms after a write");
+        }
+    }
+
+    /**
+     * Tells whether a read-only session of this thread may go to a replica.
+     *
+     * @return boolean false if there are no replicas or the thread wrote
+     *                 within the stickiness window
+     */
+    public boolean isReplicaReadAllowed() {
+        Long lastWriteMillis = LAST_WRITE_MILLIS.get();
+
+        return !replicas.isEmpty() && (null == lastWriteMillis
+                || System.currentTimeMillis() - lastWriteMillis >= stickinessMillis);
+    }
+
+    /**
+     * Records that this thread wrote to the primary.
+     */
+    public void recordWrite() {
+        LAST_WRITE_MILLIS.set(System.currentTimeMillis());
+    }
+
+    /**
+     * Borrows a connection from the chosen replica.
+     *
+     * @return Connection connection to a replica database
+     */
+    public Connection borrow() throws SQLException {
+        PooledConnectionProvider replica = choose();
+        Connection connection = replica.getConnection();
+
+        borrowedConnections.put(connection, replica);
+        return connection;
+    }
+
+    /**
+     * Returns a borrowed connection to the pool of its replica.
+     *
+     * @param connection  connection given by borrow
+     */
+    public void release(Connection connection) {
+        PooledConnectionProvider replica = borrowedConnections.remove(connection);
+
+        try {
+            if (null != replica) {
+                replica.closeConnection(connection);
+            }
+        } catch (SQLException exception) {
+            EmployeeManagementLogger.LOGGER.warn("Replica connection could not be"
+                    + " returned", exception);
+        }
+    }
+
+    /**
+     * Gets usage statistics of every replica pool.
+     *
+     * @return List<ConnectionPoolStats> statistics in replica order
+     */
+    public List<ConnectionPoolStats> getStats() {
+        List<ConnectionPoolStats> stats = new ArrayList<>();
+
+        for (PooledConnectionProvider replica : replicas) {
+            stats.add(replica.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Closes the pools of every replica.
+     */
+    public void stop() {
+        for (PooledConnectionProvider replica : replicas) {
+            replica.stop();
+        }
+    }
+
+    /**
+     * Links the tables of the primary into an embedded replica database,
+     * skipping the ones linked by an earlier start.
+     *
+     * @throws IllegalStateException  if the tables cannot be linked
+     */
+    private void linkPrimaryTables(PooledConnectionProvider replica,
+            Map<String, Object> configurationValues) {
+        Connection connection = null;
+
+        try {
+            DatabaseMetaData metaData = null;
+
+            connection = replica.getConnection();
+            metaData = connection.getMetaData();
+            try (Statement statement = connection.createStatement()) {
+                for (String table : LINKED_TABLES) {
+                    statement.execute("CREATE LINKED TABLE IF NOT EXISTS " + table
+                            + "(NULL, " + quote(configurationValues.get(AvailableSettings.URL))
+                            + ", " + quote(configurationValues.get(AvailableSettings.USER))
+                            + ", " + quote(configurationValues.get(AvailableSettings.PASS))
+                            + ", " + quote(SchemaIndex.toStoredCase(metaData, table))
+                            + ") READONLY");
+                }
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Tables of the primary could not be linked"
+                    + " into the replica", exception);
+        } finally {
+            if (null != connection) {
+                try {
+                    replica.closeConnection(connection);
+                } catch (SQLException exception) {
+                    EmployeeManagementLogger.LOGGER.warn("Replica connection could not be"
+                            + " returned", exception);
+                }
+            }
+        }
+    }
+
+    private String quote(Object value) {
+        return "'" + String.valueOf((null == value) ? "" : value).trim().replace("'", "''") + "'";
+    }
+
+    private PooledConnectionProvider choose() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        PooledConnectionProvider chosen = replicas.get(start);
+
+        if (isLeastLoaded) {
+            int leastActive = chosen.getStats().getActiveConnections();
+
+            for (int offset = 1; offset < replicas.size(); offset++) {
+                PooledConnectionProvider replica = replicas.get((start + offset)
+                        % replicas.size());
+                int active = replica.getStats().getActiveConnections();
+
+                if (active < leastActive) {
+                    chosen = replica;
+                    leastActive = active;
+                }
+            }
+        }
+        return chosen;
+    }
+}
@@ -0,0 +1,171 @@
+package com.proj.employeemanagement.connection;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An index or primary key the schema is expected to have. An index counts as
+ * present when some index of the table, whatever its name, starts with the
+ * same columns in the same order, so indexes created by hbm2ddl or by hand
+ * are recognised too.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class SchemaIndex {
+
+    public static final SchemaIndex EMPLOYEE_PHONE_NUMBER = new SchemaIndex("employee",
+            "uk_employee_phone_number", true, false, "phone_number");
+    public static final SchemaIndex EMPLOYEE_EMAIL_ID = new SchemaIndex("employee",
+            "uk_employee_email_id", true, false, "email_id");
+    public static final SchemaIndex ADDRESS_EMPLOYEE = new SchemaIndex("address",
+            "idx_address_employee", false, false, "employee_id");
+    public static final SchemaIndex PROJECT_EMPLOYEE_KEY = new SchemaIndex("project_employee",
+            "PRIMARY", true, true, "employee_id", "project_id");
+    public static final SchemaIndex PROJECT_EMPLOYEE_REVERSE = new SchemaIndex("project_employee",
+            "idx_project_employee_reverse", false, false, "project_id", "employee_id");
+
+    private final String table;
+    private final String name;
+    private final boolean isUnique;
+    private final boolean isPrimaryKey;
+    private final List<String> columns;
+
+    public SchemaIndex(String table, String name, boolean isUnique,
+            boolean isPrimaryKey, String... columns) {
+
+        this.table = table;
+        this.name = name;
+        this.isUnique = isUnique;
+        this.isPrimaryKey = isPrimaryKey;
+        this.columns = Arrays.asList(columns);
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isUnique() {
+        return isUnique;
+    }
+
+    public boolean isPrimaryKey() {
+        return isPrimaryKey;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Checks the database metadata for the index.
+     *
+     * @param metaData  metadata of the connection
+     * @param catalog   catalog of the connection
+     * @return          boolean true if the index or primary key exists
+     */
+    public boolean isPresent(DatabaseMetaData metaData, String catalog) throws SQLException {
+        String tableName = toStoredCase(metaData, table);
+
+        if (isPrimaryKey) {
+            List<String> keyColumns = new ArrayList<>();
+
+            try (ResultSet keys = metaData.getPrimaryKeys(catalog, null, tableName)) {
+                Map<Short, String> columnsBySequence = new TreeMap<>();
+
+                while (keys.next()) {
+                    columnsBySequence.put(keys.getShort("KEY_SEQ"),
+                            keys.getString("COLUMN_NAME"));
+                }
+                keyColumns.addAll(columnsBySequence.values());
+            }
+            return isSameColumns(keyColumns, false);
+        }
+
+        try (ResultSet indexes = metaData.getIndexInfo(catalog, null, tableName, false, true)) {
+            Map<String, List<String>> columnsByIndex = new LinkedHashMap<>();
+
+            while (indexes.next()) {
+                String indexName = indexes.getString("INDEX_NAME");
+
+                if (null != indexName && (!isUnique || !indexes.getBoolean("NON_UNIQUE"))) {
+                    List<String> indexColumns = columnsByIndex.computeIfAbsent(indexName,
+                            key -> new ArrayList<>());
+                    int position = indexes.getShort("ORDINAL_POSITION");
+
+                    while (indexColumns.size() < position) {
+                        indexColumns.add(null);
+                    }
+                    indexColumns.set(position - 1, indexes.getString("COLUMN_NAME"));
+                }
+            }
+            for (List<String> indexColumns : columnsByIndex.values()) {
+                if (isSameColumns(indexColumns, true)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return  String DDL statement creating the index or primary key
+     */
+    public String toCreateStatement() {
+        String columnList = String.join(", ", columns);
+
+        return isPrimaryKey
+                ? "ALTER TABLE " + table + " ADD PRIMARY KEY (" + columnList + ")"
+                : "CREATE " + (isUnique ? "UNIQUE " : "") + "INDEX " + name
+                        + " ON " + table + " (" + columnList + ")";
+    }
+
+    /**
+     * Compares the columns of an existing index with the expected ones. A
+     * unique index must match exactly, other indexes only need to start
+     * with the expected columns.
+     */
+    private boolean isSameColumns(List<String> existingColumns, boolean isPrefixEnough) {
+        boolean isExactMatch = isUnique || !isPrefixEnough;
+
+        if (existingColumns.size() < columns.size()
+                || (isExactMatch && existingColumns.size() != columns.size())) {
+            return false;
+        }
+        for (int index = 0; index < columns.size(); index++) {
+            if (!columns.get(index).equalsIgnoreCase(existingColumns.get(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts an unquoted name to the case the database stores it in, as
+     * metadata lookups are case sensitive on H2.
+     */
+    static String toStoredCase(DatabaseMetaData metaData, String identifier) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return identifier.toUpperCase();
+        }
+        return metaData.storesLowerCaseIdentifiers() ? identifier.toLowerCase() : identifier;
+    }
+
+    @Override
+    public String toString() {
+        return (isPrimaryKey ? "primary key" : (isUnique ? "unique index " : "index ") + name)
+                + " on " + table + " " + columns;
+    }
+}
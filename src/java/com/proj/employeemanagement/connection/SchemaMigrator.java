@@ -0,0 +1,243 @@
+package com.proj.employeemanagement.connection;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+
+/**
+ * Brings the schema up to the latest version with numbered migrations. The
+ * applied versions are recorded in the schema_version table and only newer
+ * migrations run. Every step first looks at the database metadata and does
+ * nothing when its change is already there, so a migration stopped halfway
+ * by a failed DDL statement, which MySQL cannot roll back, simply runs again
+ * on the next start.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class SchemaMigrator {
+
+    private static final List<Migration> MIGRATIONS = new ArrayList<>();
+
+    static {
+        MIGRATIONS.add(new Migration(1, "Version columns for optimistic locking",
+                (connection, settings) -> {
+                    addColumnIfMissing(connection, "employee", "version", "INT NOT NULL DEFAULT 0");
+                    addColumnIfMissing(connection, "address", "version", "INT NOT NULL DEFAULT 0");
+                    addColumnIfMissing(connection, "project", "version", "INT NOT NULL DEFAULT 0");
+                }));
+        MIGRATIONS.add(new Migration(2, "Index on address.employee_id",
+                (connection, settings) -> createIfMissing(connection, SchemaIndex.ADDRESS_EMPLOYEE)));
+        MIGRATIONS.add(new Migration(3, "Primary key and reverse index on project_employee",
+                (connection, settings) -> {
+                    if (!SchemaIndex.PROJECT_EMPLOYEE_KEY.isPresent(connection.getMetaData(),
+                            connection.getCatalog())) {
+                        removeDuplicateAssignments(connection);
+                    }
+                    createIfMissing(connection, SchemaIndex.PROJECT_EMPLOYEE_KEY);
+                    createIfMissing(connection, SchemaIndex.PROJECT_EMPLOYEE_REVERSE);
+                }));
+        MIGRATIONS.add(new Migration(4, "Outbox table for change events",
+                (connection, settings) -> execute(connection, "CREATE TABLE IF NOT EXISTS outbox_event ("
+                        + "id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+                        + " entity VARCHAR(32) NOT NULL,"
+                        + " entity_id INT NOT NULL,"
+                        + " operation VARCHAR(16) NOT NULL,"
+                        + " details VARCHAR(1000),"
+                        + " created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)")));
+        MIGRATIONS.add(new Migration(5, "id_generator table seeded above the stored ids",
+                (connection, settings) -> {
+                    execute(connection, "CREATE TABLE IF NOT EXISTS id_generator ("
+                            + "sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,"
+                            + " next_val BIGINT)");
+                    seedSegment(connection, "employee");
+                    seedSegment(connection, "address");
+                    seedSegment(connection, "project");
+                }));
+    }
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Step of a migration run on a plain JDBC connection, given the settings
+     * of the session factory being migrated.
+     */
+    @FunctionalInterface
+    private interface MigrationStep {
+        public void apply(Connection connection, Map<String, Object> settings) throws SQLException;
+    }
+
+    private static class Migration {
+
+        private final int version;
+        private final String description;
+        private final MigrationStep step;
+
+        private Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    /**
+     * Runs every migration newer than the recorded schema version.
+     *
+     * @param sessionFactory  session factory whose database is migrated
+     * @return                int number of migrations applied
+     * @throws HibernateException  if a migration failed
+     */
+    public static int migrate(SessionFactory sessionFactory) {
+        Session session = sessionFactory.openSession();
+
+        try {
+            return session.doReturningWork(connection -> {
+                int appliedCount = 0;
+                int currentVersion = 0;
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                            + "version INT NOT NULL PRIMARY KEY, description VARCHAR(255)"
+                            + " NOT NULL, installed_on TIMESTAMP NOT NULL)");
+                    try (ResultSet result = statement.executeQuery(
+                            "SELECT MAX(version) FROM schema_version")) {
+                        currentVersion = result.next() ? result.getInt(1) : 0;
+                    }
+                }
+                for (Migration migration : MIGRATIONS) {
+                    if (migration.version > currentVersion) {
+                        long startTime = System.currentTimeMillis();
+
+                        migration.step.apply(connection, sessionFactory.getProperties());
+                        record(connection, migration);
+                        appliedCount++;
+                        EmployeeManagementLogger.LOGGER.info("Schema migrated to version "
+                                + migration.version + " (" + migration.description
+                                + ") in " + (System.currentTimeMillis() - startTime) + " ms");
+                    }
+                }
+                return appliedCount;
+            });
+        } finally {
+            session.close();
+        }
+    }
+
+    private static void record(Connection connection, Migration migration) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO"
+                + " schema_version (version, description, installed_on)"
+                + " VALUES (?, ?, CURRENT_TIMESTAMP)")) {
+            statement.setInt(1, migration.version);
+            statement.setString(2, migration.description);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void createIfMissing(Connection connection, SchemaIndex schemaIndex)
+            throws SQLException {
+        if (!schemaIndex.isPresent(connection.getMetaData(), connection.getCatalog())) {
+            execute(connection, schemaIndex.toCreateStatement());
+        }
+    }
+
+    private static void addColumnIfMissing(Connection connection, String table,
+            String column, String definition) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        boolean isPresent = false;
+
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                SchemaIndex.toStoredCase(metaData, table),
+                SchemaIndex.toStoredCase(metaData, column))) {
+            isPresent = columns.next();
+        }
+        if (!isPresent) {
+            execute(connection, "ALTER TABLE " + table + " ADD COLUMN " + column
+                    + " " + definition);
+        }
+    }
+
+    /**
+     * Raises the id_generator segment of a table above the ids stored in it,
+     * so ids handed out from the table never collide with rows written before
+     * the table existed. A segment already past them is left alone.
+     */
+    private static void seedSegment(Connection connection, String table)
+            throws SQLException {
+        long nextValue = 1;
+        Long storedValue = null;
+
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT MAX(id) FROM " + table)) {
+            if (result.next()) {
+                nextValue = result.getLong(1) + 1;
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT next_val FROM id_generator WHERE sequence_name = ?")) {
+            statement.setString(1, table);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    storedValue = result.getLong(1);
+                }
+            }
+        }
+        if (null == storedValue || storedValue < nextValue) {
+            try (PreparedStatement statement = connection.prepareStatement((null == storedValue)
+                    ? "INSERT INTO id_generator (next_val, sequence_name) VALUES (?, ?)"
+                    : "UPDATE id_generator SET next_val = ? WHERE sequence_name = ?")) {
+                statement.setLong(1, nextValue);
+                statement.setString(2, table);
+                statement.executeUpdate();
+            }
+            EmployeeManagementLogger.LOGGER.info("Segment " + table
+                    + " of id_generator seeded at " + nextValue);
+        }
+    }
+
+    /**
+     * Keeps one row of every assignment, as the bag mapping allowed the same
+     * pair to be stored twice and the primary key cannot be added over them.
+     * The rows are swapped in one transaction, so a failure leaves the
+     * original rows and only a stale copy, which the next run drops.
+     */
+    private static void removeDuplicateAssignments(Connection connection) throws SQLException {
+        boolean isAutoCommit = connection.getAutoCommit();
+
+        execute(connection, "DROP TABLE IF EXISTS project_employee_distinct");
+        execute(connection, "CREATE TABLE project_employee_distinct AS SELECT DISTINCT"
+                + " employee_id, project_id FROM project_employee");
+        connection.setAutoCommit(false);
+        try {
+            execute(connection, "DELETE FROM project_employee");
+            execute(connection, "INSERT INTO project_employee (employee_id, project_id)"
+                    + " SELECT employee_id, project_id FROM project_employee_distinct");
+            connection.commit();
+        } catch (SQLException exception) {
+            connection.rollback();
+            throw exception;
+        } finally {
+            connection.setAutoCommit(isAutoCommit);
+        }
+        execute(connection, "DROP TABLE project_employee_distinct");
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            EmployeeManagementLogger.LOGGER.info("Running migration statement: " + sql);
+            statement.execute(sql);
+        }
+    }
+}
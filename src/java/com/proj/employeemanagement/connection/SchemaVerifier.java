@@ -0,0 +1,93 @@
+package com.proj.employeemanagement.connection;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+
+/**
+ * Checks at startup that the indexes the DAO queries rely on exist, so a
+ * missing index shows up as a warning, or a refused start, instead of as
+ * table scans under load. Selected with -Demployeemanagement.schema.check
+ * set to warn (default), strict or off.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class SchemaVerifier {
+
+    public static final String WARN_MODE = "warn";
+    public static final String STRICT_MODE = "strict";
+    public static final String OFF_MODE = "off";
+
+    private static final List<SchemaIndex> EXPECTED_INDEXES = Arrays.asList(
+            SchemaIndex.EMPLOYEE_PHONE_NUMBER, SchemaIndex.EMPLOYEE_EMAIL_ID,
+            SchemaIndex.ADDRESS_EMPLOYEE, SchemaIndex.PROJECT_EMPLOYEE_KEY,
+            SchemaIndex.PROJECT_EMPLOYEE_REVERSE);
+
+    private SchemaVerifier() {
+    }
+
+    /**
+     * Looks up every expected index in the database metadata.
+     *
+     * @param sessionFactory  session factory whose database is checked
+     * @return                List<SchemaIndex> expected indexes which are missing
+     * @throws HibernateException  if the metadata could not be read
+     */
+    public static List<SchemaIndex> findMissingIndexes(SessionFactory sessionFactory) {
+        Session session = sessionFactory.openSession();
+
+        try {
+            return session.doReturningWork(connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                List<SchemaIndex> missingIndexes = new ArrayList<>();
+
+                for (SchemaIndex schemaIndex : EXPECTED_INDEXES) {
+                    if (!schemaIndex.isPresent(metaData, connection.getCatalog())) {
+                        missingIndexes.add(schemaIndex);
+                    }
+                }
+                return missingIndexes;
+            });
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Verifies the indexes in the given mode, logging every missing index.
+     *
+     * @param sessionFactory  session factory whose database is checked
+     * @param mode            warn, strict or off
+     * @throws HibernateException  if an index is missing in strict mode
+     */
+    public static void verify(SessionFactory sessionFactory, String mode) {
+        List<SchemaIndex> missingIndexes = null;
+
+        if (OFF_MODE.equalsIgnoreCase(mode)) {
+            return;
+        }
+        missingIndexes = findMissingIndexes(sessionFactory);
+        if (missingIndexes.isEmpty()) {
+            EmployeeManagementLogger.LOGGER.info("Schema verified, all "
+                    + EXPECTED_INDEXES.size() + " expected indexes exist");
+            return;
+        }
+        for (SchemaIndex schemaIndex : missingIndexes) {
+            EmployeeManagementLogger.LOGGER.warn("Missing " + schemaIndex
+                    + ", create it with: " + schemaIndex.toCreateStatement());
+        }
+        if (STRICT_MODE.equalsIgnoreCase(mode)) {
+            throw new HibernateException(missingIndexes.size()
+                    + " expected indexes are missing: " + missingIndexes);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.proj.employeemanagement.connection;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+
+/**
+ * Owns the single session factory of the application. It is built exactly
+ * once even when several threads ask for it at the same time, can be warmed
+ * up at startup and is closed together with its connection pool when the
+ * JVM shuts down.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class SessionFactoryLifecycle {
+
+    /** Profile running on an in-memory H2 database instead of MySQL. */
+    public static final String EMBEDDED_PROFILE = "h2";
+
+    private static final String PROFILE = System.getProperty(
+            "employeemanagement.profile", "mysql");
+    private static final Object LOCK = new Object();
+    private static final List<Runnable> SHUTDOWN_TASKS = new CopyOnWriteArrayList<>();
+    private static volatile SessionFactory sessionFactory;
+    private static volatile ReplicaRouter replicaRouter;
+    private static volatile boolean isShutdown;
+    private static Thread shutdownHook;
+
+    private SessionFactoryLifecycle() {
+    }
+
+    /**
+     * Gets the session factory, building it on first use.
+     *
+     * @return SessionFactory  used to create session
+     * @throws HibernateException  if the session factory could not be built
+     */
+    public static SessionFactory getSessionFactory() {
+        SessionFactory currentFactory = sessionFactory;
+
+        if (null == currentFactory || currentFactory.isClosed()) {
+            synchronized (LOCK) {
+                currentFactory = sessionFactory;
+
+                if (null == currentFactory || currentFactory.isClosed()) {
+                    currentFactory = build();
+                    sessionFactory = currentFactory;
+                }
+            }
+        }
+        return currentFactory;
+    }
+
+    /**
+     * Builds the session factory and exercises it once so the first user
+     * request does not pay for pool fill, metadata lookup and query compile.
+     */
+    public static void warmUp() {
+        long startTime = System.currentTimeMillis();
+        SessionFactory currentFactory = getSessionFactory();
+        ConnectionProvider connectionProvider = ((SessionFactoryImplementor)
+                currentFactory).getServiceRegistry()
+                .getService(ConnectionProvider.class);
+        Session session = null;
+
+        try {
+            if (connectionProvider.isUnwrappableAs(PooledConnectionProvider.class)) {
+                connectionProvider.unwrap(PooledConnectionProvider.class).fill();
+            }
+            session = currentFactory.openSession();
+            session.doWork(connection -> EmployeeManagementLogger.LOGGER.info(
+                    "Connected to " + connection.getMetaData().getDatabaseProductName()
+                    + " " + connection.getMetaData().getDatabaseProductVersion()));
+            session.getNamedQuery("Employee.fetchIdRange").uniqueResult();
+            EmployeeManagementLogger.LOGGER.info("Session factory warmed up in "
+                    + (System.currentTimeMillis() - startTime) + " ms");
+        } catch (SQLException | HibernateException exception) {
+            throw new HibernateException("Session factory warm up failed", exception);
+        } finally {
+            if (null != session) {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the router of read-only sessions to the replica databases.
+     *
+     * @return ReplicaRouter  router of the current session factory
+     */
+    public static ReplicaRouter getReplicaRouter() {
+        getSessionFactory();
+        return replicaRouter;
+    }
+
+    /**
+     * Tells whether the application runs on the embedded in-memory database,
+     * selected with -Demployeemanagement.profile=h2.
+     *
+     * @return boolean true if the embedded profile is selected
+     */
+    public static boolean isEmbeddedProfile() {
+        return EMBEDDED_PROFILE.equalsIgnoreCase(PROFILE);
+    }
+
+    /**
+     * Registers a task run at shutdown while the session factory is still
+     * open, such as writing out buffered changes.
+     *
+     * @param task  task to be run once at shutdown
+     */
+    public static void runBeforeShutdown(Runnable task) {
+        SHUTDOWN_TASKS.add(task);
+    }
+
+    /**
+     * Runs the tasks registered to run before shutdown, then closes the
+     * session factory and its connection pool. Later requests for the
+     * session factory fail.
+     */
+    public static void shutdown() {
+        synchronized (LOCK) {
+            if (!isShutdown && null != sessionFactory) {
+                for (Runnable task : SHUTDOWN_TASKS) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException exception) {
+                        EmployeeManagementLogger.LOGGER.error("Shutdown task failed",
+                                exception);
+                    }
+                }
+            }
+            isShutdown = true;
+            if (null != sessionFactory && !sessionFactory.isClosed()) {
+                QueryStats queryStats = QueryStats.of(sessionFactory.getStatistics());
+
+                if (null != queryStats) {
+                    EmployeeManagementLogger.LOGGER.info("Query statistics: " + queryStats);
+                }
+                sessionFactory.close();
+                replicaRouter.stop();
+                EmployeeManagementLogger.LOGGER.info("Session factory closed");
+            }
+            sessionFactory = null;
+        }
+    }
+
+    /**
+     * Builds the session factory from hibernate.cfg.xml, or from
+     * hibernate-h2.cfg.xml for the embedded profile, then migrates its
+     * schema, verifies its indexes and opens the replica pools.
+     *
+     * @return SessionFactory  newly built session factory
+     * @throws HibernateException  if the configuration is invalid or the
+     *                             database cannot be reached
+     */
+    private static SessionFactory build() {
+        if (isShutdown) {
+            throw new HibernateException("Session factory has been shut down");
+        }
+
+        try {
+            String configFile = isEmbeddedProfile() ? "hibernate-h2.cfg.xml"
+                    : "hibernate.cfg.xml";
+            Configuration configuration = new Configuration().configure(configFile);
+            SessionFactory builtFactory = configuration.buildSessionFactory();
+
+            EmployeeManagementLogger.LOGGER.info("Session factory built for the "
+                    + PROFILE + " profile");
+            try {
+                if (Boolean.parseBoolean(System.getProperty("employeemanagement.migrate",
+                        "true"))) {
+                    SchemaMigrator.migrate(builtFactory);
+                }
+                SchemaVerifier.verify(builtFactory, System.getProperty(
+                        "employeemanagement.schema.check", SchemaVerifier.WARN_MODE));
+                // The factory masks the user and password in its properties,
+                // which the replica pools need as they are
+                replicaRouter = new ReplicaRouter(toSettings(configuration.getProperties()));
+            } catch (RuntimeException exception) {
+                builtFactory.close();
+                throw exception;
+            }
+
+            if (null == shutdownHook) {
+                shutdownHook = new Thread(SessionFactoryLifecycle::shutdown,
+                        "session-factory-shutdown");
+                Runtime.getRuntime().addShutdownHook(shutdownHook);
+            }
+            return builtFactory;
+        } catch (RuntimeException exception) {
+            EmployeeManagementLogger.LOGGER.error("Session factory could not be built",
+                    exception);
+            throw exception;
+        }
+    }
+
+    private static Map<String, Object> toSettings(Properties properties) {
+        Map<String, Object> settings = new HashMap<>();
+
+        for (String name : properties.stringPropertyNames()) {
+            settings.put(name, properties.getProperty(name));
+        }
+        return settings;
+    }
+}
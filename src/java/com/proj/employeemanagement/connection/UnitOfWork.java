@@ -0,0 +1,145 @@
+package com.proj.employeemanagement.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.util.ConstantUtil;
+
+/**
+ * Runs several DAO calls of one service operation on a single session,
+ * connection and transaction. While a unit of work is running, the session
+ * is bound to the thread and ConnectionFactory hands it to every DAO call;
+ * their commits only flush and their rollbacks only mark the unit, which
+ * commits or rolls back once at the end. Work which must only follow a
+ * committed change, such as updating an in-memory index, is held back with
+ * afterCommit until the unit commits and dropped if it rolls back.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class UnitOfWork {
+
+    private static final ThreadLocal<Session> CURRENT_SESSION = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> COMMIT_TASKS = new ThreadLocal<>();
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Operation run inside a unit of work.
+     *
+     * @param <T>  type of the result of the operation
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+
+        /**
+         * @return  T result of the operation
+         */
+        public T execute() throws EmployeeManagementException;
+    }
+
+    /**
+     * Runs the work in one transaction, committed if the work completes and
+     * rolled back if it throws or a DAO call inside it failed. Work started
+     * inside a running unit joins it.
+     *
+     * @param work  operation calling the DAOs
+     * @return      T result of the work
+     */
+    public static <T> T execute(Work<T> work) throws EmployeeManagementException {
+        Session session = null;
+        Transaction transaction = null;
+        T result = null;
+
+        if (isActive()) {
+            return work.execute();
+        }
+        session = ConnectionFactory.getSessionFactory().openSession();
+
+        try {
+            transaction = session.beginTransaction();
+            CURRENT_SESSION.set(session);
+            COMMIT_TASKS.set(new ArrayList<>());
+            result = work.execute();
+            if (transaction.getRollbackOnly()) {
+                transaction.rollback();
+                throw new EmployeeManagementException(ConstantUtil.ERROR
+                        .get(ConstantUtil.ERROR_CODE_028));
+            }
+            transaction.commit();
+            runCommitTasks(COMMIT_TASKS.get());
+        } catch (HibernateException exception) {
+            rollback(transaction);
+            throw new EmployeeManagementException(ConstantUtil.ERROR
+                    .get(ConstantUtil.ERROR_CODE_028));
+        } catch (EmployeeManagementException | RuntimeException exception) {
+            rollback(transaction);
+            throw exception;
+        } finally {
+            CURRENT_SESSION.remove();
+            COMMIT_TASKS.remove();
+            ConnectionFactory.close(session);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the task once the changes made so far are committed: right away
+     * outside a unit of work, or after the running unit commits. The task is
+     * dropped if the unit rolls back.
+     *
+     * @param task  task to be run after commit
+     */
+    public static void afterCommit(Runnable task) {
+        List<Runnable> commitTasks = COMMIT_TASKS.get();
+
+        if (null == commitTasks) {
+            task.run();
+        } else {
+            commitTasks.add(task);
+        }
+    }
+
+    /**
+     * @return  boolean true if a unit of work is running on this thread
+     */
+    public static boolean isActive() {
+        return null != CURRENT_SESSION.get();
+    }
+
+    /**
+     * @return  Session session of the unit of work running on this thread or
+     *                  null if there is none
+     */
+    public static Session getCurrentSession() {
+        return CURRENT_SESSION.get();
+    }
+
+    /**
+     * Runs the tasks held back for the committed unit. A failing task is
+     * only logged, as the unit is committed already.
+     */
+    private static void runCommitTasks(List<Runnable> commitTasks) {
+        for (Runnable task : commitTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException exception) {
+                EmployeeManagementLogger.LOGGER.error("Task after commit failed", exception);
+            }
+        }
+    }
+
+    private static void rollback(Transaction transaction) {
+        if ((null != transaction) && transaction.isActive()) {
+            transaction.rollback();
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.proj.employeemanagement.controller;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.model.AddressReferenceVO;
 import com.proj.employeemanagement.model.AddressVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.PageVO;
 import com.proj.employeemanagement.service.AddressService;
 import com.proj.employeemanagement.service.impl.AddressServiceImpl;
+import com.proj.employeemanagement.util.AddressField;
+import com.proj.employeemanagement.util.ConstantUtil;
 
 /**
  * AddressController class was created to connect AddressService class and
@@ -28,15 +38,115 @@ public class AddressController {
     public int addAddress(AddressVO addressVO) throws EmployeeManagementException {
         return addressService.addAddress(addressVO);
     }
+
+    /** 
+     * Inputs many addresses of employees to be stored at once.
+     *
+     * @param addressesVO  addresses to be stored
+     * @return             List<Integer> ids of the addresses stored
+     */
+    public List<Integer> addAddresses(List<AddressVO> addressesVO) throws EmployeeManagementException {
+        return addressService.addAddresses(addressesVO);
+    }
     
     /**
-     * Updates address of employee using id.
+     * Updates address of employee using id. If another user changed the
+     * address since it was read, only the fields this user changed are
+     * written over the latest version of the address and the update is
+     * tried again. The conflict is reported when both users changed the
+     * same field.
      *
-     * @param addressVO   address object used to update address
-     * @return            boolean true if address is updated or false
+     * @param readAddressVO  address as it was read before editing
+     * @param addressVO      address object used to update address
+     * @return               boolean true if address is updated or false
      */
-    public boolean updateAddress(AddressVO addressVO) throws EmployeeManagementException {
-        return addressService.updateAddress(addressVO);
+    public boolean updateAddress(AddressVO readAddressVO, AddressVO addressVO) 
+            throws EmployeeManagementException {
+        Map<AddressField, Object> readValues = valuesOf(readAddressVO);
+        Map<AddressField, Object> editedValues = valuesOf(addressVO);
+
+        editedValues.entrySet().removeIf(entry -> Objects.equals(entry.getValue(),
+                readValues.get(entry.getKey())));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return addressService.updateAddress(addressVO);
+            } catch (EmployeeManagementException exception) {
+                AddressVO latestAddressVO = null;
+                Map<AddressField, Object> latestValues = null;
+
+                if (!ConstantUtil.ERROR_CODE_027.equals(exception.getErrorCode())
+                        || ConstantUtil.CONFLICT_RETRIES <= attempt) {
+                    throw exception;
+                }
+                latestAddressVO = addressService.getAddress(addressVO.getId());
+                if (null == latestAddressVO) {
+                    return false;
+                }
+                latestValues = valuesOf(latestAddressVO);
+                for (Map.Entry<AddressField, Object> edit : editedValues.entrySet()) {
+                    Object latestValue = latestValues.get(edit.getKey());
+
+                    if (!Objects.equals(readValues.get(edit.getKey()), latestValue)
+                            && !Objects.equals(edit.getValue(), latestValue)) {
+                        throw exception;
+                    }
+                    setValue(latestAddressVO, edit.getKey(), edit.getValue());
+                }
+                EmployeeManagementLogger.LOGGER.info("Address " + addressVO.getId()
+                        + " changed concurrently, retrying update " + attempt);
+                latestAddressVO.setEmployee(addressVO.getEmployee());
+                readValues.putAll(latestValues);
+                addressVO = latestAddressVO;
+            }
+        }
+    }
+
+    private static Map<AddressField, Object> valuesOf(AddressVO addressVO) {
+        Map<AddressField, Object> values = new EnumMap<>(AddressField.class);
+
+        values.put(AddressField.DOOR_NUMBER, addressVO.getDoorNumber());
+        values.put(AddressField.STREET, addressVO.getStreet());
+        values.put(AddressField.DISTRICT, addressVO.getDistrict());
+        values.put(AddressField.STATE, addressVO.getState());
+        values.put(AddressField.COUNTRY, addressVO.getCountry());
+        values.put(AddressField.PINCODE, addressVO.getPincode());
+        return values;
+    }
+
+    private static void setValue(AddressVO addressVO, AddressField field, Object value) {
+        switch (field) {
+            case DOOR_NUMBER:
+                addressVO.setDoorNumber((String) value);
+                break;
+            case STREET:
+                addressVO.setStreet((String) value);
+                break;
+            case DISTRICT:
+                addressVO.setDistrict((String) value);
+                break;
+            case STATE:
+                addressVO.setState((String) value);
+                break;
+            case COUNTRY:
+                addressVO.setCountry((String) value);
+                break;
+            case PINCODE:
+                addressVO.setPincode((Integer) value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Changes only the given fields of an address.
+     *
+     * @param addressId  id of the address to be patched
+     * @param changes    new value of every field to be changed
+     * @return           boolean true if the address is updated or false
+     */
+    public boolean patchAddress(int addressId, Map<AddressField, ?> changes) throws EmployeeManagementException {
+        return addressService.patchAddress(addressId, changes);
     }
     
     /**
@@ -52,11 +162,33 @@ public class AddressController {
     /** 
      * Gets address id and employee id for the purpose of reference for user.
      *
-     * @return List<Address> list of address id and employee id
+     * @return List<AddressReferenceVO> list of address id and employee id
      */
-    public List<AddressVO> getAddressId() throws EmployeeManagementException {
+    public List<AddressReferenceVO> getAddressId() throws EmployeeManagementException {
         return addressService.getAddressId();
     }
+
+    /**
+     * Gets the page of addresses following the given id.
+     * 
+     * @param lastId    id of the last address already shown, 0 for the first page
+     * @param pageSize  number of addresses in a page
+     * @return          PageVO<AddressVO> addresses of the page and its cursors
+     */
+    public PageVO<AddressVO> getAddressesAfter(int lastId, int pageSize) throws EmployeeManagementException {
+        return addressService.getAddressesAfter(lastId, pageSize);
+    }
+
+    /**
+     * Gets the page of addresses preceding the given id.
+     * 
+     * @param firstId   id of the first address already shown
+     * @param pageSize  number of addresses in a page
+     * @return          PageVO<AddressVO> addresses of the page and its cursors
+     */
+    public PageVO<AddressVO> getAddressesBefore(int firstId, int pageSize) throws EmployeeManagementException {
+        return addressService.getAddressesBefore(firstId, pageSize);
+    }
     
     /**
      * Deletes specfic employee address using address id.
@@ -69,13 +201,16 @@ public class AddressController {
     }   
 
     /**
-     * Deletes all employees address from record.
+     * Deletes all employees address from record in chunks.
      *
-     * @return  boolean true if all addresses are removed or false
+     * @param progressListener  told of the rows deleted so far after every
+     *                          chunk, may be null
+     * @return                  DeleteReportVO rows deleted from each table
      */
-    public boolean deleteAllAddress() throws EmployeeManagementException {
-        return addressService.removeAllAddress();
-    } 
+    public DeleteReportVO deleteAllAddress(Consumer<DeleteReportVO> progressListener) 
+            throws EmployeeManagementException {
+        return addressService.removeAllAddress(progressListener);
+    }
      
     /**
      * Validates id is integer and does not allow id to be 0.
@@ -1,13 +1,31 @@
 package com.proj.employeemanagement.controller;
 
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.model.AddressVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
 import com.proj.employeemanagement.model.EmployeeVO;
-import com.proj.employeemanagement.model.ProjectVO;
+import com.proj.employeemanagement.model.ExportReportVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.model.ImportReportVO;
+import com.proj.employeemanagement.model.PageVO;
+import com.proj.employeemanagement.service.EmployeeExportService;
+import com.proj.employeemanagement.service.EmployeeImportService;
 import com.proj.employeemanagement.service.EmployeeService;
+import com.proj.employeemanagement.service.impl.EmployeeExportServiceImpl;
+import com.proj.employeemanagement.service.impl.EmployeeImportServiceImpl;
 import com.proj.employeemanagement.service.impl.EmployeeServiceImpl;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.ExportFormat;
+import com.proj.employeemanagement.util.FetchPlan;
 
 /**
  * EmployeeController class was created to connect EmployeeService class and
@@ -20,6 +38,8 @@ import com.proj.employeemanagement.service.impl.EmployeeServiceImpl;
 public class EmployeeController {
 
     private EmployeeService employeeService = new EmployeeServiceImpl();
+    private EmployeeImportService employeeImportService = new EmployeeImportServiceImpl();
+    private EmployeeExportService employeeExportService = new EmployeeExportServiceImpl();
 
     /** 
      * Inputs details to store and create employee.
@@ -31,6 +51,54 @@ public class EmployeeController {
         return employeeService.createEmployee(employeeVO);
     }
 
+    /** 
+     * Inputs details to create employee along with its address in one
+     * transaction.
+     *
+     * @param employeeVO  specfic employee detail
+     * @param addressVO   address of the employee
+     * @return            int id of the created employee or 0 if the phone
+     *                    number or email id is already used
+     */
+    public int createEmployeeWithAddress(EmployeeVO employeeVO, AddressVO addressVO) throws EmployeeManagementException {
+        return employeeService.createEmployeeWithAddress(employeeVO, addressVO);
+    }
+
+    /** 
+     * Inputs details to store and create many employees at once.
+     *
+     * @param employeesVO  employees to be created
+     * @return             List<Integer> ids of the created employees
+     */
+    public List<Integer> createEmployees(List<EmployeeVO> employeesVO) throws EmployeeManagementException {
+        return employeeService.createEmployees(employeesVO);
+    }
+
+    /** 
+     * Imports employees and their addresses from a CSV file.
+     *
+     * @param filePath  path of the file to be imported
+     * @return          ImportReportVO rows imported, rejected rows and timings
+     */
+    public ImportReportVO importEmployees(String filePath) throws EmployeeManagementException {
+        return employeeImportService.importEmployees(filePath);
+    }
+
+    /** 
+     * Exports all employees with their addresses and projects to a file.
+     *
+     * @param filePath      path of the file to be written
+     * @param exportFormat  format of the file
+     * @param isCompressed  true to gzip the file
+     * @param parallelism   number of id ranges exported at once
+     * @return              ExportReportVO rows exported, files and timing
+     */
+    public ExportReportVO exportEmployees(String filePath, ExportFormat exportFormat,
+            boolean isCompressed, int parallelism) throws EmployeeManagementException {
+        return employeeExportService.exportEmployees(filePath, exportFormat,
+                isCompressed, parallelism);
+    }
+
     /**
      * Gets specfic employee details using employee id.
      * 
@@ -41,6 +109,18 @@ public class EmployeeController {
         return employeeService.getEmployeeById(employeeId);
     }
 
+    /**
+     * Gets specfic employee details using employee id with only the
+     * associations named by the fetch plan.
+     * 
+     * @param employeeId  employee id used to fetch details of employee 
+     * @param fetchPlan   associations to be loaded with the employee
+     * @return            EmployeeVO specific employee details 
+     */
+    public EmployeeVO getEmployeeById(int employeeId, FetchPlan fetchPlan) throws EmployeeManagementException {
+        return employeeService.getEmployeeById(employeeId, fetchPlan);
+    }
+
     /**
      * Gets all employees details.
      * 
@@ -51,12 +131,54 @@ public class EmployeeController {
     }
 
     /**
-     * Gets all projects details.
+     * Gets all employees details with only the associations named by the
+     * fetch plan.
+     * 
+     * @param fetchPlan  associations to be loaded with the employees
+     * @return           List<EmployeeVO> all employees details 
+     */
+    public List<EmployeeVO> getAllEmployee(FetchPlan fetchPlan) throws EmployeeManagementException {
+        return employeeService.getAllEmployee(fetchPlan);
+    }
+
+    /**
+     * Gets only the id and name of all employees.
+     * 
+     * @return  List<IdNameVO> id and name of all employees
+     */
+    public List<IdNameVO> getEmployeeNames() throws EmployeeManagementException {
+        return employeeService.getEmployeeNames();
+    }
+
+    /**
+     * Gets the page of employees following the given id.
+     * 
+     * @param lastId    id of the last employee already shown, 0 for the first page
+     * @param pageSize  number of employees in a page
+     * @return          PageVO<EmployeeVO> employees of the page and its cursors
+     */
+    public PageVO<EmployeeVO> getEmployeesAfter(int lastId, int pageSize) throws EmployeeManagementException {
+        return employeeService.getEmployeesAfter(lastId, pageSize);
+    }
+
+    /**
+     * Gets the page of employees preceding the given id.
+     * 
+     * @param firstId   id of the first employee already shown
+     * @param pageSize  number of employees in a page
+     * @return          PageVO<EmployeeVO> employees of the page and its cursors
+     */
+    public PageVO<EmployeeVO> getEmployeesBefore(int firstId, int pageSize) throws EmployeeManagementException {
+        return employeeService.getEmployeesBefore(firstId, pageSize);
+    }
+
+    /**
+     * Gets the id and name of all projects.
      *  
-     * @return List<ProjectVO> all projects details
+     * @return List<IdNameVO> id and name of all projects
      */
-    public List<ProjectVO> getAllProject() throws EmployeeManagementException {
-        return employeeService.getAllProject();
+    public List<IdNameVO> getProjectNames() throws EmployeeManagementException {
+        return employeeService.getProjectNames();
     }
 
     /**
@@ -163,13 +285,98 @@ public class EmployeeController {
     }
 
     /** 
-     * updates all details of employee.
+     * updates all details of employee. If another user changed the employee
+     * since it was read, the latest version is reloaded and only the fields
+     * this user changed are applied on top of it, keeping the addresses and
+     * projects of the stored employee, and the update is tried again. The
+     * conflict is reported when both users changed the same field.
      *
-     * @param employeeVO  employee object to update employee 
-     * @return            boolean true if details are updated or false
+     * @param readEmployeeVO  employee as it was read before editing
+     * @param employeeVO      employee object to update employee 
+     * @return                boolean true if details are updated or false
      */
-    public boolean updateEmployee(EmployeeVO employeeVO) throws EmployeeManagementException {
-        return employeeService.updateEmployee(employeeVO);
+    public boolean updateEmployee(EmployeeVO readEmployeeVO, EmployeeVO employeeVO) 
+            throws EmployeeManagementException {
+        Map<EmployeeField, Object> readValues = valuesOf(readEmployeeVO);
+        Map<EmployeeField, Object> editedValues = valuesOf(employeeVO);
+
+        editedValues.entrySet().removeIf(entry -> Objects.equals(entry.getValue(),
+                readValues.get(entry.getKey())));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return employeeService.updateEmployee(employeeVO);
+            } catch (EmployeeManagementException exception) {
+                EmployeeVO latestEmployeeVO = null;
+                Map<EmployeeField, Object> latestValues = null;
+
+                if (!ConstantUtil.ERROR_CODE_027.equals(exception.getErrorCode())
+                        || ConstantUtil.CONFLICT_RETRIES <= attempt) {
+                    throw exception;
+                }
+                latestEmployeeVO = employeeService.getEmployeeById(employeeVO.getId(), FetchPlan.FULL);
+                if (null == latestEmployeeVO) {
+                    return false;
+                }
+                latestValues = valuesOf(latestEmployeeVO);
+                for (Map.Entry<EmployeeField, Object> edit : editedValues.entrySet()) {
+                    Object latestValue = latestValues.get(edit.getKey());
+
+                    if (!Objects.equals(readValues.get(edit.getKey()), latestValue)
+                            && !Objects.equals(edit.getValue(), latestValue)) {
+                        throw exception;
+                    }
+                    setValue(latestEmployeeVO, edit.getKey(), edit.getValue());
+                }
+                EmployeeManagementLogger.LOGGER.info("Employee " + employeeVO.getId()
+                        + " changed concurrently, retrying update " + attempt);
+                readValues.putAll(latestValues);
+                employeeVO = latestEmployeeVO;
+            }
+        }
+    }
+
+    private static Map<EmployeeField, Object> valuesOf(EmployeeVO employeeVO) {
+        Map<EmployeeField, Object> values = new EnumMap<>(EmployeeField.class);
+
+        values.put(EmployeeField.NAME, employeeVO.getName());
+        values.put(EmployeeField.PHONE_NUMBER, employeeVO.getPhoneNumber());
+        values.put(EmployeeField.DOB, employeeVO.getDob());
+        values.put(EmployeeField.SALARY, employeeVO.getSalary());
+        values.put(EmployeeField.EMAIL_ID, employeeVO.getEmailId());
+        return values;
+    }
+
+    private static void setValue(EmployeeVO employeeVO, EmployeeField field, Object value) {
+        switch (field) {
+            case NAME:
+                employeeVO.setName((String) value);
+                break;
+            case PHONE_NUMBER:
+                employeeVO.setPhoneNumber((String) value);
+                break;
+            case DOB:
+                employeeVO.setDob((Date) value);
+                break;
+            case SALARY:
+                employeeVO.setSalary((Float) value);
+                break;
+            case EMAIL_ID:
+                employeeVO.setEmailId((String) value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Changes only the given fields of an employee.
+     *
+     * @param employeeId  id of the employee to be patched
+     * @param changes     new value of every field to be changed
+     * @return            boolean true if the employee is updated or false
+     */
+    public boolean patchEmployee(int employeeId, Map<EmployeeField, ?> changes) throws EmployeeManagementException {
+        return employeeService.patchEmployee(employeeId, changes);
     }
     
     /** 
@@ -181,7 +388,7 @@ public class EmployeeController {
      * @return            List<Integer> if details are assign or null
      */
     public List<Integer> assignProjectToEmployee(String projectIds, 
-            EmployeeVO employee, List<ProjectVO> projects) throws EmployeeManagementException {
+            EmployeeVO employee, List<IdNameVO> projects) throws EmployeeManagementException {
         return employeeService.assignProjectToEmployee(projectIds, employee, projects);
     }
     
@@ -202,9 +409,9 @@ public class EmployeeController {
      *
      * @param projects  list of all projects availabale
      * @param employee  employee used to get assigned project
-     * @return          List<ProjectVO>  list of all projects yet to be assigned
+     * @return          List<IdNameVO>  list of all projects yet to be assigned
      */
-    public List<ProjectVO> getProjectsTobeAssigned(List<ProjectVO> projects, 
+    public List<IdNameVO> getProjectsTobeAssigned(List<IdNameVO> projects, 
             EmployeeVO employee) {
         return employeeService.getProjectsTobeAssigned(projects, employee);
     }
@@ -220,11 +427,24 @@ public class EmployeeController {
     }   
 
     /**
-     * Deletes all employees from record.
+     * Deletes all employees from record in chunks.
+     *
+     * @param progressListener  told of the rows deleted so far after every
+     *                          chunk, may be null
+     * @return                  DeleteReportVO rows deleted from each table
+     */
+    public DeleteReportVO deleteAllEmployee(Consumer<DeleteReportVO> progressListener) 
+            throws EmployeeManagementException {
+        return employeeService.removeAllEmployee(progressListener);
+    }
+
+    /**
+     * Empties all employee, address and project records by truncating
+     * their tables.
      *
-     * @return  boolean true if all employees are removed or false
+     * @return  DeleteReportVO names of the truncated tables
      */
-    public boolean deleteAllEmployee() throws EmployeeManagementException {
-        return employeeService.removeAllEmployee();
+    public DeleteReportVO resetAllRecords() throws EmployeeManagementException {
+        return employeeService.resetAllRecords();
     }
 }
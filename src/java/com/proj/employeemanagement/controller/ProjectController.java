@@ -1,13 +1,24 @@
 package com.proj.employeemanagement.controller;
 
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.exception.EmployeeManagementException;
-import com.proj.employeemanagement.model.EmployeeVO;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.model.AssignmentReportVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.model.PageVO;
 import com.proj.employeemanagement.model.ProjectVO;
 import com.proj.employeemanagement.service.ProjectService;
 import com.proj.employeemanagement.service.impl.ProjectServiceImpl;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.ProjectField;
 
 /**
  * ProjectController class was created to connect ProjectService class and
@@ -31,6 +42,16 @@ public class ProjectController {
         return projectService.createProject(projectVO);
     }
 
+    /** 
+     * Inputs details to store and create many projects at once.
+     *
+     * @param projectsVO  projects to be created
+     * @return            List<Integer> ids of the created projects
+     */
+    public List<Integer> createProjects(List<ProjectVO> projectsVO) throws EmployeeManagementException {
+        return projectService.createProjects(projectsVO);
+    }
+
     /**
      * Gets specfic project details using project id.
      * 
@@ -49,14 +70,45 @@ public class ProjectController {
     public List<ProjectVO> getAllProject() throws EmployeeManagementException {
         return projectService.getAllProject();
     }
+
+    /**
+     * Gets only the id and name of all projects.
+     * 
+     * @return  List<IdNameVO> id and name of all projects
+     */
+    public List<IdNameVO> getProjectNames() throws EmployeeManagementException {
+        return projectService.getProjectNames();
+    }
+
+    /**
+     * Gets the page of projects following the given id.
+     * 
+     * @param lastId    id of the last project already shown, 0 for the first page
+     * @param pageSize  number of projects in a page
+     * @return          PageVO<ProjectVO> projects of the page and its cursors
+     */
+    public PageVO<ProjectVO> getProjectsAfter(int lastId, int pageSize) throws EmployeeManagementException {
+        return projectService.getProjectsAfter(lastId, pageSize);
+    }
+
+    /**
+     * Gets the page of projects preceding the given id.
+     * 
+     * @param firstId   id of the first project already shown
+     * @param pageSize  number of projects in a page
+     * @return          PageVO<ProjectVO> projects of the page and its cursors
+     */
+    public PageVO<ProjectVO> getProjectsBefore(int firstId, int pageSize) throws EmployeeManagementException {
+        return projectService.getProjectsBefore(firstId, pageSize);
+    }
     
     /**
-     * Gets all employees details.
+     * Gets the id and name of all employees.
      *  
-     * @return List<EmployeeVO> all employees details
+     * @return List<IdNameVO> id and name of all employees
      */
-    public List<EmployeeVO> getAllEmployee() throws EmployeeManagementException {
-        return projectService.getAllEmployee();
+    public List<IdNameVO> getEmployeeNames() throws EmployeeManagementException {
+        return projectService.getEmployeeNames();
     }
 
     /**
@@ -79,6 +131,40 @@ public class ProjectController {
         return projectService.isValidEmployeeId(employeeId); 
     }
 
+    /**
+     * Parses a comma separated list of ids into a set.
+     *
+     * @param ids  ids separated by comma, spaces allowed
+     * @return     Set<Integer> ids in the given order or null if not valid
+     */
+    public Set<Integer> parseIds(String ids) {
+        return projectService.parseIds(ids);
+    }
+
+    /**
+     * Assigns every employee to every project at once.
+     *
+     * @param employeeIds  ids of the employees to be assigned
+     * @param projectIds   ids of the projects to be staffed
+     * @return             AssignmentReportVO missing ids and pairs written
+     */
+    public AssignmentReportVO assignEmployeesToProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException {
+        return projectService.assignEmployeesToProjects(employeeIds, projectIds);
+    }
+
+    /**
+     * Removes every employee from every project at once.
+     *
+     * @param employeeIds  ids of the employees to be deassigned
+     * @param projectIds   ids of the projects to be left
+     * @return             AssignmentReportVO missing ids and pairs deleted
+     */
+    public AssignmentReportVO unassignEmployeesFromProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException {
+        return projectService.unassignEmployeesFromProjects(employeeIds, projectIds);
+    }
+
     /**
      * Validates name is alphabet and allows spaces only between names.
      *
@@ -110,13 +196,94 @@ public class ProjectController {
     }
 
     /** 
-     * updates all details of project.
+     * updates all details of project. If another user changed the project
+     * since it was read, the latest version is reloaded and only the fields
+     * this user changed are applied on top of it, keeping the employees of
+     * the stored project, and the update is tried again. The conflict is
+     * reported when both users changed the same field.
+     *
+     * @param readProjectVO  project as it was read before editing
+     * @param projectVO      project object to update project 
+     * @return               boolean true if details are updated or false
+     */
+    public boolean updateProject(ProjectVO readProjectVO, ProjectVO projectVO) 
+            throws EmployeeManagementException {
+        Map<ProjectField, Object> readValues = valuesOf(readProjectVO);
+        Map<ProjectField, Object> editedValues = valuesOf(projectVO);
+
+        editedValues.entrySet().removeIf(entry -> Objects.equals(entry.getValue(),
+                readValues.get(entry.getKey())));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return projectService.updateProject(projectVO);
+            } catch (EmployeeManagementException exception) {
+                ProjectVO latestProjectVO = null;
+                Map<ProjectField, Object> latestValues = null;
+
+                if (!ConstantUtil.ERROR_CODE_027.equals(exception.getErrorCode())
+                        || ConstantUtil.CONFLICT_RETRIES <= attempt) {
+                    throw exception;
+                }
+                latestProjectVO = projectService.getProjectById(projectVO.getId());
+                if (null == latestProjectVO) {
+                    return false;
+                }
+                latestValues = valuesOf(latestProjectVO);
+                for (Map.Entry<ProjectField, Object> edit : editedValues.entrySet()) {
+                    Object latestValue = latestValues.get(edit.getKey());
+
+                    if (!Objects.equals(readValues.get(edit.getKey()), latestValue)
+                            && !Objects.equals(edit.getValue(), latestValue)) {
+                        throw exception;
+                    }
+                    setValue(latestProjectVO, edit.getKey(), edit.getValue());
+                }
+                EmployeeManagementLogger.LOGGER.info("Project " + projectVO.getId()
+                        + " changed concurrently, retrying update " + attempt);
+                readValues.putAll(latestValues);
+                projectVO = latestProjectVO;
+            }
+        }
+    }
+
+    private static Map<ProjectField, Object> valuesOf(ProjectVO projectVO) {
+        Map<ProjectField, Object> values = new EnumMap<>(ProjectField.class);
+
+        values.put(ProjectField.NAME, projectVO.getName());
+        values.put(ProjectField.DOMAIN, projectVO.getDomain());
+        values.put(ProjectField.START_DATE, projectVO.getStartDate());
+        values.put(ProjectField.MANAGER_NAME, projectVO.getManagerName());
+        return values;
+    }
+
+    private static void setValue(ProjectVO projectVO, ProjectField field, Object value) {
+        switch (field) {
+            case NAME:
+                projectVO.setName((String) value);
+                break;
+            case DOMAIN:
+                projectVO.setDomain((String) value);
+                break;
+            case START_DATE:
+                projectVO.setStartDate((Date) value);
+                break;
+            case MANAGER_NAME:
+                projectVO.setManagerName((String) value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Changes only the given fields of a project.
      *
-     * @param projectVO  project object to update project 
-     * @return            boolean true if details are updated or false
+     * @param projectId  id of the project to be patched
+     * @param changes    new value of every field to be changed
+     * @return           boolean true if the project is updated or false
      */
-    public boolean updateProject(ProjectVO projectVO) throws EmployeeManagementException {
-        return projectService.updateProject(projectVO);
+    public boolean patchProject(int projectId, Map<ProjectField, ?> changes) throws EmployeeManagementException {
+        return projectService.patchProject(projectId, changes);
     }
     
     /** 
@@ -128,7 +295,7 @@ public class ProjectController {
      * @return             List<Integer> if details are assign or null
      */
     public List<Integer> assignEmployeeToProject(String employeeIds, 
-            ProjectVO project, List<EmployeeVO> employees) throws EmployeeManagementException {
+            ProjectVO project, List<IdNameVO> employees) throws EmployeeManagementException {
         return projectService.assignEmployeeToProject(employeeIds, project, employees);
     }
     
@@ -149,9 +316,9 @@ public class ProjectController {
      *
      * @param employees  list of all employees availabale
      * @param project  project used to get assigned employee
-     * @return           List<EmployeeVO>  list of all projects yet to be assigned
+     * @return           List<IdNameVO>  list of all projects yet to be assigned
      */
-    public List<EmployeeVO> getEmployeesTobeAssigned(List<EmployeeVO> employees, 
+    public List<IdNameVO> getEmployeesTobeAssigned(List<IdNameVO> employees, 
             ProjectVO project) {
         return projectService.getEmployeesTobeAssigned(employees, project);
     }
@@ -167,11 +334,14 @@ public class ProjectController {
     }   
 
     /**
-     * Deletes all projects from record.
+     * Deletes all projects from record in chunks.
      *
-     * @return  boolean true if all projects are removed or false
+     * @param progressListener  told of the rows deleted so far after every
+     *                          chunk, may be null
+     * @return                  DeleteReportVO rows deleted from each table
      */
-    public boolean deleteAllProject() throws EmployeeManagementException {
-        return projectService.removeAllProject();
+    public DeleteReportVO deleteAllProject(Consumer<DeleteReportVO> progressListener) 
+            throws EmployeeManagementException {
+        return projectService.removeAllProject(progressListener);
     }
 }
@@ -1,9 +1,14 @@
 package com.proj.employeemanagement.dao;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.AddressReferenceVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
 import com.proj.employeemanagement.persistence.Address;
+import com.proj.employeemanagement.util.AddressField;
 
 /**
  * Implements application to insert, fetch, update, delete and validate record
@@ -22,6 +27,14 @@ public interface AddressDAO {
      * @return         int if address is inserted in table
      */    
     public int saveAddress(Address address) throws EmployeeManagementException;
+
+    /** 
+     * Saves many employee addresses using JDBC batching.
+     *
+     * @param addresses  addresses to be inserted
+     * @return           List<Integer> ids of the inserted addresses in order
+     */    
+    public List<Integer> saveAddresses(List<Address> addresses) throws EmployeeManagementException;
     
     /** 
      * Fetchs only address detail from table using address id.
@@ -33,18 +46,49 @@ public interface AddressDAO {
     
     /** 
      * Gets address id and employee id for the purpose of reference for user.
+     * Only the two columns are read, without loading addresses or employees.
      *
-     * @return List<Address> list of address id and employee id
+     * @return List<AddressReferenceVO> list of address id and employee id
      */   
-    public List<Address> fetchAllAddress() throws EmployeeManagementException;
+    public List<AddressReferenceVO> fetchAllAddress() throws EmployeeManagementException;
+
+    /** 
+     * Fetchs the addresses following the given id in id order along with
+     * their employee.
+     *
+     * @param lastId  id after which addresses are fetched, 0 for the first page
+     * @param limit   maximum number of addresses to be fetched
+     * @return        List<Address> addresses in ascending id order
+     */
+    public List<Address> fetchAddressesAfter(int lastId, int limit) throws EmployeeManagementException;
+
+    /** 
+     * Fetchs the addresses preceding the given id along with their employee.
+     *
+     * @param firstId  id before which addresses are fetched
+     * @param limit    maximum number of addresses to be fetched
+     * @return         List<Address> addresses in ascending id order
+     */
+    public List<Address> fetchAddressesBefore(int firstId, int limit) throws EmployeeManagementException;
        
     /**
-     * Updates address of employee.
+     * Updates address of employee. The update only applies if the version
+     * of the address still matches the stored one.
      *
      * @param address  address used to update the employee address
      * @return         Address if employee detail is updated  
      */
     public Address updateAddressById(Address address) throws EmployeeManagementException;
+
+    /** 
+     * Updates only the given columns of an address with one UPDATE statement.
+     * The address is not loaded and stays with its employee.
+     *
+     * @param addressId  id of the address to be patched
+     * @param changes    new value of every field to be changed
+     * @return           int number of records updated
+     */
+    public int patchAddress(int addressId, Map<AddressField, ?> changes) throws EmployeeManagementException;
     
     /** 
      * Deletes single employee address from table.
@@ -55,9 +99,13 @@ public interface AddressDAO {
     public int deleteAddressById(int addressId) throws EmployeeManagementException;
 
     /** 
-     * Deletes addresses all records from table.
+     * Deletes addresses all records from table in chunks.
      *
-     * @return  int if record is removed
+     * @param chunkSize         number of addresses deleted per transaction
+     * @param progressListener  told of the rows deleted so far after every
+     *                          chunk, may be null
+     * @return                  DeleteReportVO rows deleted from the table
      */
-    public int deleteAllAddress() throws EmployeeManagementException;        
+    public DeleteReportVO deleteAllAddress(int chunkSize, 
+            Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException;        
 }
@@ -1,9 +1,15 @@
 package com.proj.employeemanagement.dao;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.IdNameVO;
 import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.FetchPlan;
 
 /**
  * EmployeeDAO class connects service class and databases and perform various 
@@ -23,29 +29,97 @@ public interface EmployeeDAO {
      */
     public int saveEmployee(Employee employee) throws EmployeeManagementException;
 
+    /** 
+     * Saves many employees along with their addresses using JDBC batching.
+     *
+     * @param employees  employees to be inserted
+     * @return           List<Integer> ids of the inserted employees in order
+     */
+    public List<Integer> saveEmployees(List<Employee> employees) throws EmployeeManagementException;
+
     /** 
      * Fetchs a employee all detail from table using employee id.
      *
      * @param employeeId  employee id whose detail to be fetched
+     * @param fetchPlan   associations to be loaded with the employee
      * @return            employee employee object to get all details
      */
-    public Employee fetchEmployeeById(int employeeId) throws EmployeeManagementException;
+    public Employee fetchEmployeeById(int employeeId, FetchPlan fetchPlan) throws EmployeeManagementException;
 
     /** 
      * Fetchs all employees details from table.
      *
-     * @return List<Employee> list of employee object 
+     * @param fetchPlan  associations to be loaded with the employees
+     * @return           List<Employee> list of employee object 
+     */
+    public List<Employee> fetchAllEmployee(FetchPlan fetchPlan) throws EmployeeManagementException;
+
+    /** 
+     * Fetchs only the id and name of all employees in id order.
+     *
+     * @return List<IdNameVO> id and name of every employee
+     */
+    public List<IdNameVO> fetchEmployeeNames() throws EmployeeManagementException;
+
+    /** 
+     * Fetchs the employees following the given id in id order.
+     *
+     * @param lastId     id after which employees are fetched, 0 for the first page
+     * @param limit      maximum number of employees to be fetched
+     * @param fetchPlan  associations to be loaded with the employees
+     * @return           List<Employee> employees in ascending id order
+     */
+    public List<Employee> fetchEmployeesAfter(int lastId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException;
+
+    /** 
+     * Fetchs the employees preceding the given id.
+     *
+     * @param firstId    id before which employees are fetched
+     * @param limit      maximum number of employees to be fetched
+     * @param fetchPlan  associations to be loaded with the employees
+     * @return           List<Employee> employees in ascending id order
      */
-    public List<Employee> fetchAllEmployee() throws EmployeeManagementException;
+    public List<Employee> fetchEmployeesBefore(int firstId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException;
 
     /** 
-     * Updates employee's all details in the table.
+     * Fetchs the lowest and the highest employee id.
+     *
+     * @return  int[] lowest and highest id or null if there is no employee
+     */
+    public int[] fetchEmployeeIdRange() throws EmployeeManagementException;
+
+    /** 
+     * Streams the employees of an id range in id order with their addresses
+     * and projects, handing each employee to the consumer as soon as it is
+     * complete. No more than one employee is held in memory.
+     *
+     * @param fromId    lowest id of the range
+     * @param toId      highest id of the range
+     * @param consumer  receives each employee, detached from any session
+     * @return          int number of employees streamed
+     */
+    public int streamEmployees(int fromId, int toId, Consumer<Employee> consumer) throws EmployeeManagementException;
+
+    /** 
+     * Updates employee's all details in the table. The update only applies
+     * if the version of the employee still matches the stored one. Projects
+     * and addresses are left alone, they change through their own calls.
      *
      * @param employee  instance of employee used to update detail
      * @return          Employee if employee details are updated 
      */
     public Employee updateEmployee(Employee employee) throws EmployeeManagementException;
 
+    /** 
+     * Updates only the given columns of an employee with one UPDATE statement.
+     * The employee is not loaded and its collections are left as they are.
+     *
+     * @param employeeId  id of the employee to be patched
+     * @param changes     new value of every field to be changed
+     * @return            int number of records updated
+     */
+    public int patchEmployee(int employeeId, Map<EmployeeField, ?> changes) throws EmployeeManagementException;
+
     /** 
      * Deletes single employee record from table.
      *
@@ -55,14 +129,28 @@ public interface EmployeeDAO {
     public int deleteEmployeeById(int employeeId) throws EmployeeManagementException;
 
     /** 
-     * Deletes employee's all records from table.
+     * Deletes employee's all records from table in chunks, each chunk with
+     * the project assignments and addresses of its employees first.
+     *
+     * @param chunkSize         number of employees deleted per transaction
+     * @param progressListener  told of the rows deleted so far after every
+     *                          chunk, may be null
+     * @return                  DeleteReportVO rows deleted from each table
+     */
+    public DeleteReportVO deleteAllEmployee(int chunkSize, 
+            Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException; 
+
+    /** 
+     * Truncates the employee, address, project and project assignment
+     * tables. Much faster than deleting the rows but cannot be rolled back.
      *
-     * @return  int if record is removed
+     * @return  DeleteReportVO names of the truncated tables
      */
-    public int deleteAllEmployee() throws EmployeeManagementException; 
+    public DeleteReportVO truncateAll() throws EmployeeManagementException; 
 
     /** 
      * Checks whether the entered employee phone number already exist or not.
+     * The in-memory key index answers most misses without a database query.
      *
      * @param phoneNumber  employee phone number to be checked whether unique or not
      * @return             Employee true if duplicate number or false
@@ -71,6 +159,7 @@ public interface EmployeeDAO {
 
     /** 
      * Checks whether the entered employee email id already exist or not.
+     * The in-memory key index answers most misses without a database query.
      *
      * @param emailId  employee email id to be checked whether unique or not
      * @return         Employee true if duplicate email id or false
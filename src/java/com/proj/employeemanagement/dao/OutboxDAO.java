@@ -0,0 +1,27 @@
+package com.proj.employeemanagement.dao;
+
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.outbox.OutboxSink;
+
+/**
+ * OutboxDAO hands the change events recorded in the outbox table to a sink.
+ * Events are removed only once the sink has taken them, so every event is
+ * published at least once and in the order it was recorded.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public interface OutboxDAO {
+
+    /**
+     * Publishes the oldest events of the outbox to the sink and removes them
+     * in one transaction. The events stay locked meanwhile, so concurrent
+     * relays never publish the same event twice.
+     *
+     * @param limit  maximum number of events published
+     * @param sink   sink taking the events
+     * @return       int number of events published
+     */
+    public int relayEvents(int limit, OutboxSink sink) throws EmployeeManagementException;
+}
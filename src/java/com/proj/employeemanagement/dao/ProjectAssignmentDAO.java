@@ -0,0 +1,80 @@
+package com.proj.employeemanagement.dao;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.AssignmentReportVO;
+
+/**
+ * ProjectAssignmentDAO maintains the project_employee join table row by row.
+ * Only the changed employee and project pairs are inserted or deleted, so
+ * the rest of the assignments of an employee or project are never rewritten.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public interface ProjectAssignmentDAO {
+
+    /**
+     * Assigns projects to an employee. Projects already assigned to the
+     * employee when the transaction runs are skipped.
+     *
+     * @param employeeId  id of the employee
+     * @param projectIds  ids of the projects to be assigned
+     * @return            int number of assignments inserted
+     */
+    public int assignProjects(int employeeId, Collection<Integer> projectIds) throws EmployeeManagementException;
+
+    /**
+     * Removes projects from an employee.
+     *
+     * @param employeeId  id of the employee
+     * @param projectIds  ids of the projects to be deassigned
+     * @return            int number of assignments deleted
+     */
+    public int deAssignProjects(int employeeId, Collection<Integer> projectIds) throws EmployeeManagementException;
+
+    /**
+     * Assigns employees to a project. Employees already assigned to the
+     * project when the transaction runs are skipped.
+     *
+     * @param projectId    id of the project
+     * @param employeeIds  ids of the employees to be assigned
+     * @return             int number of assignments inserted
+     */
+    public int assignEmployees(int projectId, Collection<Integer> employeeIds) throws EmployeeManagementException;
+
+    /**
+     * Removes employees from a project.
+     *
+     * @param projectId    id of the project
+     * @param employeeIds  ids of the employees to be deassigned
+     * @return             int number of assignments deleted
+     */
+    public int deAssignEmployees(int projectId, Collection<Integer> employeeIds) throws EmployeeManagementException;
+
+    /**
+     * Assigns every employee to every project in one transaction. Ids
+     * which do not exist are reported and left out, and pairs which are
+     * already assigned are skipped.
+     *
+     * @param employeeIds  ids of the employees to be assigned
+     * @param projectIds   ids of the projects to be staffed
+     * @return             AssignmentReportVO missing ids and pairs written
+     */
+    public AssignmentReportVO assignEmployeesToProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException;
+
+    /**
+     * Removes every employee from every project in one statement. Ids which
+     * do not exist are reported.
+     *
+     * @param employeeIds  ids of the employees to be deassigned
+     * @param projectIds   ids of the projects to be left
+     * @return             AssignmentReportVO missing ids and pairs deleted
+     */
+    public AssignmentReportVO unassignEmployeesFromProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException;
+}
@@ -1,9 +1,15 @@
 package com.proj.employeemanagement.dao;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.IdNameVO;
 import com.proj.employeemanagement.persistence.Project;
+import com.proj.employeemanagement.util.FetchPlan;
+import com.proj.employeemanagement.util.ProjectField;
 
 /**
  * ProjectDAO class connects service class and databases and perform various 
@@ -23,29 +29,78 @@ public interface ProjectDAO {
      */
     public int saveProject(Project project) throws EmployeeManagementException;
 
+    /** 
+     * Saves many projects using JDBC batching.
+     *
+     * @param projects  projects to be inserted
+     * @return          List<Integer> ids of the inserted projects in order
+     */
+    public List<Integer> saveProjects(List<Project> projects) throws EmployeeManagementException;
+
     /** 
      * Fetchs a project all detail from table using project id.
      *
      * @param projectId  project id whose detail to be fetched
+     * @param fetchPlan  associations to be loaded with the project
      * @return           project project object to get all details
      */
-    public Project fetchProjectById(int projectId) throws EmployeeManagementException;
+    public Project fetchProjectById(int projectId, FetchPlan fetchPlan) throws EmployeeManagementException;
 
     /** 
      * Fetchs all projects details from table.
      *
-     * @return List<Project> list of project object 
+     * @param fetchPlan  associations to be loaded with the projects
+     * @return           List<Project> list of project object 
+     */
+    public List<Project> fetchAllProject(FetchPlan fetchPlan) throws EmployeeManagementException;
+
+    /** 
+     * Fetchs only the id and name of all projects in id order.
+     *
+     * @return List<IdNameVO> id and name of every project
+     */
+    public List<IdNameVO> fetchProjectNames() throws EmployeeManagementException;
+
+    /** 
+     * Fetchs the projects following the given id in id order.
+     *
+     * @param lastId     id after which projects are fetched, 0 for the first page
+     * @param limit      maximum number of projects to be fetched
+     * @param fetchPlan  associations to be loaded with the projects
+     * @return           List<Project> projects in ascending id order
+     */
+    public List<Project> fetchProjectsAfter(int lastId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException;
+
+    /** 
+     * Fetchs the projects preceding the given id.
+     *
+     * @param firstId    id before which projects are fetched
+     * @param limit      maximum number of projects to be fetched
+     * @param fetchPlan  associations to be loaded with the projects
+     * @return           List<Project> projects in ascending id order
      */
-    public List<Project> fetchAllProject() throws EmployeeManagementException;
+    public List<Project> fetchProjectsBefore(int firstId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException;
 
     /** 
-     * Updates project's all details in the table.
+     * Updates project's all details in the table. The update only applies
+     * if the version of the project still matches the stored one. Assigned
+     * employees are left alone, they change through the assignment calls.
      *
      * @param project  instance of project used to update detail
      * @return         Project if project details are updated 
      */
     public Project updateProject(Project project) throws EmployeeManagementException;
 
+    /** 
+     * Updates only the given columns of a project with one UPDATE statement.
+     * The project is not loaded and its collections are left as they are.
+     *
+     * @param projectId  id of the project to be patched
+     * @param changes    new value of every field to be changed
+     * @return           int number of records updated
+     */
+    public int patchProject(int projectId, Map<ProjectField, ?> changes) throws EmployeeManagementException;
+
     /** 
      * Deletes single project record from table.
      *
@@ -55,9 +110,14 @@ public interface ProjectDAO {
     public int deleteProjectById(int projectId) throws EmployeeManagementException;
 
     /** 
-     * Deletes project's all records from table.
+     * Deletes project's all records from table in chunks, each chunk with
+     * the employee assignments of its projects first.
      *
-     * @return  int if record is removed
+     * @param chunkSize         number of projects deleted per transaction
+     * @param progressListener  told of the rows deleted so far after every
+     *                          chunk, may be null
+     * @return                  DeleteReportVO rows deleted from each table
      */
-    public int deleteAllProject() throws EmployeeManagementException;      
+    public DeleteReportVO deleteAllProject(int chunkSize, 
+            Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException;      
 }
@@ -1,13 +1,23 @@
 package com.proj.employeemanagement.dao.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.connection.ConnectionFactory;
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.AddressReferenceVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
 import com.proj.employeemanagement.persistence.Address;
+import com.proj.employeemanagement.util.AddressField;
 import com.proj.employeemanagement.util.ConstantUtil;
+import javax.persistence.PersistenceException;
 import org.hibernate.HibernateException;
-import org.hibernate.Query;
+import org.hibernate.query.Query;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
@@ -33,12 +43,14 @@ public class AddressDAOImpl implements AddressDAO {
         Integer addressId = null;
       
         try {
-            transaction = session.beginTransaction();
+            transaction = ConnectionFactory.beginTransaction(session);
             addressId = (Integer) session.save(address); 
-            transaction.commit();
+            ConnectionFactory.commit(transaction);
+            ConnectionFactory.evictCollection(ConstantUtil.EMPLOYEE_ADDRESSES,
+                    address.getEmployee().getId());
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_009));
         } finally {
@@ -51,18 +63,59 @@ public class AddressDAOImpl implements AddressDAO {
      * {@inheritDoc}
      */
     @Override     
-    public Address fetchAddress(int addressId) throws EmployeeManagementException {
+    public List<Integer> saveAddresses(List<Address> addresses) throws EmployeeManagementException {
         Session session = ConnectionFactory.getSession();
         Transaction transaction = null;
+        List<Integer> addressIds = new ArrayList<>();
+        Set<Integer> employeeIds = new HashSet<>();
+      
+        try {
+            int rowCount = 0;
+
+            session.setJdbcBatchSize(ConstantUtil.BATCH_SIZE);
+            transaction = ConnectionFactory.beginTransaction(session);
+            for (Address address : addresses) {
+                addressIds.add((Integer) session.save(address));
+                employeeIds.add(address.getEmployee().getId());
+                
+                if (0 == ++rowCount % ConstantUtil.BATCH_SIZE) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            ConnectionFactory.commit(transaction);
+            for (Integer employeeId : employeeIds) {
+                ConnectionFactory.evictCollection(ConstantUtil.EMPLOYEE_ADDRESSES,
+                        employeeId);
+            }
+        } catch (PersistenceException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_022));
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return addressIds;
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override     
+    public Address fetchAddress(int addressId) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
         Address address = null;
       
         try {
-            transaction = session.beginTransaction();
-            address = (Address) session.get(Address.class, addressId);  
-            transaction.commit();
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            address = (Address) session.getNamedQuery("Address.fetchById")
+                    .setParameter("id", addressId).uniqueResult();
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_010));
         } finally {
@@ -79,14 +132,31 @@ public class AddressDAOImpl implements AddressDAO {
         Session session = ConnectionFactory.getSession();
         Transaction transaction = null;
         Address detailUpdated = null;
+        Set<Integer> employeeIds = new HashSet<>();
          
         try {
-            transaction = session.beginTransaction();
+            Address storedAddress = null;
+
+            transaction = ConnectionFactory.beginTransaction(session);
+            storedAddress = session.get(Address.class, address.getId());
+            if (null != storedAddress && null != storedAddress.getEmployee()) {
+                employeeIds.add(storedAddress.getEmployee().getId());
+            }
+            if (null != address.getEmployee()) {
+                employeeIds.add(address.getEmployee().getId());
+            }
             detailUpdated = (Address) session.merge(address); 
-            transaction.commit();
-        } catch (HibernateException exception) {
+            ConnectionFactory.commit(transaction);
+            for (Integer employeeId : employeeIds) {
+                ConnectionFactory.evictCollection(ConstantUtil.EMPLOYEE_ADDRESSES, employeeId);
+            }
+        } catch (PersistenceException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
+            }
+            if (ConnectionFactory.isVersionConflict(exception)) {
+                throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil
+                        .ERROR_CODE_027), ConstantUtil.ERROR_CODE_027);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_012));
         } finally {
@@ -95,6 +165,30 @@ public class AddressDAOImpl implements AddressDAO {
         return detailUpdated;
     }
 
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public int patchAddress(int addressId, Map<AddressField, ?> changes) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getSession();
+        Transaction transaction = null;
+        int recordUpdated = 0;
+         
+        try {
+            transaction = ConnectionFactory.beginTransaction(session);
+            recordUpdated = PatchUpdate.execute(session, "Address", addressId, changes);
+            ConnectionFactory.commit(transaction);
+        } catch (HibernateException | IllegalArgumentException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_012));
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return recordUpdated;
+    }
+
     /** 
      * {@inheritDoc}
      */
@@ -105,15 +199,16 @@ public class AddressDAOImpl implements AddressDAO {
         int recordDeleted = 0;
       
         try {
-            Query query = null;
+            Query<?> query = null;
             
-            transaction = session.beginTransaction();
-            query = session.createQuery("DELETE FROM Address WHERE id = :id");
+            transaction = ConnectionFactory.beginTransaction(session);
+            query = session.getNamedQuery("Address.deleteById");
             recordDeleted = query.setParameter("id", addressId).executeUpdate();
-            transaction.commit();
+            ConnectionFactory.commit(transaction);
+            ConnectionFactory.evictCache(Address.class, ConstantUtil.EMPLOYEE_ADDRESSES);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_013));
         } finally {
@@ -126,48 +221,94 @@ public class AddressDAOImpl implements AddressDAO {
      * {@inheritDoc}
      */
     @Override
-    public int deleteAllAddress() throws EmployeeManagementException { 
-        Session session = ConnectionFactory.getSession();
-        Transaction transaction = null;
-        int recordDeleted = 0;
+    public DeleteReportVO deleteAllAddress(int chunkSize, 
+            Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException { 
+        DeleteReportVO report = null;
       
         try {
-            transaction = session.beginTransaction();
-            recordDeleted = session.createQuery("DELETE FROM Address")
-                    .executeUpdate();
-            transaction.commit();
+            report = new ChunkedDeleter("address").delete(chunkSize, progressListener);
         } catch (HibernateException exception) {
-            if (null != transaction) { 
-                transaction.rollback();
-            }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_014));
         } finally {
-            ConnectionFactory.close(session);  
+            ConnectionFactory.evictCache(Address.class, ConstantUtil.EMPLOYEE_ADDRESSES);
         }
-        return recordDeleted;
+        return report;
     } 
 
     /** 
      * {@inheritDoc}
      */
     @Override    
-    public List<Address> fetchAllAddress() throws EmployeeManagementException {
-        Session session = ConnectionFactory.getSession();
+    public List<AddressReferenceVO> fetchAllAddress() throws EmployeeManagementException {
+        Session session = ConnectionFactory.getReadOnlySession();
         Transaction transaction = null;
-        List<Address> address = null;
+        List<AddressReferenceVO> address = null;
          
         try {
-            transaction = session.beginTransaction(); 
-            address = session.createQuery("SELECT address FROM Address address JOIN FETCH address.employee").list();  
-            transaction.commit();
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session); 
+            address = session.createNamedQuery("Address.fetchReferences",
+                    AddressReferenceVO.class).list();  
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_011));
         } finally {
             ConnectionFactory.close(session); 
         }
         return address;     
-    }      
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override    
+    public List<Address> fetchAddressesAfter(int lastId, int limit) throws EmployeeManagementException {
+        return fetchAddressPage(lastId, limit, true);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override    
+    public List<Address> fetchAddressesBefore(int firstId, int limit) throws EmployeeManagementException {
+        return fetchAddressPage(firstId, limit, false);
+    }
+
+    /**
+     * Fetchs a page of addresses next to the cursor id along with their
+     * employee.
+     *
+     * @param cursorId   id next to which addresses are fetched
+     * @param limit      maximum number of addresses to be fetched
+     * @param isForward  true to fetch addresses after the cursor, false for
+     *                   addresses before it
+     * @return           List<Address> addresses in ascending id order
+     */
+    private List<Address> fetchAddressPage(int cursorId, int limit,
+            boolean isForward) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
+        List<Address> addresses = null;
+         
+        try {
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session); 
+            addresses = session.createNamedQuery(isForward ? "Address.fetchAfter"
+                    : "Address.fetchBefore", Address.class).setParameter("id", cursorId)
+                    .setMaxResults(limit).list();  
+            ConnectionFactory.commit(transaction);
+            if (!isForward) {
+                Collections.reverse(addresses);
+            }
+        } catch (HibernateException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_011));
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return addresses;     
+    }
 }
@@ -0,0 +1,196 @@
+package com.proj.employeemanagement.dao.impl;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.connection.SessionFactoryLifecycle;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.model.DeleteReportVO;
+
+/**
+ * Empties a table in id-range chunks, each in its own short transaction.
+ * Rows of the dependent tables pointing at a chunk are deleted before the
+ * chunk itself, so foreign keys hold and locks are only taken on a chunk's
+ * worth of rows at a time. A failed chunk is rolled back alone; the chunks
+ * committed before it stay deleted and are kept in the report. The deleted
+ * ids can be recorded in the outbox within the transaction of their chunk.
+ * Every statement names the table it touches, so Hibernate only flushes and
+ * evicts from the second level cache what depends on that table.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ChunkedDeleter {
+
+    private final String table;
+    private final Map<String, String> dependents = new LinkedHashMap<>();
+    private String outboxEntity;
+
+    /**
+     * @param table  table to be emptied, with an integer id column
+     */
+    public ChunkedDeleter(String table) {
+        this.table = table;
+    }
+
+    /**
+     * Adds a table whose rows refer to the table being emptied. Dependents
+     * are deleted in the order they are added.
+     *
+     * @param dependentTable  table holding the foreign key
+     * @param foreignKey      column referring to the id of the emptied table
+     * @return                ChunkedDeleter this deleter
+     */
+    public ChunkedDeleter withDependent(String dependentTable, String foreignKey) {
+        dependents.put(dependentTable, foreignKey);
+        return this;
+    }
+
+    /**
+     * Records a DELETE event in the outbox for every deleted row.
+     *
+     * @param entity  entity name of the events
+     * @return        ChunkedDeleter this deleter
+     */
+    public ChunkedDeleter withOutbox(String entity) {
+        outboxEntity = entity;
+        return this;
+    }
+
+    /**
+     * Deletes every row of the table and its dependents chunk by chunk.
+     *
+     * @param chunkSize         number of rows of the table deleted per transaction
+     * @param progressListener  told of the report after every committed chunk,
+     *                          may be null
+     * @return                  DeleteReportVO rows deleted from each table
+     * @throws HibernateException  if a chunk could not be deleted
+     */
+    public DeleteReportVO delete(int chunkSize, Consumer<DeleteReportVO> progressListener) {
+        long startTime = System.currentTimeMillis();
+        DeleteReportVO report = new DeleteReportVO();
+        int lastId = 0;
+        List<Integer> ids = null;
+
+        do {
+            Session session = ConnectionFactory.getSession();
+            Transaction transaction = null;
+            Map<String, Integer> chunkRows = new LinkedHashMap<>();
+
+            try {
+                transaction = ConnectionFactory.beginTransaction(session);
+                ids = fetchIds(session, lastId, chunkSize);
+                if (!ids.isEmpty()) {
+                    for (Map.Entry<String, String> dependent : dependents.entrySet()) {
+                        chunkRows.put(dependent.getKey(), deleteByIds(session,
+                                dependent.getKey(), dependent.getValue(), ids));
+                    }
+                    chunkRows.put(table, deleteByIds(session, table, "id", ids));
+                    if (null != outboxEntity) {
+                        Outbox.record(session, outboxEntity, ids, Outbox.DELETE, null);
+                    }
+                    lastId = ids.get(ids.size() - 1);
+                }
+                ConnectionFactory.commit(transaction);
+            } catch (HibernateException exception) {
+                if (null != transaction) {
+                    ConnectionFactory.rollback(transaction);
+                }
+                EmployeeManagementLogger.LOGGER.error("Delete of " + table
+                        + " stopped after id " + lastId + "\n" + report);
+                throw exception;
+            } finally {
+                ConnectionFactory.close(session);
+            }
+
+            if (!ids.isEmpty()) {
+                report.addChunk(chunkRows);
+                report.setElapsedMillis(System.currentTimeMillis() - startTime);
+                if (null != progressListener) {
+                    progressListener.accept(report);
+                }
+            }
+        } while (chunkSize == ids.size());
+
+        report.setElapsedMillis(System.currentTimeMillis() - startTime);
+        EmployeeManagementLogger.LOGGER.info("Delete of " + table + " finished\n" + report);
+        return report;
+    }
+
+    /**
+     * Empties the tables with TRUNCATE, which drops the rows without undo
+     * logging. Foreign key checks are switched off on the connection while
+     * it runs, using the statement of MySQL or of the embedded H2 database,
+     * so every table holding a key into a truncated table must be truncated
+     * too. TRUNCATE commits implicitly and cannot be rolled back.
+     *
+     * @param tables  tables to be emptied
+     * @return        DeleteReportVO names of the truncated tables
+     * @throws HibernateException  if a table could not be truncated
+     */
+    public static DeleteReportVO truncate(String... tables) {
+        long startTime = System.currentTimeMillis();
+        DeleteReportVO report = new DeleteReportVO();
+        Session session = ConnectionFactory.getSession();
+
+        try {
+            session.doWork(connection -> {
+                boolean isEmbedded = SessionFactoryLifecycle.isEmbeddedProfile();
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(isEmbedded ? "SET REFERENTIAL_INTEGRITY FALSE"
+                            : "SET FOREIGN_KEY_CHECKS = 0");
+                    try {
+                        for (String table : tables) {
+                            statement.execute("TRUNCATE TABLE " + table);
+                            report.addTruncatedTable(table);
+                        }
+                    } finally {
+                        statement.execute(isEmbedded ? "SET REFERENTIAL_INTEGRITY TRUE"
+                                : "SET FOREIGN_KEY_CHECKS = 1");
+                    }
+                }
+            });
+        } finally {
+            ConnectionFactory.close(session);
+        }
+        report.setElapsedMillis(System.currentTimeMillis() - startTime);
+        EmployeeManagementLogger.LOGGER.info("Truncate finished\n" + report);
+        return report;
+    }
+
+    private List<Integer> fetchIds(Session session, int lastId, int chunkSize) {
+        @SuppressWarnings("unchecked")
+        List<Number> rows = session.createNativeQuery("SELECT id FROM " + table
+                + " WHERE id > :lastId ORDER BY id")
+                .addSynchronizedQuerySpace(table)
+                .setParameter("lastId", lastId)
+                .setMaxResults(chunkSize)
+                .list();
+        List<Integer> ids = new ArrayList<>(rows.size());
+
+        for (Number row : rows) {
+            ids.add(row.intValue());
+        }
+        return ids;
+    }
+
+    private int deleteByIds(Session session, String deleteTable, String column,
+            List<Integer> ids) {
+        return session.createNativeQuery("DELETE FROM " + deleteTable + " WHERE "
+                + column + " IN (:ids)")
+                .addSynchronizedQuerySpace(deleteTable)
+                .setParameterList("ids", ids)
+                .executeUpdate();
+    }
+}
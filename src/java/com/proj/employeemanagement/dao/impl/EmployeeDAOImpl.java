@@ -1,14 +1,31 @@
 package com.proj.employeemanagement.dao.impl;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.connection.SessionFactoryLifecycle;
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.persistence.Address;
 import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.persistence.Project;
 import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.FetchPlan;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PersistenceException;
+import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
-import org.hibernate.Query;
+import org.hibernate.query.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 
 import com.proj.employeemanagement.dao.EmployeeDAO;
@@ -33,12 +50,14 @@ public class EmployeeDAOImpl implements EmployeeDAO {
         Integer employeeId = null;
       
         try {
-            transaction = session.beginTransaction();
+            transaction = ConnectionFactory.beginTransaction(session);
             employeeId = (Integer) session.save(employee); 
-            transaction.commit();
-        } catch (HibernateException exception) {
+            Outbox.record(session, Outbox.EMPLOYEE, employeeId, Outbox.CREATE, null);
+            ConnectionFactory.commit(transaction);
+            EmployeeKeyIndex.add(employee);
+        } catch (PersistenceException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             exception.printStackTrace();
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_001));
@@ -52,18 +71,64 @@ public class EmployeeDAOImpl implements EmployeeDAO {
      * {@inheritDoc}
      */
     @Override     
-    public Employee fetchEmployeeById(int employeeId) throws EmployeeManagementException {
+    public List<Integer> saveEmployees(List<Employee> employees) throws EmployeeManagementException {
         Session session = ConnectionFactory.getSession();
         Transaction transaction = null;
+        List<Integer> employeeIds = new ArrayList<>();
+      
+        try {
+            int rowCount = 0;
+
+            session.setJdbcBatchSize(ConstantUtil.BATCH_SIZE);
+            transaction = ConnectionFactory.beginTransaction(session);
+            for (Employee employee : employees) {
+                employeeIds.add((Integer) session.save(employee));
+
+                for (Address address : employee.getAddresses()) {
+                    address.setEmployee(employee);
+                    session.save(address);
+                }
+                
+                if (0 == ++rowCount % ConstantUtil.BATCH_SIZE) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            Outbox.record(session, Outbox.EMPLOYEE, employeeIds, Outbox.CREATE, null);
+            ConnectionFactory.commit(transaction);
+            for (Employee employee : employees) {
+                EmployeeKeyIndex.add(employee);
+            }
+        } catch (PersistenceException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_021));
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return employeeIds;
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override     
+    public Employee fetchEmployeeById(int employeeId, FetchPlan fetchPlan) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
         Employee employee = null;
       
         try {
-            transaction = session.beginTransaction();
-            employee = (Employee) session.get(Employee.class, employeeId);  
-            transaction.commit();
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            employee = session.get(Employee.class, employeeId);  
+            if (null != employee) {
+                initialize(employee, fetchPlan);
+            }
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_002)); 
         } finally {
@@ -76,18 +141,21 @@ public class EmployeeDAOImpl implements EmployeeDAO {
      * {@inheritDoc}
      */
     @Override
-    public List<Employee> fetchAllEmployee() throws EmployeeManagementException { 
-        Session session = ConnectionFactory.getSession();
+    public List<Employee> fetchAllEmployee(FetchPlan fetchPlan) throws EmployeeManagementException { 
+        Session session = ConnectionFactory.getReadOnlySession();
         Transaction transaction = null;
         List<Employee> employees = null;
          
         try {
-            transaction = session.beginTransaction();
-            employees = session.createQuery("FROM Employee").list(); 
-            transaction.commit();
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            employees = session.createNamedQuery("Employee.fetchAll", Employee.class).list(); 
+            for (Employee employee : employees) {
+                initialize(employee, fetchPlan);
+            }
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_003)); 
         } finally {
@@ -96,6 +164,134 @@ public class EmployeeDAOImpl implements EmployeeDAO {
         return employees;
     }
 
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<IdNameVO> fetchEmployeeNames() throws EmployeeManagementException { 
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
+        List<IdNameVO> names = null;
+         
+        try {
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            names = session.createNamedQuery("Employee.fetchNames", IdNameVO.class).list(); 
+            ConnectionFactory.commit(transaction);
+        } catch (HibernateException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_003)); 
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return names;
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Employee> fetchEmployeesAfter(int lastId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException { 
+        return fetchEmployeePage(lastId, limit, fetchPlan, true);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Employee> fetchEmployeesBefore(int firstId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException { 
+        return fetchEmployeePage(firstId, limit, fetchPlan, false);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public int[] fetchEmployeeIdRange() throws EmployeeManagementException { 
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
+        Object[] idRange = null;
+         
+        try {
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            idRange = (Object[]) session.getNamedQuery("Employee.fetchIdRange")
+                    .uniqueResult(); 
+            ConnectionFactory.commit(transaction);
+        } catch (HibernateException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_025)); 
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return (null == idRange || null == idRange[0]) ? null 
+                : new int[] {(Integer) idRange[0], (Integer) idRange[1]};
+    }
+
+    /** 
+     * {@inheritDoc}
+     *
+     * Employees, addresses and project assignments are read through three
+     * forward only cursors ordered by employee id, each on its own stateless
+     * session, and merged as they arrive. Stateless sessions keep no
+     * persistence context, so nothing accumulates however many rows pass.
+     */
+    @Override
+    public int streamEmployees(int fromId, int toId, Consumer<Employee> consumer) throws EmployeeManagementException { 
+        StatelessSession employeeSession = null;
+        StatelessSession addressSession = null;
+        StatelessSession projectSession = null;
+        ScrollableResults employeeRows = null;
+        ScrollableResults addressRows = null;
+        ScrollableResults projectRows = null;
+        int employeeCount = 0;
+         
+        try {
+            Object[] addressRow = null;
+            Object[] projectRow = null;
+
+            employeeSession = ConnectionFactory.getStatelessSession();
+            addressSession = ConnectionFactory.getStatelessSession();
+            projectSession = ConnectionFactory.getStatelessSession();
+            employeeRows = scroll(employeeSession, "Employee.streamRows", fromId, toId);
+            addressRows = scroll(addressSession, "Employee.streamAddressRows", fromId, toId);
+            projectRows = scroll(projectSession, "Employee.streamProjectRows", fromId, toId);
+            addressRow = nextRow(addressRows);
+            projectRow = nextRow(projectRows);
+
+            while (employeeRows.next()) {
+                Employee employee = toEmployee(employeeRows.get());
+
+                while (null != addressRow && (Integer) addressRow[0] <= employee.getId()) {
+                    if ((Integer) addressRow[0] == employee.getId()) {
+                        employee.getAddresses().add(toAddress(addressRow, employee));
+                    }
+                    addressRow = nextRow(addressRows);
+                }
+                while (null != projectRow && (Integer) projectRow[0] <= employee.getId()) {
+                    if ((Integer) projectRow[0] == employee.getId()) {
+                        employee.getProjects().add(toProject(projectRow));
+                    }
+                    projectRow = nextRow(projectRows);
+                }
+                consumer.accept(employee);
+                employeeCount++;
+            }
+        } catch (HibernateException exception) {
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_025)); 
+        } finally {
+            close(employeeRows);
+            close(addressRows);
+            close(projectRows);
+            ConnectionFactory.close(employeeSession); 
+            ConnectionFactory.close(addressSession); 
+            ConnectionFactory.close(projectSession); 
+        }
+        return employeeCount;
+    }
+
     /** 
      * {@inheritDoc}
      */
@@ -106,13 +302,30 @@ public class EmployeeDAOImpl implements EmployeeDAO {
         Employee detailUpdated = null;
          
         try {
-            transaction = session.beginTransaction();
-            session.saveOrUpdate(employee);
-            detailUpdated = employee;
-            transaction.commit();
-        } catch (HibernateException exception) {
+            transaction = ConnectionFactory.beginTransaction(session);
+            detailUpdated = session.get(Employee.class, employee.getId());
+            if (null != detailUpdated) {
+                if (detailUpdated.getVersion() != employee.getVersion()) {
+                    throw new OptimisticLockException();
+                }
+                detailUpdated.setName(employee.getName());
+                detailUpdated.setPhoneNumber(employee.getPhoneNumber());
+                detailUpdated.setDob(employee.getDob());
+                detailUpdated.setSalary(employee.getSalary());
+                detailUpdated.setEmailId(employee.getEmailId());
+                Outbox.record(session, Outbox.EMPLOYEE, employee.getId(), Outbox.UPDATE, null);
+            }
+            ConnectionFactory.commit(transaction);
+            if (null != detailUpdated) {
+                EmployeeKeyIndex.add(detailUpdated);
+            }
+        } catch (PersistenceException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
+            }
+            if (ConnectionFactory.isVersionConflict(exception)) {
+                throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil
+                        .ERROR_CODE_027), ConstantUtil.ERROR_CODE_027);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_004));
         } finally {
@@ -121,6 +334,43 @@ public class EmployeeDAOImpl implements EmployeeDAO {
         return detailUpdated;
     }
     
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public int patchEmployee(int employeeId, Map<EmployeeField, ?> changes) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getSession();
+        Transaction transaction = null;
+        int recordUpdated = 0;
+         
+        try {
+            transaction = ConnectionFactory.beginTransaction(session);
+            recordUpdated = PatchUpdate.execute(session, "Employee", employeeId, changes);
+            if (0 < recordUpdated) {
+                Outbox.record(session, Outbox.EMPLOYEE, employeeId, Outbox.UPDATE,
+                        "fields=" + changes.keySet());
+            }
+            ConnectionFactory.commit(transaction);
+            if (changes.containsKey(EmployeeField.PHONE_NUMBER)
+                    || changes.containsKey(EmployeeField.EMAIL_ID)) {
+                Employee keys = new Employee();
+
+                keys.setPhoneNumber((String) changes.get(EmployeeField.PHONE_NUMBER));
+                keys.setEmailId((String) changes.get(EmployeeField.EMAIL_ID));
+                EmployeeKeyIndex.add(keys);
+            }
+        } catch (PersistenceException | IllegalArgumentException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_004),
+                    exception);
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return recordUpdated;
+    }
+
     /** 
      * {@inheritDoc}
      */
@@ -131,15 +381,19 @@ public class EmployeeDAOImpl implements EmployeeDAO {
         int recordDeleted = 0;
       
         try {
-            Query query = null;
+            Query<?> query = null;
             
-            transaction = session.beginTransaction();
-            query = session.createQuery("DELETE FROM Employee WHERE id = :id");
+            transaction = ConnectionFactory.beginTransaction(session);
+            query = session.getNamedQuery("Employee.deleteById");
             recordDeleted = query.setParameter("id", employeeId).executeUpdate();
-            transaction.commit();
+            if (0 < recordDeleted) {
+                Outbox.record(session, Outbox.EMPLOYEE, employeeId, Outbox.DELETE, null);
+            }
+            ConnectionFactory.commit(transaction);
+            evictEmployeeGraph();
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_005)); 
         } finally {
@@ -152,25 +406,47 @@ public class EmployeeDAOImpl implements EmployeeDAO {
      * {@inheritDoc}
      */
     @Override
-    public int deleteAllEmployee() throws EmployeeManagementException { 
-        Session session = ConnectionFactory.getSession();
-        Transaction transaction = null;
-        int recordDeleted = 0;
+    public DeleteReportVO deleteAllEmployee(int chunkSize, 
+            Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException { 
+        DeleteReportVO report = null;
       
         try {
-            transaction = session.beginTransaction();
-            recordDeleted = session.createQuery("DELETE FROM Employee")
-                    .executeUpdate();
-            transaction.commit();
+            report = new ChunkedDeleter("employee")
+                    .withDependent("project_employee", "employee_id")
+                    .withDependent("address", "employee_id")
+                    .withOutbox(Outbox.EMPLOYEE)
+                    .delete(chunkSize, progressListener);
+            EmployeeKeyIndex.clear();
         } catch (HibernateException exception) {
-            if (null != transaction) { 
-                transaction.rollback();
-            }
+            EmployeeKeyIndex.invalidate();
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_006));
         } finally {
-            ConnectionFactory.close(session);  
+            evictEmployeeGraph();
         }
-        return recordDeleted;
+        return report;
+    } 
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public DeleteReportVO truncateAll() throws EmployeeManagementException { 
+        DeleteReportVO report = null;
+      
+        try {
+            report = ChunkedDeleter.truncate("project_employee", "address",
+                    "employee", "project");
+            EmployeeKeyIndex.clear();
+            Outbox.recordAlone(Outbox.EMPLOYEE, 0, Outbox.TRUNCATE);
+            Outbox.recordAlone(Outbox.PROJECT, 0, Outbox.TRUNCATE);
+        } catch (HibernateException exception) {
+            EmployeeKeyIndex.invalidate();
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_006));
+        } finally {
+            evictEmployeeGraph();
+            ConnectionFactory.evictCache(Project.class);
+        }
+        return report;
     } 
 
     /** 
@@ -178,23 +454,23 @@ public class EmployeeDAOImpl implements EmployeeDAO {
      */
     @Override
     public Employee fetchEmployeeByPhoneNumber(String phoneNumber) throws EmployeeManagementException {
-        Session session = ConnectionFactory.getSession();
+        Session session = null;
         Transaction transaction = null;
         Employee employee = null;
+
+        if (!EmployeeKeyIndex.mightContainPhoneNumber(phoneNumber)) {
+            return null;
+        }
+        session = ConnectionFactory.getReadOnlySession();
       
         try {
-            Query query = null;
-            StringBuilder hqlQuery = new StringBuilder();
-            hqlQuery.append("FROM Employee WHERE phone_number = ")
-            .append(":phone_number");
-            
-            transaction = session.beginTransaction();
-            query = session.createQuery(hqlQuery.toString());
-            employee = (Employee) query.setParameter("phone_number", phoneNumber).uniqueResult();
-            transaction.commit();
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            employee = (Employee) session.getNamedQuery("Employee.fetchByPhoneNumber")
+                    .setParameter("phoneNumber", phoneNumber).uniqueResult();
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             exception.printStackTrace();
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_007));
@@ -210,28 +486,164 @@ public class EmployeeDAOImpl implements EmployeeDAO {
      */
     @Override 
     public Employee fetchEmployeeByEmailId(String emailId) throws EmployeeManagementException {
-        Session session = ConnectionFactory.getSession();
+        Session session = null;
         Transaction transaction = null;
         Employee employee = null;
+
+        if (!EmployeeKeyIndex.mightContainEmailId(emailId)) {
+            return null;
+        }
+        session = ConnectionFactory.getReadOnlySession();
       
         try {
-            Query query = null;
-            StringBuilder hqlQuery = new StringBuilder();
-            hqlQuery.append("FROM Employee WHERE email_id = ")
-            .append(":email_id");
-            
-            transaction = session.beginTransaction();
-            query = session.createQuery(hqlQuery.toString());
-            employee = (Employee) query.setParameter("email_id", emailId).uniqueResult();         
-            transaction.commit();
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            employee = (Employee) session.getNamedQuery("Employee.fetchByEmailId")
+                    .setParameter("emailId", emailId).uniqueResult();         
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_008));
         } finally {
             ConnectionFactory.close(session);  
         }
         return employee;      
-    }          
+    }
+
+    /**
+     * Fetchs a page of employees next to the cursor id. The ids of the page
+     * are read first so the subselect which loads the collections is bounded
+     * by the page instead of every row past the cursor.
+     *
+     * @param cursorId   id next to which employees are fetched
+     * @param limit      maximum number of employees to be fetched
+     * @param fetchPlan  associations to be loaded with the employees
+     * @param isForward  true to fetch employees after the cursor, false for
+     *                   employees before it
+     * @return           List<Employee> employees in ascending id order
+     */
+    private List<Employee> fetchEmployeePage(int cursorId, int limit,
+            FetchPlan fetchPlan, boolean isForward) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
+        List<Employee> employees = new ArrayList<>();
+         
+        try {
+            List<Integer> employeeIds = null;
+
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            employeeIds = session.createNamedQuery(isForward ? "Employee.fetchIdsAfter"
+                    : "Employee.fetchIdsBefore", Integer.class).setParameter("id", cursorId)
+                    .setMaxResults(limit).list();
+            if (!employeeIds.isEmpty()) {
+                employees = session.createNamedQuery("Employee.fetchByIds", Employee.class)
+                        .setParameterList("ids", employeeIds).list();
+                for (Employee employee : employees) {
+                    initialize(employee, fetchPlan);
+                }
+            }
+            ConnectionFactory.commit(transaction);
+        } catch (HibernateException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_003)); 
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return employees;
+    }
+
+    /**
+     * Opens a forward only cursor over an id range. MySQL Connector/J
+     * streams rows one at a time only when the fetch size is
+     * Integer.MIN_VALUE; other fetch sizes buffer the whole result. H2
+     * rejects a negative fetch size and reads in batches instead.
+     *
+     * @param session    stateless session owning the cursor
+     * @param queryName  named query with fromId and toId parameters
+     * @param fromId     lowest id of the range
+     * @param toId       highest id of the range
+     * @return           ScrollableResults open cursor
+     */
+    private ScrollableResults scroll(StatelessSession session, String queryName,
+            int fromId, int toId) {
+        return session.getNamedQuery(queryName).setParameter("fromId", fromId)
+                .setParameter("toId", toId)
+                .setFetchSize(SessionFactoryLifecycle.isEmbeddedProfile()
+                        ? ConstantUtil.BATCH_SIZE : Integer.MIN_VALUE)
+                .setReadOnly(true).scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private Object[] nextRow(ScrollableResults rows) {
+        return rows.next() ? rows.get() : null;
+    }
+
+    private void close(ScrollableResults rows) {
+        if (null != rows) {
+            rows.close();
+        }
+    }
+
+    private Employee toEmployee(Object[] row) {
+        Employee employee = new Employee();
+
+        employee.setId((Integer) row[0]);
+        employee.setName((String) row[1]);
+        employee.setPhoneNumber((String) row[2]);
+        employee.setDob((Date) row[3]);
+        employee.setSalary((Float) row[4]);
+        employee.setEmailId((String) row[5]);
+        return employee;
+    }
+
+    private Address toAddress(Object[] row, Employee employee) {
+        Address address = new Address();
+
+        address.setId((Integer) row[1]);
+        address.setDoorNumber((String) row[2]);
+        address.setStreet((String) row[3]);
+        address.setDistrict((String) row[4]);
+        address.setState((String) row[5]);
+        address.setCountry((String) row[6]);
+        address.setPincode((Integer) row[7]);
+        address.setEmployee(employee);
+        return address;
+    }
+
+    private Project toProject(Object[] row) {
+        Project project = new Project();
+
+        project.setId((Integer) row[1]);
+        project.setName((String) row[2]);
+        return project;
+    }
+
+    /**
+     * Loads the collections named by the fetch plan while the session is
+     * open. With subselect fetching the first employee of a list loads the
+     * collection of every employee in the list.
+     *
+     * @param employee   employee whose collections are to be loaded
+     * @param fetchPlan  collections to be loaded
+     */
+    private void initialize(Employee employee, FetchPlan fetchPlan) {
+        if (fetchPlan.isAddressesIncluded()) {
+            Hibernate.initialize(employee.getAddresses());
+        }
+        if (fetchPlan.isProjectsIncluded()) {
+            Hibernate.initialize(employee.getProjects());
+        }
+    }
+
+    /**
+     * Clears cached employees and every collection which may still refer to
+     * employees removed by a bulk delete.
+     */
+    private void evictEmployeeGraph() {
+        ConnectionFactory.evictCache(Employee.class, ConstantUtil.EMPLOYEE_ADDRESSES,
+                ConstantUtil.EMPLOYEE_PROJECTS, ConstantUtil.PROJECT_EMPLOYEES);
+        ConnectionFactory.evictCache(Address.class);
+    }
 }
@@ -0,0 +1,227 @@
+package com.proj.employeemanagement.dao.impl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.connection.UnitOfWork;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.util.BloomFilter;
+
+/**
+ * In-memory index of the phone numbers and email ids of all employees, one
+ * Bloom filter for each. A key the filter has never seen is surely free, so
+ * most checks for a new key never reach the database; a key the filter may
+ * have seen is looked up in the database by the caller. The filters take a
+ * fixed number of bits per employee, whatever the length of the keys.
+ *
+ * Keys of updated or deleted employees stay in the filters until the next
+ * rebuild and only cost an extra database lookup. Each new key counts
+ * towards the capacity of the filters, which are rebuilt from the database
+ * once it is used up. The index is loaded from the primary and knows only
+ * the keys written through this process since, so the unique constraints of
+ * the database remain the final guard against keys written elsewhere.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class EmployeeKeyIndex {
+
+    private static final int MINIMUM_CAPACITY = 10000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final ReadWriteLock LOCK = new ReentrantReadWriteLock();
+    private static final AtomicInteger KEY_COUNT = new AtomicInteger();
+    private static volatile BloomFilter phoneNumbers;
+    private static volatile BloomFilter emailIds;
+
+    private EmployeeKeyIndex() {
+    }
+
+    /**
+     * Loads the phone numbers and email ids of all employees into fresh
+     * filters.
+     *
+     * @throws HibernateException  if the keys could not be read
+     */
+    public static void warmUp() {
+        LOCK.writeLock().lock();
+        try {
+            load();
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the filters. Must be called with the write lock held.
+     */
+    private static void load() {
+        long startTime = System.currentTimeMillis();
+        List<Object[]> keys = fetchKeys();
+        int capacity = Math.max(MINIMUM_CAPACITY, keys.size() * 2);
+        BloomFilter loadedPhoneNumbers = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        BloomFilter loadedEmailIds = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+
+        for (Object[] key : keys) {
+            addKey(loadedPhoneNumbers, (String) key[0]);
+            addKey(loadedEmailIds, (String) key[1]);
+        }
+        KEY_COUNT.set(keys.size());
+        phoneNumbers = loadedPhoneNumbers;
+        emailIds = loadedEmailIds;
+        EmployeeManagementLogger.LOGGER.info("Employee key index loaded "
+                + keys.size() + " employees in "
+                + (System.currentTimeMillis() - startTime) + " ms");
+    }
+
+    /**
+     * Checks whether an employee may already have the phone number.
+     *
+     * @param phoneNumber  phone number to be checked
+     * @return             boolean false if no employee known to the index has
+     *                     the phone number, true if the database must be asked
+     */
+    public static boolean mightContainPhoneNumber(String phoneNumber) {
+        return (null == phoneNumber) || mightContain(true, phoneNumber);
+    }
+
+    /**
+     * Checks whether an employee may already have the email id.
+     *
+     * @param emailId  email id to be checked
+     * @return         boolean false if no employee known to the index has the
+     *                 email id, true if the database must be asked
+     */
+    public static boolean mightContainEmailId(String emailId) {
+        return (null == emailId) || mightContain(false, emailId);
+    }
+
+    /**
+     * Records the keys of a created or updated employee once the change is
+     * committed. Inside a unit of work the keys are recorded when the unit
+     * commits and never if it rolls back.
+     *
+     * @param employee  employee whose keys are to be recorded
+     */
+    public static void add(Employee employee) {
+        String phoneNumber = employee.getPhoneNumber();
+        String emailId = employee.getEmailId();
+
+        UnitOfWork.afterCommit(() -> addKeys(phoneNumber, emailId));
+    }
+
+    /**
+     * Empties the index after every employee was deleted, once the delete
+     * is committed.
+     */
+    public static void clear() {
+        UnitOfWork.afterCommit(() -> {
+            LOCK.writeLock().lock();
+            try {
+                KEY_COUNT.set(0);
+                phoneNumbers = new BloomFilter(MINIMUM_CAPACITY, FALSE_POSITIVE_RATE);
+                emailIds = new BloomFilter(MINIMUM_CAPACITY, FALSE_POSITIVE_RATE);
+            } finally {
+                LOCK.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Drops the index so it is rebuilt from the database on next use.
+     */
+    public static void invalidate() {
+        LOCK.writeLock().lock();
+        try {
+            phoneNumbers = null;
+            emailIds = null;
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the keys to the filters. Only an employee bringing a key the
+     * filters have not seen counts towards their capacity, so updates which
+     * keep the keys never force a rebuild.
+     */
+    private static void addKeys(String phoneNumber, String emailId) {
+        boolean isFull = false;
+
+        LOCK.readLock().lock();
+        try {
+            BloomFilter currentPhoneNumbers = phoneNumbers;
+            BloomFilter currentEmailIds = emailIds;
+
+            if (null != currentPhoneNumbers) {
+                boolean isNewKey = addKey(currentPhoneNumbers, phoneNumber);
+
+                isNewKey |= addKey(currentEmailIds, emailId);
+                isFull = isNewKey && (KEY_COUNT.incrementAndGet()
+                        > currentPhoneNumbers.getExpectedInsertions());
+            }
+        } finally {
+            LOCK.readLock().unlock();
+        }
+        if (isFull) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Checks a key against its filter, loading the filters first if needed.
+     * Only the first of the threads finding the index missing loads it, the
+     * others wait for it. Reports a possible match when the index cannot be
+     * loaded so the caller falls back to the database.
+     */
+    private static boolean mightContain(boolean isPhoneNumber, String key) {
+        if (null == phoneNumbers) {
+            LOCK.writeLock().lock();
+            try {
+                if (null == phoneNumbers) {
+                    load();
+                }
+            } catch (HibernateException exception) {
+                EmployeeManagementLogger.LOGGER.error("Employee key index could"
+                        + " not be loaded", exception);
+                return true;
+            } finally {
+                LOCK.writeLock().unlock();
+            }
+        }
+
+        LOCK.readLock().lock();
+        try {
+            BloomFilter filter = isPhoneNumber ? phoneNumbers : emailIds;
+
+            return (null == filter) || filter.mightContain(key);
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the keys from the primary, as a replica may not have caught up
+     * with the latest employees.
+     */
+    private static List<Object[]> fetchKeys() {
+        Session session = ConnectionFactory.getSession();
+
+        try {
+            return session.createNamedQuery("Employee.fetchKeys", Object[].class).list();
+        } finally {
+            ConnectionFactory.close(session);
+        }
+    }
+
+    private static boolean addKey(BloomFilter filter, String key) {
+        return (null != key) && filter.add(key);
+    }
+}
@@ -0,0 +1,157 @@
+package com.proj.employeemanagement.dao.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.util.ConstantUtil;
+
+/**
+ * Records change events of employees and projects in the outbox table. An
+ * event is written on the session of the change, so it commits or rolls
+ * back with the change itself and a relay can publish it later. Enabled
+ * with -Demployeemanagement.outbox=true.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class Outbox {
+
+    public static final String ENABLED = "employeemanagement.outbox";
+
+    public static final String EMPLOYEE = "Employee";
+    public static final String PROJECT = "Project";
+
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+    public static final String ASSIGN = "ASSIGN";
+    public static final String UNASSIGN = "UNASSIGN";
+    public static final String TRUNCATE = "TRUNCATE";
+
+    private static final String INSERT_EVENT = "INSERT INTO outbox_event"
+            + " (entity, entity_id, operation, details) VALUES (?, ?, ?, ?)";
+    private static final int MAX_DETAILS_LENGTH = 1000;
+
+    private Outbox() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED);
+    }
+
+    /**
+     * Records an event for one entity within the transaction of the session.
+     *
+     * @param session    session of the change
+     * @param entity     EMPLOYEE or PROJECT
+     * @param entityId   id of the changed entity
+     * @param operation  kind of the change
+     * @param details    what was changed, may be null
+     * @throws HibernateException  if the event could not be written
+     */
+    public static void record(Session session, String entity, int entityId,
+            String operation, String details) {
+        record(session, entity, Collections.singletonList(entityId), operation, details);
+    }
+
+    /**
+     * Records an event for every one of the entities within the transaction
+     * of the session, as a JDBC batch.
+     *
+     * @param session    session of the change
+     * @param entity     EMPLOYEE or PROJECT
+     * @param entityIds  ids of the changed entities
+     * @param operation  kind of the change
+     * @param details    what was changed, may be null
+     * @throws HibernateException  if the events could not be written
+     */
+    public static void record(Session session, String entity, Collection<Integer> entityIds,
+            String operation, String details) {
+        if (!isEnabled() || entityIds.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            int rowCount = 0;
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_EVENT)) {
+                for (Integer entityId : entityIds) {
+                    statement.setString(1, entity);
+                    statement.setInt(2, entityId);
+                    statement.setString(3, operation);
+                    if (null == details) {
+                        statement.setNull(4, Types.VARCHAR);
+                    } else {
+                        statement.setString(4, (MAX_DETAILS_LENGTH < details.length())
+                                ? details.substring(0, MAX_DETAILS_LENGTH) : details);
+                    }
+                    statement.addBatch();
+                    if (0 == ++rowCount % ConstantUtil.BATCH_SIZE) {
+                        statement.executeBatch();
+                    }
+                }
+                if (0 != rowCount % ConstantUtil.BATCH_SIZE) {
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+
+    /**
+     * Records an event in a transaction of its own, for changes which commit
+     * by themselves such as TRUNCATE.
+     *
+     * @param entity     EMPLOYEE or PROJECT
+     * @param entityId   id of the changed entity, 0 for the whole table
+     * @param operation  kind of the change
+     * @throws HibernateException  if the event could not be written
+     */
+    public static void recordAlone(String entity, int entityId, String operation) {
+        Session session = null;
+        Transaction transaction = null;
+
+        if (!isEnabled()) {
+            return;
+        }
+        session = ConnectionFactory.getSession();
+
+        try {
+            transaction = ConnectionFactory.beginTransaction(session);
+            record(session, entity, entityId, operation, null);
+            ConnectionFactory.commit(transaction);
+        } catch (HibernateException exception) {
+            if (null != transaction) {
+                ConnectionFactory.rollback(transaction);
+            }
+            throw exception;
+        } finally {
+            ConnectionFactory.close(session);
+        }
+    }
+
+    /**
+     * Joins the ids for the details of an event.
+     *
+     * @param prefix  name of the ids
+     * @param ids     ids to be joined
+     * @return        String prefix=id,id,...
+     */
+    public static String joinIds(String prefix, Collection<Integer> ids) {
+        StringBuilder stringBuilder = new StringBuilder(prefix).append('=');
+
+        for (Integer id : ids) {
+            if ('=' != stringBuilder.charAt(stringBuilder.length() - 1)) {
+                stringBuilder.append(',');
+            }
+            stringBuilder.append(id);
+        }
+        return stringBuilder.toString();
+    }
+}
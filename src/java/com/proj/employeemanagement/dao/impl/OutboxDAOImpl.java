@@ -0,0 +1,76 @@
+package com.proj.employeemanagement.dao.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.dao.OutboxDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.model.OutboxEventVO;
+import com.proj.employeemanagement.outbox.OutboxSink;
+import com.proj.employeemanagement.util.ConstantUtil;
+
+/**
+ * Implements the outbox DAO with the named native queries of the outbox
+ * mapping. The events are read with a locking read and deleted by id after
+ * the sink has taken them. If the commit fails after that, the events are
+ * published again by the next relay.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class OutboxDAOImpl implements OutboxDAO {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int relayEvents(int limit, OutboxSink sink) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getSession();
+        Transaction transaction = null;
+        List<OutboxEventVO> events = new ArrayList<>();
+
+        try {
+            List<Long> eventIds = new ArrayList<>();
+
+            transaction = ConnectionFactory.beginTransaction(session);
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = session.getNamedQuery("OutboxEvent.fetchOldest")
+                    .setParameter("limit", limit)
+                    .list();
+            for (Object[] row : rows) {
+                OutboxEventVO event = new OutboxEventVO(((Number) row[0]).longValue(),
+                        (String) row[1], ((Number) row[2]).intValue(), (String) row[3],
+                        (String) row[4], (Date) row[5]);
+
+                events.add(event);
+                eventIds.add(event.getId());
+            }
+            if (!events.isEmpty()) {
+                sink.publish(events);
+                session.getNamedQuery("OutboxEvent.deleteByIds")
+                        .setParameterList("ids", eventIds)
+                        .executeUpdate();
+            }
+            ConnectionFactory.commit(transaction);
+        } catch (HibernateException | IOException exception) {
+            if (null != transaction) {
+                ConnectionFactory.rollback(transaction);
+            }
+            EmployeeManagementLogger.LOGGER.error("Relay of " + events.size()
+                    + " outbox events failed", exception);
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_031));
+        } finally {
+            ConnectionFactory.close(session);
+        }
+        return events.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.proj.employeemanagement.dao.impl;
+
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import com.proj.employeemanagement.util.PatchField;
+
+/**
+ * Builds and runs an HQL UPDATE which sets only the patched columns of one
+ * row. The entity is neither loaded nor rewritten and its collections are
+ * left untouched. The update is versioned, so the version column is
+ * incremented and concurrent editors of the row see the change. Hibernate
+ * invalidates the cached entries of the entity after the bulk update.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class PatchUpdate {
+
+    private PatchUpdate() {
+    }
+
+    /**
+     * Updates the patched columns of a row inside the current transaction.
+     *
+     * @param session     session with an active transaction
+     * @param entityName  mapped entity to be updated
+     * @param id          id of the row to be updated
+     * @param changes     new value of every patched field
+     * @return            int number of rows updated, 0 if the row does not
+     *                    exist or there is nothing to update
+     * @throws IllegalArgumentException  if a value does not fit its field
+     */
+    public static int execute(Session session, String entityName, int id,
+            Map<? extends PatchField, ?> changes) {
+        StringBuilder hqlQuery = new StringBuilder();
+        Query<?> query = null;
+        boolean isFirst = true;
+
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        hqlQuery.append("UPDATE VERSIONED ").append(entityName).append(" entity SET ");
+        for (PatchField field : changes.keySet()) {
+            Object value = changes.get(field);
+
+            if (null != value && !field.getValueType().isInstance(value)) {
+                throw new IllegalArgumentException(field + " expects "
+                        + field.getValueType().getSimpleName());
+            }
+            hqlQuery.append(isFirst ? "entity." : ", entity.")
+                    .append(field.getPropertyName()).append(" = :")
+                    .append(field.getPropertyName());
+            isFirst = false;
+        }
+        hqlQuery.append(" WHERE entity.id = :id");
+
+        query = session.createQuery(hqlQuery.toString());
+        for (Map.Entry<? extends PatchField, ?> change : changes.entrySet()) {
+            query.setParameter(change.getKey().getPropertyName(), change.getValue());
+        }
+        query.setParameter("id", id);
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,331 @@
+package com.proj.employeemanagement.dao.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.dao.ProjectAssignmentDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.model.AssignmentReportVO;
+import com.proj.employeemanagement.util.ConstantUtil;
+
+/**
+ * Implements the project assignment DAO with batched JDBC statements on the
+ * join table, one row per changed pair. Only the cached collections of the
+ * employees and projects in the changed pairs are evicted. The changes are
+ * recorded in the outbox from the side of the employee or project changed.
+ *
+ * Both sides of the join table own it, so the version of every employee and
+ * project whose assignments change is advanced in the same transaction. A
+ * full update prepared before the assignment then fails on its version
+ * check instead of being applied over it.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ProjectAssignmentDAOImpl implements ProjectAssignmentDAO {
+
+    private static final String INSERT_ASSIGNMENT = "INSERT INTO project_employee"
+            + " (employee_id, project_id) VALUES (?, ?)";
+    private static final String DELETE_ASSIGNMENT = "DELETE FROM project_employee"
+            + " WHERE employee_id = ? AND project_id = ?";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int assignProjects(int employeeId, Collection<Integer> projectIds) throws EmployeeManagementException {
+        return executeForPairs(INSERT_ASSIGNMENT, employeeId, projectIds, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deAssignProjects(int employeeId, Collection<Integer> projectIds) throws EmployeeManagementException {
+        return executeForPairs(DELETE_ASSIGNMENT, employeeId, projectIds, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int assignEmployees(int projectId, Collection<Integer> employeeIds) throws EmployeeManagementException {
+        return executeForPairs(INSERT_ASSIGNMENT, projectId, employeeIds, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deAssignEmployees(int projectId, Collection<Integer> employeeIds) throws EmployeeManagementException {
+        return executeForPairs(DELETE_ASSIGNMENT, projectId, employeeIds, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AssignmentReportVO assignEmployeesToProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException {
+        return executeForSets(employeeIds, projectIds, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AssignmentReportVO unassignEmployeesFromProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException {
+        return executeForSets(employeeIds, projectIds, false);
+    }
+
+    /**
+     * Validates both id sets with one query and assigns or deassigns every
+     * pair of the existing ids within one transaction. When any pair
+     * changes, the versions of all the existing employees and projects are
+     * advanced.
+     *
+     * @param employeeIds  ids of the employees
+     * @param projectIds   ids of the projects
+     * @param isAssign     true to assign the pairs, false to deassign them
+     * @return             AssignmentReportVO missing ids and pairs changed
+     */
+    private AssignmentReportVO executeForSets(Set<Integer> employeeIds, 
+            Set<Integer> projectIds, boolean isAssign) throws EmployeeManagementException {
+        long startTime = System.currentTimeMillis();
+        AssignmentReportVO report = new AssignmentReportVO();
+        Set<Integer> foundEmployeeIds = new LinkedHashSet<>();
+        Set<Integer> foundProjectIds = new LinkedHashSet<>();
+        Session session = null;
+        Transaction transaction = null;
+
+        report.getMissingEmployeeIds().addAll(employeeIds);
+        report.getMissingProjectIds().addAll(projectIds);
+        if (employeeIds.isEmpty() || projectIds.isEmpty()) {
+            return report;
+        }
+        session = ConnectionFactory.getSession();
+
+        try {
+            transaction = ConnectionFactory.beginTransaction(session);
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = session.getNamedQuery("ProjectEmployee.fetchExistingIds")
+                    .setParameterList("employeeIds", employeeIds)
+                    .setParameterList("projectIds", projectIds)
+                    .list();
+            for (Object[] row : rows) {
+                (("E".equals(String.valueOf(row[0]))) ? foundEmployeeIds : foundProjectIds)
+                        .add(((Number) row[1]).intValue());
+            }
+
+            if (!foundEmployeeIds.isEmpty() && !foundProjectIds.isEmpty()) {
+                if (isAssign) {
+                    insertNewPairs(session, foundEmployeeIds, foundProjectIds, report);
+                } else {
+                    report.setChangedPairs(session.getNamedQuery("ProjectEmployee.deletePairs")
+                            .setParameterList("employeeIds", foundEmployeeIds)
+                            .setParameterList("projectIds", foundProjectIds)
+                            .executeUpdate());
+                }
+            }
+            if (0 < report.getChangedPairs()) {
+                advanceVersions(session, foundEmployeeIds, foundProjectIds);
+                Outbox.record(session, Outbox.EMPLOYEE, foundEmployeeIds,
+                        isAssign ? Outbox.ASSIGN : Outbox.UNASSIGN,
+                        Outbox.joinIds("projects", foundProjectIds));
+            }
+            ConnectionFactory.commit(transaction);
+            for (Integer employeeId : foundEmployeeIds) {
+                ConnectionFactory.evictCollection(ConstantUtil.EMPLOYEE_PROJECTS, employeeId);
+            }
+            for (Integer projectId : foundProjectIds) {
+                ConnectionFactory.evictCollection(ConstantUtil.PROJECT_EMPLOYEES, projectId);
+            }
+        } catch (HibernateException exception) {
+            if (null != transaction) {
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_026));
+        } finally {
+            ConnectionFactory.close(session);
+        }
+        report.getMissingEmployeeIds().removeAll(foundEmployeeIds);
+        report.getMissingProjectIds().removeAll(foundProjectIds);
+        report.setElapsedMillis(System.currentTimeMillis() - startTime);
+        EmployeeManagementLogger.LOGGER.info((isAssign ? "Bulk assignment" 
+                : "Bulk deassignment") + " finished\n" + report);
+        return report;
+    }
+
+    /**
+     * Inserts every pair of the ids which is not yet assigned with batched
+     * JDBC statements. The assigned pairs are read with a single query first.
+     */
+    private void insertNewPairs(Session session, Set<Integer> employeeIds,
+            Set<Integer> projectIds, AssignmentReportVO report) {
+        Set<Long> assignedPairs = new HashSet<>();
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = session.getNamedQuery("ProjectEmployee.fetchPairs")
+                .setParameterList("employeeIds", employeeIds)
+                .setParameterList("projectIds", projectIds)
+                .list();
+
+        for (Object[] row : rows) {
+            assignedPairs.add(toPairKey(((Number) row[0]).intValue(), 
+                    ((Number) row[1]).intValue()));
+        }
+        report.setSkippedPairs(assignedPairs.size());
+        report.setChangedPairs(session.doReturningWork(connection -> {
+            int rowCount = 0;
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ASSIGNMENT)) {
+                for (Integer employeeId : employeeIds) {
+                    for (Integer projectId : projectIds) {
+                        if (!assignedPairs.contains(toPairKey(employeeId, projectId))) {
+                            statement.setInt(1, employeeId);
+                            statement.setInt(2, projectId);
+                            statement.addBatch();
+                            if (0 == ++rowCount % ConstantUtil.BATCH_SIZE) {
+                                statement.executeBatch();
+                            }
+                        }
+                    }
+                }
+                if (0 != rowCount % ConstantUtil.BATCH_SIZE) {
+                    statement.executeBatch();
+                }
+            }
+            return rowCount;
+        }));
+    }
+
+    private long toPairKey(int employeeId, int projectId) {
+        return ((long) employeeId << 32) | (projectId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Runs an insert or delete statement once for every pair of the owner
+     * with one of the other ids, as a single JDBC batch in one transaction.
+     * Before an insert the pairs already stored are read within the same
+     * transaction and left out, so a pair assigned concurrently does not
+     * fail the batch on the primary key. The versions of the owner and of
+     * the other side of every changed pair are advanced.
+     *
+     * @param sql              statement taking employee id and project id
+     * @param ownerId          id of the employee or project owning the change
+     * @param otherIds         ids on the other side of the pairs
+     * @param isOwnerEmployee  true if the owner is an employee
+     * @return                 int number of rows changed
+     */
+    private int executeForPairs(String sql, int ownerId, Collection<Integer> otherIds,
+            boolean isOwnerEmployee) throws EmployeeManagementException {
+        Session session = null;
+        Transaction transaction = null;
+        Set<Integer> changedIds = new LinkedHashSet<>();
+        int rowsChanged = 0;
+
+        if (otherIds.isEmpty()) {
+            return 0;
+        }
+        session = ConnectionFactory.getSession();
+
+        try {
+            Set<Integer> pairIds = new LinkedHashSet<>(otherIds);
+
+            transaction = ConnectionFactory.beginTransaction(session);
+            if (INSERT_ASSIGNMENT.equals(sql)) {
+                Collection<Integer> ownerIds = Collections.singleton(ownerId);
+                @SuppressWarnings("unchecked")
+                List<Object[]> rows = session.getNamedQuery("ProjectEmployee.fetchPairs")
+                        .setParameterList("employeeIds", isOwnerEmployee ? ownerIds : otherIds)
+                        .setParameterList("projectIds", isOwnerEmployee ? otherIds : ownerIds)
+                        .list();
+
+                for (Object[] row : rows) {
+                    pairIds.remove(((Number) row[isOwnerEmployee ? 1 : 0]).intValue());
+                }
+            }
+            rowsChanged = pairIds.isEmpty() ? 0 : session.doReturningWork(connection -> {
+                int rowCount = 0;
+
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (Integer otherId : pairIds) {
+                        statement.setInt(1, isOwnerEmployee ? ownerId : otherId);
+                        statement.setInt(2, isOwnerEmployee ? otherId : ownerId);
+                        statement.addBatch();
+                    }
+                    int[] updateCounts = statement.executeBatch();
+                    int pairIndex = 0;
+
+                    for (Integer otherId : pairIds) {
+                        int updateCount = updateCounts[pairIndex++];
+
+                        if (0 != updateCount) {
+                            rowCount += (Statement.SUCCESS_NO_INFO == updateCount) ? 1 : updateCount;
+                            changedIds.add(otherId);
+                        }
+                    }
+                }
+                return rowCount;
+            });
+            if (0 < rowsChanged) {
+                Set<Integer> ownerIds = Collections.singleton(ownerId);
+
+                advanceVersions(session, isOwnerEmployee ? ownerIds : changedIds,
+                        isOwnerEmployee ? changedIds : ownerIds);
+                Outbox.record(session, isOwnerEmployee ? Outbox.EMPLOYEE : Outbox.PROJECT, ownerId,
+                        INSERT_ASSIGNMENT.equals(sql) ? Outbox.ASSIGN : Outbox.UNASSIGN,
+                        Outbox.joinIds(isOwnerEmployee ? "projects" : "employees", changedIds));
+            }
+            ConnectionFactory.commit(transaction);
+            evictAssignments(ownerId, otherIds, isOwnerEmployee);
+        } catch (HibernateException exception) {
+            if (null != transaction) {
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_026));
+        } finally {
+            ConnectionFactory.close(session);
+        }
+        return rowsChanged;
+    }
+
+    /**
+     * Advances the versions of the employees and projects whose assignments
+     * changed in the current transaction.
+     */
+    private void advanceVersions(Session session, Collection<Integer> employeeIds,
+            Collection<Integer> projectIds) {
+        if (!employeeIds.isEmpty()) {
+            session.getNamedQuery("Employee.advanceVersions")
+                    .setParameterList("ids", employeeIds).executeUpdate();
+        }
+        if (!projectIds.isEmpty()) {
+            session.getNamedQuery("Project.advanceVersions")
+                    .setParameterList("ids", projectIds).executeUpdate();
+        }
+    }
+
+    private void evictAssignments(int ownerId, Collection<Integer> otherIds,
+            boolean isOwnerEmployee) {
+        ConnectionFactory.evictCollection(isOwnerEmployee ? ConstantUtil.EMPLOYEE_PROJECTS
+                : ConstantUtil.PROJECT_EMPLOYEES, ownerId);
+        for (Integer otherId : otherIds) {
+            ConnectionFactory.evictCollection(isOwnerEmployee ? ConstantUtil.PROJECT_EMPLOYEES
+                    : ConstantUtil.EMPLOYEE_PROJECTS, otherId);
+        }
+    }
+}
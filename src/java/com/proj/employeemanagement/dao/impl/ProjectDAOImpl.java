@@ -1,17 +1,27 @@
 package com.proj.employeemanagement.dao.impl;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.connection.ConnectionFactory;
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.IdNameVO;
 import com.proj.employeemanagement.persistence.Project;
 import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.FetchPlan;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PersistenceException;
+import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
-import org.hibernate.Query;
+import org.hibernate.query.Query;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
 import com.proj.employeemanagement.dao.ProjectDAO;
+import com.proj.employeemanagement.util.ProjectField;
 
 /**
  * Implements application to insert, fetch, update, delete and validate record
@@ -33,12 +43,13 @@ public class ProjectDAOImpl implements ProjectDAO {
         Integer projectId = null;
       
         try {
-            transaction = session.beginTransaction();
+            transaction = ConnectionFactory.beginTransaction(session);
             projectId = (Integer) session.save(project); 
-            transaction.commit();
+            Outbox.record(session, Outbox.PROJECT, projectId, Outbox.CREATE, null);
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_015));
         } finally {
@@ -51,18 +62,56 @@ public class ProjectDAOImpl implements ProjectDAO {
      * {@inheritDoc}
      */
     @Override     
-    public Project fetchProjectById(int projectId) throws EmployeeManagementException {
+    public List<Integer> saveProjects(List<Project> projects) throws EmployeeManagementException {
         Session session = ConnectionFactory.getSession();
         Transaction transaction = null;
+        List<Integer> projectIds = new ArrayList<>();
+      
+        try {
+            int rowCount = 0;
+
+            session.setJdbcBatchSize(ConstantUtil.BATCH_SIZE);
+            transaction = ConnectionFactory.beginTransaction(session);
+            for (Project project : projects) {
+                projectIds.add((Integer) session.save(project));
+                
+                if (0 == ++rowCount % ConstantUtil.BATCH_SIZE) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            Outbox.record(session, Outbox.PROJECT, projectIds, Outbox.CREATE, null);
+            ConnectionFactory.commit(transaction);
+        } catch (PersistenceException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_023));
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return projectIds;
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override     
+    public Project fetchProjectById(int projectId, FetchPlan fetchPlan) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
         Project project = null;
       
         try {
-            transaction = session.beginTransaction();
-            project = (Project) session.get(Project.class, projectId);  
-            transaction.commit();
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            project = session.get(Project.class, projectId);  
+            if (null != project && fetchPlan.isEmployeesIncluded()) {
+                Hibernate.initialize(project.getEmployees());
+            }
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_016));
         } finally {
@@ -75,18 +124,23 @@ public class ProjectDAOImpl implements ProjectDAO {
      * {@inheritDoc}
      */
     @Override
-    public List<Project> fetchAllProject() throws EmployeeManagementException { 
-        Session session = ConnectionFactory.getSession();
+    public List<Project> fetchAllProject(FetchPlan fetchPlan) throws EmployeeManagementException { 
+        Session session = ConnectionFactory.getReadOnlySession();
         Transaction transaction = null;
         List<Project> projects = null;
          
         try {
-            transaction = session.beginTransaction();
-            projects = session.createQuery("FROM Project").list(); 
-            transaction.commit();
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            projects = session.createNamedQuery("Project.fetchAll", Project.class).list(); 
+            if (fetchPlan.isEmployeesIncluded()) {
+                for (Project project : projects) {
+                    Hibernate.initialize(project.getEmployees());
+                }
+            }
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_017));
         } finally {
@@ -95,6 +149,46 @@ public class ProjectDAOImpl implements ProjectDAO {
         return projects;
     }
 
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<IdNameVO> fetchProjectNames() throws EmployeeManagementException { 
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
+        List<IdNameVO> names = null;
+         
+        try {
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            names = session.createNamedQuery("Project.fetchNames", IdNameVO.class).list(); 
+            ConnectionFactory.commit(transaction);
+        } catch (HibernateException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_017)); 
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return names;
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Project> fetchProjectsAfter(int lastId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException { 
+        return fetchProjectPage(lastId, limit, fetchPlan, true);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Project> fetchProjectsBefore(int firstId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException { 
+        return fetchProjectPage(firstId, limit, fetchPlan, false);
+    }
+
     /** 
      * {@inheritDoc}
      */
@@ -105,13 +199,26 @@ public class ProjectDAOImpl implements ProjectDAO {
         Project detailUpdated = null;
          
         try {
-            transaction = session.beginTransaction();
-            session.saveOrUpdate(project);
-            detailUpdated = project;
-            transaction.commit();
-        } catch (HibernateException exception) {
+            transaction = ConnectionFactory.beginTransaction(session);
+            detailUpdated = session.get(Project.class, project.getId());
+            if (null != detailUpdated) {
+                if (detailUpdated.getVersion() != project.getVersion()) {
+                    throw new OptimisticLockException();
+                }
+                detailUpdated.setName(project.getName());
+                detailUpdated.setDomain(project.getDomain());
+                detailUpdated.setStartDate(project.getStartDate());
+                detailUpdated.setManagerName(project.getManagerName());
+                Outbox.record(session, Outbox.PROJECT, project.getId(), Outbox.UPDATE, null);
+            }
+            ConnectionFactory.commit(transaction);
+        } catch (PersistenceException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
+            }
+            if (ConnectionFactory.isVersionConflict(exception)) {
+                throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil
+                        .ERROR_CODE_027), ConstantUtil.ERROR_CODE_027);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_018));
         } finally {
@@ -120,6 +227,35 @@ public class ProjectDAOImpl implements ProjectDAO {
         return detailUpdated;
     }
     
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public int patchProject(int projectId, Map<ProjectField, ?> changes) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getSession();
+        Transaction transaction = null;
+        int recordUpdated = 0;
+         
+        try {
+            transaction = ConnectionFactory.beginTransaction(session);
+            recordUpdated = PatchUpdate.execute(session, "Project", projectId, changes);
+            if (0 < recordUpdated) {
+                Outbox.record(session, Outbox.PROJECT, projectId, Outbox.UPDATE,
+                        "fields=" + changes.keySet());
+            }
+            ConnectionFactory.commit(transaction);
+        } catch (HibernateException | IllegalArgumentException exception) {
+            if (null != transaction) { 
+                ConnectionFactory.rollback(transaction);
+            }
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_018),
+                    exception);
+        } finally {
+            ConnectionFactory.close(session); 
+        }
+        return recordUpdated;
+    }
+
     /** 
      * {@inheritDoc}
      */
@@ -130,15 +266,20 @@ public class ProjectDAOImpl implements ProjectDAO {
         int recordDeleted = 0;
       
         try {
-            Query query = null;
+            Query<?> query = null;
             
-            transaction = session.beginTransaction();
-            query = session.createQuery("DELETE FROM Project WHERE id = :id");
+            transaction = ConnectionFactory.beginTransaction(session);
+            query = session.getNamedQuery("Project.deleteById");
             recordDeleted = query.setParameter("id", projectId).executeUpdate();
-            transaction.commit();
+            if (0 < recordDeleted) {
+                Outbox.record(session, Outbox.PROJECT, projectId, Outbox.DELETE, null);
+            }
+            ConnectionFactory.commit(transaction);
+            ConnectionFactory.evictCache(Project.class, ConstantUtil.PROJECT_EMPLOYEES,
+                    ConstantUtil.EMPLOYEE_PROJECTS);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
             throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_019));
         } finally {
@@ -151,24 +292,67 @@ public class ProjectDAOImpl implements ProjectDAO {
      * {@inheritDoc}
      */
     @Override
-    public int deleteAllProject() throws EmployeeManagementException { 
-        Session session = ConnectionFactory.getSession();
-        Transaction transaction = null;
-        int recordDeleted = 0;
+    public DeleteReportVO deleteAllProject(int chunkSize, 
+            Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException { 
+        DeleteReportVO report = null;
       
         try {
-            transaction = session.beginTransaction();
-            recordDeleted = session.createQuery("DELETE FROM Project")
-                    .executeUpdate();
-            transaction.commit();
+            report = new ChunkedDeleter("project")
+                    .withDependent("project_employee", "project_id")
+                    .withOutbox(Outbox.PROJECT)
+                    .delete(chunkSize, progressListener);
+        } catch (HibernateException exception) {
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_020));
+        } finally {
+            ConnectionFactory.evictCache(Project.class, ConstantUtil.PROJECT_EMPLOYEES,
+                    ConstantUtil.EMPLOYEE_PROJECTS);
+        }
+        return report;
+    }
+
+    /**
+     * Fetchs a page of projects next to the cursor id. The ids of the page
+     * are read first so the subselect which loads the employees is bounded
+     * by the page instead of every row past the cursor.
+     *
+     * @param cursorId   id next to which projects are fetched
+     * @param limit      maximum number of projects to be fetched
+     * @param fetchPlan  associations to be loaded with the projects
+     * @param isForward  true to fetch projects after the cursor, false for
+     *                   projects before it
+     * @return           List<Project> projects in ascending id order
+     */
+    private List<Project> fetchProjectPage(int cursorId, int limit,
+            FetchPlan fetchPlan, boolean isForward) throws EmployeeManagementException {
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
+        List<Project> projects = new ArrayList<>();
+         
+        try {
+            List<Integer> projectIds = null;
+
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            projectIds = session.createNamedQuery(isForward ? "Project.fetchIdsAfter"
+                    : "Project.fetchIdsBefore", Integer.class).setParameter("id", cursorId)
+                    .setMaxResults(limit).list();
+            if (!projectIds.isEmpty()) {
+                projects = session.createNamedQuery("Project.fetchByIds", Project.class)
+                        .setParameterList("ids", projectIds).list();
+                if (fetchPlan.isEmployeesIncluded()) {
+                    for (Project project : projects) {
+                        Hibernate.initialize(project.getEmployees());
+                    }
+                }
+            }
+            ConnectionFactory.commit(transaction);
         } catch (HibernateException exception) {
             if (null != transaction) { 
-                transaction.rollback();
+                ConnectionFactory.rollback(transaction);
             }
-            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_020));
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_017));
         } finally {
-            ConnectionFactory.close(session);  
+            ConnectionFactory.close(session); 
         }
-        return recordDeleted;
-    }           
+        return projects;
+    }
 }
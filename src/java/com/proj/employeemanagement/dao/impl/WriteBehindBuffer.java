@@ -0,0 +1,511 @@
+package com.proj.employeemanagement.dao.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.connection.SessionFactoryLifecycle;
+import com.proj.employeemanagement.connection.UnitOfWork;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.PatchField;
+
+/**
+ * Holds patches back and writes them later, merging the patches of one id
+ * so that several edits of a row become a single UPDATE. Buffered patches
+ * are written on a timer, when the number of pending rows reaches a limit,
+ * on an explicit flush and before the session factory is shut down; each
+ * flush writes its patches in one transaction.
+ *
+ * Every patch is appended to a journal and forced to disk before it is
+ * accepted, and the journal is cut back to the pending patches after each
+ * flush. Patches left in the journal by a crash are loaded again when the
+ * buffer is created. Rows are written in the order of their first pending
+ * patch and a later patch of a field replaces an earlier one, so the last
+ * value always wins; a patch replayed after a crash may be written twice,
+ * which sets the same values again.
+ *
+ * A patch the database rejects for its values, such as a duplicate key,
+ * can never be written and is moved to a dead letter file beside the
+ * journal. A patch which fails for any other reason, such as the database
+ * being down, stays pending.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class WriteBehindBuffer<F extends Enum<F> & PatchField> {
+
+    public static final String ENABLED = "employeemanagement.writebehind";
+    public static final String INTERVAL_MILLIS = "employeemanagement.writebehind.interval_ms";
+    public static final String MAX_PENDING = "employeemanagement.writebehind.max_pending";
+    public static final String JOURNAL_DIRECTORY = "employeemanagement.writebehind.dir";
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte DATE_VALUE = 2;
+    private static final byte FLOAT_VALUE = 3;
+    private static final byte INTEGER_VALUE = 4;
+
+    /**
+     * Writes the merged patch of one row.
+     *
+     * @param <F>  fields of the patched entity
+     */
+    @FunctionalInterface
+    public interface PatchWriter<F> {
+
+        /**
+         * @param id       id of the row
+         * @param changes  new value of every patched field
+         * @return         int number of rows updated
+         */
+        public int patch(int id, Map<F, ?> changes) throws EmployeeManagementException;
+    }
+
+    private final String name;
+    private final Class<F> fieldType;
+    private final PatchWriter<F> patchWriter;
+    private final int maxPending = Integer.getInteger(MAX_PENDING, ConstantUtil.BATCH_SIZE);
+    private final Path journalPath;
+    private final Path deadLetterPath;
+    private final Object flushLock = new Object();
+    private final Map<Integer, Map<F, Object>> pendingChanges = new LinkedHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private FileChannel journal;
+    private boolean isClosed;
+
+    /**
+     * Creates the buffer, loads the patches left in its journal and starts
+     * the flush timer.
+     *
+     * @param name         name of the buffer and of its journal file
+     * @param fieldType    fields of the patched entity
+     * @param patchWriter  writes a merged patch, normally the patch method
+     *                     of the DAO being buffered
+     * @throws IllegalStateException  if the journal cannot be opened
+     */
+    public WriteBehindBuffer(String name, Class<F> fieldType, PatchWriter<F> patchWriter) {
+        long intervalMillis = Long.getLong(INTERVAL_MILLIS, 1000);
+
+        this.name = name;
+        this.fieldType = fieldType;
+        this.patchWriter = patchWriter;
+        journalPath = Paths.get(System.getProperty(JOURNAL_DIRECTORY, "journal"),
+                name + ".journal");
+        deadLetterPath = journalPath.resolveSibling(name + ".deadletter");
+        try {
+            Files.createDirectories(journalPath.toAbsolutePath().getParent());
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replay();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Write-behind journal " + journalPath
+                    + " could not be opened", exception);
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+        SessionFactoryLifecycle.runBeforeShutdown(this::close);
+    }
+
+    /**
+     * Accepts a patch once it is in the journal. After the buffer is closed
+     * the patch is written straight away.
+     *
+     * @param id       id of the row
+     * @param changes  new value of every patched field
+     * @throws IllegalArgumentException  if a value does not fit its field
+     */
+    public void add(int id, Map<F, ?> changes) throws EmployeeManagementException {
+        boolean isFull = false;
+        boolean isWriteThrough = false;
+
+        for (Map.Entry<F, ?> change : changes.entrySet()) {
+            if (null != change.getValue()
+                    && !change.getKey().getValueType().isInstance(change.getValue())) {
+                throw new IllegalArgumentException(change.getKey() + " expects "
+                        + change.getKey().getValueType().getSimpleName());
+            }
+        }
+
+        synchronized (this) {
+            if (!isClosed) {
+                try {
+                    append(id, changes);
+                } catch (IOException exception) {
+                    EmployeeManagementLogger.LOGGER.error(exception);
+                    throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_030));
+                }
+                pendingChanges.computeIfAbsent(id, key -> new EnumMap<>(fieldType))
+                        .putAll(changes);
+                isFull = pendingChanges.size() >= maxPending;
+            }
+            isWriteThrough = isClosed;
+        }
+        if (isFull) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException exception) {
+                EmployeeManagementLogger.LOGGER.debug("Buffer of " + name
+                        + " is closing and flushes by itself");
+            }
+        } else if (isWriteThrough) {
+            patchWriter.patch(id, changes);
+        }
+    }
+
+    /**
+     * @return  int number of rows with pending patches
+     */
+    public synchronized int getPendingCount() {
+        return pendingChanges.size();
+    }
+
+    /**
+     * Writes every pending patch. Patches which could not be written stay
+     * pending and are tried again by the next flush.
+     *
+     * @throws EmployeeManagementException  if some patches are still pending
+     */
+    public void flush() throws EmployeeManagementException {
+        flush(null);
+    }
+
+    /**
+     * Writes the pending patch of one row, before a change of the row which
+     * must not be overtaken by it.
+     *
+     * @param id  id of the row
+     * @throws EmployeeManagementException  if the patch is still pending
+     */
+    public void flush(int id) throws EmployeeManagementException {
+        flush(Collections.singleton(id));
+    }
+
+    /**
+     * Writes every pending patch, logging instead of failing when some stay
+     * pending. Used where a flush only helps the caller see recent patches.
+     */
+    public void flushQuietly() {
+        try {
+            flush();
+        } catch (EmployeeManagementException | RuntimeException exception) {
+            EmployeeManagementLogger.LOGGER.warn("Write-behind flush of " + name
+                    + " failed, " + getPendingCount() + " rows still pending", exception);
+        }
+    }
+
+    /**
+     * Writes the pending patches of the rows, or of every row when no ids
+     * are given.
+     */
+    private void flush(Set<Integer> ids) throws EmployeeManagementException {
+        synchronized (flushLock) {
+            Map<Integer, Map<F, Object>> batch = new LinkedHashMap<>();
+            Map<Integer, Map<F, Object>> unwritten = null;
+
+            synchronized (this) {
+                if (null == ids) {
+                    batch.putAll(pendingChanges);
+                    pendingChanges.clear();
+                } else {
+                    for (Integer id : ids) {
+                        Map<F, Object> changes = pendingChanges.remove(id);
+
+                        if (null != changes) {
+                            batch.put(id, changes);
+                        }
+                    }
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+            }
+            unwritten = write(batch);
+            synchronized (this) {
+                Map<Integer, Map<F, Object>> newerChanges = new LinkedHashMap<>(pendingChanges);
+
+                pendingChanges.clear();
+                pendingChanges.putAll(unwritten);
+                for (Map.Entry<Integer, Map<F, Object>> newer : newerChanges.entrySet()) {
+                    pendingChanges.computeIfAbsent(newer.getKey(),
+                            key -> new EnumMap<>(fieldType)).putAll(newer.getValue());
+                }
+                try {
+                    rewriteJournal();
+                } catch (IOException exception) {
+                    EmployeeManagementLogger.LOGGER.error("Write-behind journal "
+                            + journalPath + " could not be cut back", exception);
+                }
+            }
+            if (!unwritten.isEmpty()) {
+                throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_032),
+                        ConstantUtil.ERROR_CODE_032);
+            }
+        }
+    }
+
+    /**
+     * Stops the timer and writes the pending patches. Patches written later
+     * go straight to the database.
+     */
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        synchronized (this) {
+            isClosed = true;
+            try {
+                journal.close();
+            } catch (IOException exception) {
+                EmployeeManagementLogger.LOGGER.error(exception);
+            }
+        }
+    }
+
+    /**
+     * Writes the batch in one transaction. When the transaction fails its patches are written one by one; a patch the database rejects
+     * for its values goes to the dead letter file, while a patch which fails
+     * for another reason is kept.
+     *
+     * @return  Map<Integer, Map<F, Object>> patches which were not written
+     */
+    private Map<Integer, Map<F, Object>> write(Map<Integer, Map<F, Object>> batch) {
+        Map<Integer, Map<F, Object>> unwritten = new LinkedHashMap<>();
+        long startTime = System.currentTimeMillis();
+
+        try {
+            UnitOfWork.execute(() -> {
+                for (Map.Entry<Integer, Map<F, Object>> change : batch.entrySet()) {
+                    patchWriter.patch(change.getKey(), change.getValue());
+                }
+                return null;
+            });
+        } catch (EmployeeManagementException | RuntimeException exception) {
+            unwritten.putAll(writeEach(batch));
+        }
+        EmployeeManagementLogger.LOGGER.info("Write-behind flush of " + name + " wrote "
+                + (batch.size() - unwritten.size()) + " rows in "
+                + (System.currentTimeMillis() - startTime) + " ms");
+        return unwritten;
+    }
+
+    private Map<Integer, Map<F, Object>> writeEach(Map<Integer, Map<F, Object>> batch) {
+        Map<Integer, Map<F, Object>> failed = new LinkedHashMap<>();
+
+        for (Map.Entry<Integer, Map<F, Object>> change : batch.entrySet()) {
+            try {
+                patchWriter.patch(change.getKey(), change.getValue());
+            } catch (EmployeeManagementException | RuntimeException exception) {
+                if (ConnectionFactory.isPermanentFailure(exception)) {
+                    deadLetter(change.getKey(), change.getValue(), exception);
+                } else {
+                    failed.put(change.getKey(), change.getValue());
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Appends a rejected patch to the dead letter file, in the format of the
+     * journal, so it can be looked at and applied by hand. The patch is only
+     * logged when the file cannot be written.
+     */
+    private void deadLetter(int id, Map<F, Object> changes, Exception exception) {
+        EmployeeManagementLogger.LOGGER.error("Write-behind patch of " + name + " " + id
+                + " rejected, moved to " + deadLetterPath + ": " + changes, exception);
+        try (FileChannel deadLetters = FileChannel.open(deadLetterPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer record = encode(id, changes);
+
+            while (record.hasRemaining()) {
+                deadLetters.write(record);
+            }
+            deadLetters.force(false);
+        } catch (IOException writeException) {
+            EmployeeManagementLogger.LOGGER.error("Write-behind dead letter file "
+                    + deadLetterPath + " could not be written", writeException);
+        }
+    }
+
+    private void append(int id, Map<F, ?> changes) throws IOException {
+        ByteBuffer record = encode(id, changes);
+
+        while (record.hasRemaining()) {
+            journal.write(record, journal.size());
+        }
+        journal.force(false);
+    }
+
+    /**
+     * Replaces the journal with one holding only the pending patches. The
+     * new journal is written beside the old one and moved over it, so a
+     * crash leaves one of the two complete.
+     */
+    private void rewriteJournal() throws IOException {
+        Path rewrittenPath = journalPath.resolveSibling(journalPath.getFileName() + ".new");
+
+        try (FileChannel rewritten = FileChannel.open(rewrittenPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Map.Entry<Integer, Map<F, Object>> change : pendingChanges.entrySet()) {
+                ByteBuffer record = encode(change.getKey(), change.getValue());
+
+                while (record.hasRemaining()) {
+                    rewritten.write(record);
+                }
+            }
+            rewritten.force(true);
+        }
+        journal.close();
+        Files.move(rewrittenPath, journalPath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        journal = FileChannel.open(journalPath, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Loads the patches of the journal. Reading stops at a record cut short
+     * or damaged by a crash, which was never accepted.
+     */
+    private void replay() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(12);
+        long position = 0;
+        int replayedCount = 0;
+
+        while (position + header.capacity() <= journal.size()) {
+            header.clear();
+            journal.read(header, position);
+            header.flip();
+
+            int length = header.getInt();
+            long checksum = header.getLong();
+            ByteBuffer body = null;
+            CRC32 crc = new CRC32();
+
+            if (0 >= length || position + header.capacity() + length > journal.size()) {
+                break;
+            }
+            body = ByteBuffer.allocate(length);
+            journal.read(body, position + header.capacity());
+            crc.update(body.array());
+            if (crc.getValue() != checksum) {
+                break;
+            }
+            decode(body.array());
+            position += header.capacity() + length;
+            replayedCount++;
+        }
+        if (position < journal.size()) {
+            EmployeeManagementLogger.LOGGER.warn("Write-behind journal " + journalPath
+                    + " ends with an incomplete record, which is discarded");
+            journal.truncate(position);
+        }
+        if (0 < replayedCount) {
+            EmployeeManagementLogger.LOGGER.info("Write-behind journal " + journalPath
+                    + " replayed " + replayedCount + " patches of " + pendingChanges.size()
+                    + " rows");
+        }
+    }
+
+    private ByteBuffer encode(int id, Map<F, ?> changes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        CRC32 crc = new CRC32();
+        ByteBuffer record = null;
+
+        output.writeInt(id);
+        output.writeInt(changes.size());
+        for (Map.Entry<F, ?> change : changes.entrySet()) {
+            Object value = change.getValue();
+
+            output.writeUTF(change.getKey().name());
+            if (value instanceof String) {
+                output.writeByte(STRING_VALUE);
+                output.writeUTF((String) value);
+            } else if (value instanceof Date) {
+                output.writeByte(DATE_VALUE);
+                output.writeLong(((Date) value).getTime());
+            } else if (value instanceof Float) {
+                output.writeByte(FLOAT_VALUE);
+                output.writeFloat((Float) value);
+            } else if (value instanceof Integer) {
+                output.writeByte(INTEGER_VALUE);
+                output.writeInt((Integer) value);
+            } else {
+                output.writeByte(NULL_VALUE);
+            }
+        }
+        output.flush();
+        crc.update(bytes.toByteArray());
+
+        record = ByteBuffer.allocate(12 + bytes.size());
+        record.putInt(bytes.size()).putLong(crc.getValue()).put(bytes.toByteArray());
+        record.flip();
+        return record;
+    }
+
+    private void decode(byte[] body) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(body));
+        int id = input.readInt();
+        int changeCount = input.readInt();
+        Map<F, Object> changes = pendingChanges.computeIfAbsent(id,
+                key -> new EnumMap<>(fieldType));
+
+        for (int index = 0; index < changeCount; index++) {
+            F field = Enum.valueOf(fieldType, input.readUTF());
+            byte valueType = input.readByte();
+
+            switch (valueType) {
+                case STRING_VALUE:
+                    changes.put(field, input.readUTF());
+                    break;
+                case DATE_VALUE:
+                    changes.put(field, new Date(input.readLong()));
+                    break;
+                case FLOAT_VALUE:
+                    changes.put(field, input.readFloat());
+                    break;
+                case INTEGER_VALUE:
+                    changes.put(field, input.readInt());
+                    break;
+                default:
+                    changes.put(field, null);
+                    break;
+            }
+        }
+    }
+}
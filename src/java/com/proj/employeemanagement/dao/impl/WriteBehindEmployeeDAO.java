@@ -0,0 +1,170 @@
+package com.proj.employeemanagement.dao.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.FetchPlan;
+
+/**
+ * Buffers the patches of an employee DAO in a write-behind buffer shared by
+ * all instances. A full update or delete first writes the pending patch of
+ * its employee and fails if it cannot, so it never overtakes an earlier
+ * patch. Every other call tries to write the pending patches first so it
+ * sees them, and goes on when some stay pending. Enabled
+ * with -Demployeemanagement.writebehind=true.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class WriteBehindEmployeeDAO implements EmployeeDAO {
+
+    private static WriteBehindBuffer<EmployeeField> buffer;
+
+    private final EmployeeDAO employeeDAO;
+
+    private WriteBehindEmployeeDAO(EmployeeDAO employeeDAO) {
+        this.employeeDAO = employeeDAO;
+    }
+
+    /**
+     * Puts the write-behind buffer in front of the DAO when enabled.
+     *
+     * @param employeeDAO  DAO writing to the database
+     * @return             EmployeeDAO buffering DAO or the given one
+     */
+    public static EmployeeDAO wrap(EmployeeDAO employeeDAO) {
+        if (!Boolean.getBoolean(WriteBehindBuffer.ENABLED)) {
+            return employeeDAO;
+        }
+        synchronized (WriteBehindEmployeeDAO.class) {
+            if (null == buffer) {
+                buffer = new WriteBehindBuffer<>("employee", EmployeeField.class,
+                        employeeDAO::patchEmployee);
+            }
+        }
+        return new WriteBehindEmployeeDAO(employeeDAO);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int saveEmployee(Employee employee) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.saveEmployee(employee);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Integer> saveEmployees(List<Employee> employees) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.saveEmployees(employees);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Employee fetchEmployeeById(int employeeId, FetchPlan fetchPlan) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.fetchEmployeeById(employeeId, fetchPlan);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Employee> fetchAllEmployee(FetchPlan fetchPlan) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.fetchAllEmployee(fetchPlan);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<IdNameVO> fetchEmployeeNames() throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.fetchEmployeeNames();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Employee> fetchEmployeesAfter(int lastId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.fetchEmployeesAfter(lastId, limit, fetchPlan);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Employee> fetchEmployeesBefore(int firstId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.fetchEmployeesBefore(firstId, limit, fetchPlan);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int[] fetchEmployeeIdRange() throws EmployeeManagementException {
+        return employeeDAO.fetchEmployeeIdRange();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int streamEmployees(int fromId, int toId, Consumer<Employee> consumer) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.streamEmployees(fromId, toId, consumer);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Employee updateEmployee(Employee employee) throws EmployeeManagementException {
+        buffer.flush(employee.getId());
+        return employeeDAO.updateEmployee(employee);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The patch is only buffered, so 1 is returned once it is accepted.
+     */
+    @Override
+    public int patchEmployee(int employeeId, Map<EmployeeField, ?> changes) throws EmployeeManagementException {
+        buffer.add(employeeId, changes);
+        return 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int deleteEmployeeById(int employeeId) throws EmployeeManagementException {
+        buffer.flush(employeeId);
+        return employeeDAO.deleteEmployeeById(employeeId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DeleteReportVO deleteAllEmployee(int chunkSize,
+            Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.deleteAllEmployee(chunkSize, progressListener);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DeleteReportVO truncateAll() throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.truncateAll();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Employee fetchEmployeeByPhoneNumber(String phoneNumber) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.fetchEmployeeByPhoneNumber(phoneNumber);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Employee fetchEmployeeByEmailId(String emailId) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return employeeDAO.fetchEmployeeByEmailId(emailId);
+    }
+}
@@ -0,0 +1,135 @@
+package com.proj.employeemanagement.dao.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.proj.employeemanagement.dao.ProjectDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.persistence.Project;
+import com.proj.employeemanagement.util.FetchPlan;
+import com.proj.employeemanagement.util.ProjectField;
+
+/**
+ * Buffers the patches of a project DAO in a write-behind buffer shared by
+ * all instances. A full update or delete first writes the pending patch of
+ * its project and fails if it cannot; every other call tries to write the
+ * pending patches first and goes on when some stay pending. Enabled
+ * with -Demployeemanagement.writebehind=true.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class WriteBehindProjectDAO implements ProjectDAO {
+
+    private static WriteBehindBuffer<ProjectField> buffer;
+
+    private final ProjectDAO projectDAO;
+
+    private WriteBehindProjectDAO(ProjectDAO projectDAO) {
+        this.projectDAO = projectDAO;
+    }
+
+    /**
+     * Puts the write-behind buffer in front of the DAO when enabled.
+     *
+     * @param projectDAO  DAO writing to the database
+     * @return            ProjectDAO buffering DAO or the given one
+     */
+    public static ProjectDAO wrap(ProjectDAO projectDAO) {
+        if (!Boolean.getBoolean(WriteBehindBuffer.ENABLED)) {
+            return projectDAO;
+        }
+        synchronized (WriteBehindProjectDAO.class) {
+            if (null == buffer) {
+                buffer = new WriteBehindBuffer<>("project", ProjectField.class,
+                        projectDAO::patchProject);
+            }
+        }
+        return new WriteBehindProjectDAO(projectDAO);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int saveProject(Project project) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return projectDAO.saveProject(project);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Integer> saveProjects(List<Project> projects) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return projectDAO.saveProjects(projects);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Project fetchProjectById(int projectId, FetchPlan fetchPlan) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return projectDAO.fetchProjectById(projectId, fetchPlan);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Project> fetchAllProject(FetchPlan fetchPlan) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return projectDAO.fetchAllProject(fetchPlan);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<IdNameVO> fetchProjectNames() throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return projectDAO.fetchProjectNames();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Project> fetchProjectsAfter(int lastId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return projectDAO.fetchProjectsAfter(lastId, limit, fetchPlan);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Project> fetchProjectsBefore(int firstId, int limit, FetchPlan fetchPlan) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return projectDAO.fetchProjectsBefore(firstId, limit, fetchPlan);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Project updateProject(Project project) throws EmployeeManagementException {
+        buffer.flush(project.getId());
+        return projectDAO.updateProject(project);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The patch is only buffered, so 1 is returned once it is accepted.
+     */
+    @Override
+    public int patchProject(int projectId, Map<ProjectField, ?> changes) throws EmployeeManagementException {
+        buffer.add(projectId, changes);
+        return 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int deleteProjectById(int projectId) throws EmployeeManagementException {
+        buffer.flush(projectId);
+        return projectDAO.deleteProjectById(projectId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DeleteReportVO deleteAllProject(int chunkSize,
+            Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException {
+        buffer.flushQuietly();
+        return projectDAO.deleteAllProject(chunkSize, progressListener);
+    }
+}
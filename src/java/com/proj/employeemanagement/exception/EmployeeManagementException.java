@@ -12,6 +12,8 @@ import java.lang.Exception;
  */
 public class EmployeeManagementException extends Exception {
 
+    private String errorCode;
+
     public EmployeeManagementException() {
         super();
     }
@@ -19,4 +21,20 @@ public class EmployeeManagementException extends Exception {
     public EmployeeManagementException(String errorMessage) {
         super(errorMessage);
     }
+
+    public EmployeeManagementException(String errorMessage, Throwable cause) {
+        super(errorMessage, cause);
+    }
+
+    public EmployeeManagementException(String errorMessage, String errorCode) {
+        super(errorMessage);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * @return  String error code of the failure or null if it has none
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
 }
@@ -26,8 +26,11 @@ public class AddressMapper {
         Address address = new Address();
         
         address.setId(addressVO.getId());
-        address.setEmployee(EmployeeMapper.convertEmployeeVOToEmployee(addressVO
-                .getEmployee()));
+        address.setVersion(addressVO.getVersion());
+        if (null != addressVO.getEmployee()) {
+            address.setEmployee(EmployeeMapper.convertEmployeeVOToEmployee(addressVO
+                    .getEmployee()));
+        }
         address.setDoorNumber(addressVO.getDoorNumber());
         address.setStreet(addressVO.getStreet());
         address.setDistrict(addressVO.getDistrict());
@@ -47,6 +50,7 @@ public class AddressMapper {
         AddressVO addressVO = new AddressVO();  
           
         addressVO.setId(address.getId());
+        addressVO.setVersion(address.getVersion());
         addressVO.setEmployee(EmployeeMapper.convertEmployeeToEmployeeVO(address
                 .getEmployee()));
         addressVO.setDoorNumber(address.getDoorNumber());
@@ -32,6 +32,7 @@ public class EmployeeMapper {
         List<Project> projects = new ArrayList<>();
         
         employee.setId(employeeVO.getId());
+        employee.setVersion(employeeVO.getVersion());
         employee.setName(employeeVO.getName());
         employee.setPhoneNumber(employeeVO.getPhoneNumber());
         employee.setDob(employeeVO.getDob());
@@ -52,6 +53,7 @@ public class EmployeeMapper {
         List<ProjectVO> projectsVO = new ArrayList<>();
           
         employeeVO.setId(employee.getId());
+        employeeVO.setVersion(employee.getVersion());
         employeeVO.setName(employee.getName());
         employeeVO.setPhoneNumber(employee.getPhoneNumber());
         employeeVO.setDob(employee.getDob());
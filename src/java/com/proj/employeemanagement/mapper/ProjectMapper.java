@@ -29,6 +29,7 @@ public class ProjectMapper {
         List<Employee> employees = new ArrayList<>();
         
         project.setId(projectVO.getId());
+        project.setVersion(projectVO.getVersion());
         project.setName(projectVO.getName());
         project.setDomain(projectVO.getDomain());
         project.setStartDate(projectVO.getStartDate());
@@ -47,6 +48,7 @@ public class ProjectMapper {
         List<EmployeeVO> employeesVO = new ArrayList<>();
           
         projectVO.setId(project.getId());
+        projectVO.setVersion(project.getVersion());
         projectVO.setName(project.getName());
         projectVO.setDomain(project.getDomain());
         projectVO.setStartDate(project.getStartDate());
@@ -0,0 +1,28 @@
+package com.proj.employeemanagement.model;
+
+/**
+ * An instance of class holds only the id of an address and the id of the
+ * employee it belongs to, read by a projection query for pick lists.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class AddressReferenceVO {
+
+    private final int id;
+    private final int employeeId;
+
+    public AddressReferenceVO(int id, int employeeId) {
+        this.id = id;
+        this.employeeId = employeeId;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getEmployeeId() {
+        return employeeId;
+    }
+}
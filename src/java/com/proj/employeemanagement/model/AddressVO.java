@@ -11,6 +11,7 @@ package com.proj.employeemanagement.model;
 public class AddressVO {
     
     private int id;
+    private int version;
     private int pincode;
     private String doorNumber;
     private String street;
@@ -37,6 +38,10 @@ public class AddressVO {
     public int getId() {
         return id;
     }
+
+    public int getVersion() {
+        return version;
+    }
     
     public EmployeeVO getEmployee() {
         return employee;
@@ -69,6 +74,10 @@ public class AddressVO {
     public void setId(int id) {
         this.id = id;
     }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
     
     public void setEmployee(EmployeeVO employee) {
         this.employee = employee;
@@ -0,0 +1,70 @@
+package com.proj.employeemanagement.model;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An instance of class holds the outcome of a bulk assignment of employees
+ * to projects, the ids which do not exist and the pairs written or skipped.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class AssignmentReportVO {
+
+    private int changedPairs;
+    private int skippedPairs;
+    private long elapsedMillis;
+    private final Set<Integer> missingEmployeeIds = new TreeSet<>();
+    private final Set<Integer> missingProjectIds = new TreeSet<>();
+
+    public int getChangedPairs() {
+        return changedPairs;
+    }
+
+    public int getSkippedPairs() {
+        return skippedPairs;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public Set<Integer> getMissingEmployeeIds() {
+        return missingEmployeeIds;
+    }
+
+    public Set<Integer> getMissingProjectIds() {
+        return missingProjectIds;
+    }
+
+    public void setChangedPairs(int changedPairs) {
+        this.changedPairs = changedPairs;
+    }
+
+    public void setSkippedPairs(int skippedPairs) {
+        this.skippedPairs = skippedPairs;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append("Assignments changed: ").append(changedPairs)
+                .append("\nAssignments skipped: ").append(skippedPairs);
+        if (!missingEmployeeIds.isEmpty()) {
+            stringBuilder.append("\nEmployees not found: ").append(missingEmployeeIds);
+        }
+        if (!missingProjectIds.isEmpty()) {
+            stringBuilder.append("\nProjects not found: ").append(missingProjectIds);
+        }
+        stringBuilder.append("\nElapsed time: ").append(elapsedMillis).append(" ms\n");
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.proj.employeemanagement.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An instance of class holds the progress of a bulk delete, the rows removed
+ * from each table and the number of committed chunks.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class DeleteReportVO {
+
+    private int chunks;
+    private long elapsedMillis;
+    private boolean isTruncated;
+    private final Map<String, Integer> deletedRows = new LinkedHashMap<>();
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isTruncated() {
+        return isTruncated;
+    }
+
+    public Map<String, Integer> getDeletedRows() {
+        return deletedRows;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Records the rows removed from the tables by one committed chunk.
+     *
+     * @param chunkRows  rows removed from each table in the chunk
+     */
+    public void addChunk(Map<String, Integer> chunkRows) {
+        chunks++;
+        for (Map.Entry<String, Integer> table : chunkRows.entrySet()) {
+            deletedRows.merge(table.getKey(), table.getValue(), Integer::sum);
+        }
+    }
+
+    /**
+     * Records a table emptied by truncation, whose row count is not known.
+     *
+     * @param table  name of the table
+     */
+    public void addTruncatedTable(String table) {
+        isTruncated = true;
+        deletedRows.put(table, 0);
+    }
+
+    /**
+     * Gets the number of rows removed from a table.
+     *
+     * @param table  name of the table
+     * @return       int rows removed from the table
+     */
+    public int getDeletedRows(String table) {
+        return deletedRows.getOrDefault(table, 0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        if (isTruncated) {
+            stringBuilder.append("Tables truncated: ").append(deletedRows.keySet());
+        } else {
+            stringBuilder.append("Chunks committed: ").append(chunks);
+            for (Map.Entry<String, Integer> table : deletedRows.entrySet()) {
+                stringBuilder.append("\n  ").append(table.getKey()).append(": ")
+                        .append(table.getValue()).append(" rows");
+            }
+        }
+        stringBuilder.append("\nElapsed time: ").append(elapsedMillis).append(" ms\n");
+
+        return stringBuilder.toString();
+    }
+}
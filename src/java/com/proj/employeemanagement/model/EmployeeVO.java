@@ -17,6 +17,7 @@ public class EmployeeVO {
 
     private float salary;
     private int id;
+    private int version;
     private Date dob;
     private String emailId;
     private String name;
@@ -41,6 +42,10 @@ public class EmployeeVO {
         return id;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -73,6 +78,10 @@ public class EmployeeVO {
         this.id = id;
     }
 
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
@@ -0,0 +1,73 @@
+package com.proj.employeemanagement.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An instance of class holds the outcome of an employee directory export and
+ * the files written.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ExportReportVO {
+
+    private int exportedRows;
+    private long elapsedMillis;
+    private final List<String> files = new ArrayList<>();
+
+    public int getExportedRows() {
+        return exportedRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<String> getFiles() {
+        return files;
+    }
+
+    public void setExportedRows(int exportedRows) {
+        this.exportedRows = exportedRows;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Records a file written by the export.
+     *
+     * @param file  path of the written file
+     */
+    public void addFile(String file) {
+        files.add(file);
+    }
+
+    /**
+     * Gets the number of rows exported per second.
+     *
+     * @return double rows exported per second
+     */
+    public double getRowsPerSecond() {
+        return (0 == elapsedMillis) ? exportedRows : exportedRows * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append("Rows exported: ").append(exportedRows)
+                .append("\nElapsed time: ").append(elapsedMillis).append(" ms")
+                .append("\nThroughput: ")
+                .append(String.format("%.1f", getRowsPerSecond())).append(" rows/s");
+        for (String file : files) {
+            stringBuilder.append("\n  ").append(file);
+        }
+        stringBuilder.append("\n");
+
+        return stringBuilder.toString();
+    }
+}
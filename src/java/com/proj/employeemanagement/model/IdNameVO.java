@@ -0,0 +1,28 @@
+package com.proj.employeemanagement.model;
+
+/**
+ * An instance of class holds only the id and name of an employee or project,
+ * read by a projection query for pick lists.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class IdNameVO {
+
+    private final int id;
+    private final String name;
+
+    public IdNameVO(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
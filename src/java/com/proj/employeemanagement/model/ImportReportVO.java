@@ -0,0 +1,105 @@
+package com.proj.employeemanagement.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An instance of class holds the outcome of a bulk employee import, the rows
+ * rejected with their reason and the time spent in each stage.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ImportReportVO {
+
+    private int totalRows;
+    private int importedRows;
+    private long elapsedMillis;
+    private final List<String> rowErrors = Collections
+            .synchronizedList(new ArrayList<String>());
+    private final Map<String, Long> stageMillis = new LinkedHashMap<>();
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public int getImportedRows() {
+        return importedRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<String> getRowErrors() {
+        return rowErrors;
+    }
+
+    public Map<String, Long> getStageMillis() {
+        return stageMillis;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public void setImportedRows(int importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Records why a row of the import file was rejected.
+     *
+     * @param rowNumber  line number of the rejected row
+     * @param message    reason the row was rejected
+     */
+    public void addRowError(int rowNumber, String message) {
+        rowErrors.add("Row " + rowNumber + ": " + message);
+    }
+
+    /**
+     * Records the time spent in a stage of the import.
+     *
+     * @param stage   name of the stage
+     * @param millis  time spent in milliseconds
+     */
+    public void addStageMillis(String stage, long millis) {
+        stageMillis.put(stage, millis);
+    }
+
+    /**
+     * Gets the number of rows imported per second.
+     *
+     * @return double rows imported per second
+     */
+    public double getRowsPerSecond() {
+        return (0 == elapsedMillis) ? importedRows : importedRows * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append("Rows read: ").append(totalRows)
+                .append("\nRows imported: ").append(importedRows)
+                .append("\nRows rejected: ").append(rowErrors.size())
+                .append("\nElapsed time: ").append(elapsedMillis).append(" ms")
+                .append("\nThroughput: ")
+                .append(String.format("%.1f", getRowsPerSecond())).append(" rows/s");
+        for (Map.Entry<String, Long> stage : stageMillis.entrySet()) {
+            stringBuilder.append("\n  ").append(stage.getKey()).append(": ")
+                    .append(stage.getValue()).append(" ms");
+        }
+        stringBuilder.append("\n");
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.proj.employeemanagement.model;
+
+import java.util.Date;
+
+/**
+ * An instance of class holds one change event read from the outbox, the
+ * entity and id it is about, the operation and its optional details.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class OutboxEventVO {
+
+    private final long id;
+    private final String entity;
+    private final int entityId;
+    private final String operation;
+    private final String details;
+    private final Date createdOn;
+
+    public OutboxEventVO(long id, String entity, int entityId, String operation,
+            String details, Date createdOn) {
+        this.id = id;
+        this.entity = entity;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.details = details;
+        this.createdOn = createdOn;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public int getEntityId() {
+        return entityId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public Date getCreatedOn() {
+        return createdOn;
+    }
+
+    @Override
+    public String toString() {
+        return "Event " + id + ": " + operation + " " + entity + " " + entityId
+                + ((null == details) ? "" : " (" + details + ")");
+    }
+}
@@ -0,0 +1,64 @@
+package com.proj.employeemanagement.model;
+
+import java.util.List;
+
+/**
+ * An instance of class holds one page of records read in id order along with
+ * the cursors used to read the next and the previous page.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class PageVO<T> {
+
+    private final List<T> items;
+    private final int firstId;
+    private final int lastId;
+    private final boolean hasPrevious;
+    private final boolean hasNext;
+
+    public PageVO(List<T> items, int firstId, int lastId, boolean hasPrevious,
+            boolean hasNext) {
+
+        this.items = items;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.hasPrevious = hasPrevious;
+        this.hasNext = hasNext;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the id of the first record, used as cursor for the previous page.
+     *
+     * @return int id of the first record on the page
+     */
+    public int getFirstId() {
+        return firstId;
+    }
+
+    /**
+     * Gets the id of the last record, used as cursor for the next page.
+     *
+     * @return int id of the last record on the page
+     */
+    public int getLastId() {
+        return lastId;
+    }
+
+    public boolean hasPrevious() {
+        return hasPrevious;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
@@ -0,0 +1,94 @@
+package com.proj.employeemanagement.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.List;
+
+import com.proj.employeemanagement.model.OutboxEventVO;
+
+/**
+ * Appends the events to a file as JSON lines, one event per line, and
+ * forces every batch to disk before it is acknowledged. Consumers follow
+ * the file and remember the id of the last event they processed.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final FileChannel channel;
+
+    /**
+     * @param path  file the events are appended to, created if missing
+     * @throws IOException  if the file cannot be opened
+     */
+    public FileOutboxSink(Path path) throws IOException {
+        this.path = path;
+        if (null != path.toAbsolutePath().getParent()) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void publish(List<OutboxEventVO> events) throws IOException {
+        SimpleDateFormat timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+        StringBuilder lines = new StringBuilder();
+        ByteBuffer buffer = null;
+
+        for (OutboxEventVO event : events) {
+            lines.append("{\"id\":").append(event.getId())
+                    .append(",\"entity\":\"").append(event.getEntity())
+                    .append("\",\"entityId\":").append(event.getEntityId())
+                    .append(",\"operation\":\"").append(event.getOperation()).append('"');
+            if (null != event.getDetails()) {
+                lines.append(",\"details\":\"");
+                appendEscaped(lines, event.getDetails());
+                lines.append('"');
+            }
+            if (null != event.getCreatedOn()) {
+                lines.append(",\"createdOn\":\"")
+                        .append(timestampFormat.format(event.getCreatedOn())).append('"');
+            }
+            lines.append("}\n");
+        }
+        buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "file " + path;
+    }
+
+    private void appendEscaped(StringBuilder lines, String value) {
+        for (char character : value.toCharArray()) {
+            if ('"' == character || '\\' == character) {
+                lines.append('\\').append(character);
+            } else if (' ' > character) {
+                lines.append(String.format("\\u%04x", (int) character));
+            } else {
+                lines.append(character);
+            }
+        }
+    }
+}
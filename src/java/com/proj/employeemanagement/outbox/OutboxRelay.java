@@ -0,0 +1,154 @@
+package com.proj.employeemanagement.outbox;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.proj.employeemanagement.connection.SessionFactoryLifecycle;
+import com.proj.employeemanagement.dao.OutboxDAO;
+import com.proj.employeemanagement.dao.impl.Outbox;
+import com.proj.employeemanagement.dao.impl.OutboxDAOImpl;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.util.ConstantUtil;
+
+/**
+ * Publishes the events of the outbox to a sink in the background. On every
+ * run the outbox is drained in batches until it is empty; a failed batch
+ * stays in the outbox and is retried on the next run. A last run is made
+ * before the session factory is shut down.
+ *
+ * The sink is chosen with -Demployeemanagement.outbox.sink, "file" (the
+ * default) appending to employeemanagement.outbox.file or "queue" keeping
+ * up to employeemanagement.outbox.queue_capacity events in memory.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class OutboxRelay {
+
+    public static final String SINK = "employeemanagement.outbox.sink";
+    public static final String FILE = "employeemanagement.outbox.file";
+    public static final String QUEUE_CAPACITY = "employeemanagement.outbox.queue_capacity";
+    public static final String INTERVAL_MILLIS = "employeemanagement.outbox.interval_ms";
+
+    private static OutboxRelay runningRelay;
+
+    private final OutboxDAO outboxDAO = new OutboxDAOImpl();
+    private final OutboxSink sink;
+    private final ScheduledExecutorService relayer;
+
+    /**
+     * Starts relaying to the sink.
+     *
+     * @param sink            sink taking the events
+     * @param intervalMillis  pause between two runs
+     */
+    public OutboxRelay(OutboxSink sink, long intervalMillis) {
+        this.sink = sink;
+        relayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relayer.scheduleWithFixedDelay(this::relayQuietly, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts the relay with the sink of the system properties when the
+     * outbox is enabled. The relay is stopped before the session factory
+     * is shut down.
+     *
+     * @return  OutboxRelay the running relay, null if the outbox is disabled
+     * @throws IllegalStateException  if the sink cannot be opened
+     */
+    public static synchronized OutboxRelay startConfigured() {
+        OutboxSink sink = null;
+
+        if (!Outbox.isEnabled() || null != runningRelay) {
+            return runningRelay;
+        }
+        if ("queue".equalsIgnoreCase(System.getProperty(SINK, "file"))) {
+            sink = new QueueOutboxSink(Integer.getInteger(QUEUE_CAPACITY, 10000));
+        } else {
+            try {
+                sink = new FileOutboxSink(Paths.get(System.getProperty(FILE,
+                        "outbox/events.jsonl")));
+            } catch (IOException exception) {
+                throw new IllegalStateException("Outbox file could not be opened", exception);
+            }
+        }
+        runningRelay = new OutboxRelay(sink, Long.getLong(INTERVAL_MILLIS, 1000));
+        SessionFactoryLifecycle.runBeforeShutdown(runningRelay::stop);
+        EmployeeManagementLogger.LOGGER.info("Outbox relay started to " + sink);
+        return runningRelay;
+    }
+
+    /**
+     * @return  OutboxRelay the relay started from the system properties,
+     *          null if none is running
+     */
+    public static synchronized OutboxRelay getRunningRelay() {
+        return runningRelay;
+    }
+
+    public OutboxSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Drains the outbox.
+     *
+     * @return  int number of events published
+     */
+    public synchronized int relay() throws EmployeeManagementException {
+        int relayedCount = 0;
+        int batchCount = 0;
+
+        do {
+            batchCount = outboxDAO.relayEvents(ConstantUtil.BATCH_SIZE, sink);
+            relayedCount += batchCount;
+        } while (ConstantUtil.BATCH_SIZE == batchCount);
+        if (0 < relayedCount) {
+            EmployeeManagementLogger.LOGGER.debug("Relayed " + relayedCount
+                    + " outbox events to " + sink);
+        }
+        return relayedCount;
+    }
+
+    /**
+     * Stops the timer, makes a last run and closes the sink.
+     */
+    public void stop() {
+        relayer.shutdown();
+        try {
+            relayer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        relayQuietly();
+        try {
+            sink.close();
+        } catch (IOException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception);
+        }
+        synchronized (OutboxRelay.class) {
+            if (this == runningRelay) {
+                runningRelay = null;
+            }
+        }
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+        } catch (EmployeeManagementException | RuntimeException exception) {
+            EmployeeManagementLogger.LOGGER.warn("Outbox relay will retry: "
+                    + exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.proj.employeemanagement.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.proj.employeemanagement.model.OutboxEventVO;
+
+/**
+ * OutboxSink takes the change events relayed from the outbox. The events
+ * of a call are removed from the outbox only if the call returns, so a sink
+ * must have stored them durably by then or throw.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public interface OutboxSink {
+
+    /**
+     * Takes a batch of events in the order they were recorded. A batch may
+     * be published again if it could not be removed from the outbox, so
+     * consumers should skip event ids they have already seen.
+     *
+     * @param events  events to be published
+     * @throws IOException  if the events were not taken
+     */
+    public void publish(List<OutboxEventVO> events) throws IOException;
+
+    /**
+     * Releases the resources of the sink.
+     */
+    public void close() throws IOException;
+}
@@ -0,0 +1,57 @@
+package com.proj.employeemanagement.outbox;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.proj.employeemanagement.model.OutboxEventVO;
+
+/**
+ * Hands the events to consumers in the same process through a bounded
+ * queue. A batch is taken whole or not at all, so when the consumers fall
+ * behind the events wait in the outbox instead of in memory. Events in the
+ * queue are lost when the process stops.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class QueueOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxEventVO> queue;
+
+    /**
+     * @param capacity  maximum number of events waiting for the consumers
+     */
+    public QueueOutboxSink(int capacity) {
+        queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return  BlockingQueue the consumers take the events from
+     */
+    public BlockingQueue<OutboxEventVO> getQueue() {
+        return queue;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void publish(List<OutboxEventVO> events) throws IOException {
+        if (queue.remainingCapacity() < events.size()) {
+            throw new IOException("Outbox queue has room for " + queue.remainingCapacity()
+                    + " of " + events.size() + " events");
+        }
+        queue.addAll(events);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String toString() {
+        return "queue of " + (queue.size() + queue.remainingCapacity()) + " events";
+    }
+}
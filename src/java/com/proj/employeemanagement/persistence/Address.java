@@ -11,6 +11,7 @@ package com.proj.employeemanagement.persistence;
 public class Address {
     
     private int id;
+    private int version;
     private int pincode;
     private String doorNumber;
     private String street;
@@ -37,6 +38,10 @@ public class Address {
     public int getId() {
         return id;
     }
+
+    public int getVersion() {
+        return version;
+    }
     
     public Employee getEmployee() {
         return employee;
@@ -69,6 +74,10 @@ public class Address {
     public void setId(int id) {
         this.id = id;
     }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
     
     public void setEmployee(Employee employee) {
         this.employee = employee;
@@ -17,6 +17,7 @@ public class Employee {
 
     private float salary;
     private int id;
+    private int version;
     //private int projectId;
     private Date dob;
     private String emailId;
@@ -41,6 +42,10 @@ public class Employee {
     public int getId() {
         return id;
     }
+
+    public int getVersion() {
+        return version;
+    }
     
     /*public int getProjectId() {
         return projectId;
@@ -77,6 +82,10 @@ public class Employee {
     public void setId(int id) {
         this.id = id;
     }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
     
     /*public void setProjectId(int projectId) {
         this.projectId = projectId;
@@ -16,6 +16,7 @@ import java.util.List;
 public class Project {
 
     private int id;
+    private int version;
     private Date startDate;
     private String name;
     private String managerName;
@@ -37,6 +38,10 @@ public class Project {
         return id;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -61,6 +66,10 @@ public class Project {
         this.id = id;
     }
 
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
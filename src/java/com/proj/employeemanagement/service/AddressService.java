@@ -1,9 +1,15 @@
 package com.proj.employeemanagement.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.AddressReferenceVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
 import com.proj.employeemanagement.model.AddressVO;
+import com.proj.employeemanagement.model.PageVO;
+import com.proj.employeemanagement.util.AddressField;
 
 /**
  * Implements methods to store, get, update and delete employee address detail 
@@ -22,14 +28,33 @@ public interface AddressService {
      * @return           int if id of the address stored
      */
     public int addAddress(AddressVO addressVO) throws EmployeeManagementException;
+
+    /** 
+     * Inputs many addresses of employees to be stored in one batch.
+     *
+     * @param addressesVO  addresses to be stored
+     * @return             List<Integer> ids of the addresses stored in order
+     */
+    public List<Integer> addAddresses(List<AddressVO> addressesVO) throws EmployeeManagementException;
     
     /**
-     * Updates address of employee.
+     * Updates address of employee. The version of the address VO is
+     * advanced when the update succeeds.
      *
      * @param addressVO   employee id to be validated 
      * @return            boolean  true if id matches or false
      */
     public boolean updateAddress(AddressVO addressVO) throws EmployeeManagementException;
+
+    /** 
+     * Changes only the given fields of an address, leaving the other
+     * columns and its employee as they are.
+     *
+     * @param addressId  id of the address to be patched
+     * @param changes    new value of every field to be changed
+     * @return           boolean true if the address is updated or false
+     */
+    public boolean patchAddress(int addressId, Map<AddressField, ?> changes) throws EmployeeManagementException;
     
     /**
      * Gets specfic address details using address id.
@@ -42,9 +67,27 @@ public interface AddressService {
     /** 
      * Gets address id and employee id for the purpose of reference for user.
      *
-     * @return List<Address> list of address id and employee id
+     * @return List<AddressReferenceVO> list of address id and employee id
+     */
+    public List<AddressReferenceVO> getAddressId() throws EmployeeManagementException;
+
+    /** 
+     * Fetches the page of addresses following the given id.
+     * 
+     * @param lastId    id of the last address already shown, 0 for the first page
+     * @param pageSize  number of addresses in a page
+     * @return          PageVO<AddressVO> addresses of the page and its cursors
+     */
+    public PageVO<AddressVO> getAddressesAfter(int lastId, int pageSize) throws EmployeeManagementException;
+
+    /** 
+     * Fetches the page of addresses preceding the given id.
+     * 
+     * @param firstId   id of the first address already shown
+     * @param pageSize  number of addresses in a page
+     * @return          PageVO<AddressVO> addresses of the page and its cursors
      */
-    public List<AddressVO> getAddressId() throws EmployeeManagementException;
+    public PageVO<AddressVO> getAddressesBefore(int firstId, int pageSize) throws EmployeeManagementException;
     
     /** 
      * Removes specific employee using employee id.
@@ -55,11 +98,13 @@ public interface AddressService {
     public boolean removeAddressById(int addressId) throws EmployeeManagementException;   
 
     /** 
-     * Clears all employees from record.
+     * Clears all addresses from record, a chunk of addresses per transaction.
      *
-     * @return boolean true if all employee records are removed
+     * @param progressListener  told of the rows deleted so far after every
+     *                          chunk, may be null
+     * @return                  DeleteReportVO rows deleted from each table
      */
-    public boolean removeAllAddress() throws EmployeeManagementException;   
+    public DeleteReportVO removeAllAddress(Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException;   
      
     /**
      * Validates id is integer and does not allow id to be 0.
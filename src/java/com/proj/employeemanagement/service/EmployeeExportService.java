@@ -0,0 +1,31 @@
+package com.proj.employeemanagement.service;
+
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.ExportReportVO;
+import com.proj.employeemanagement.util.ExportFormat;
+
+/**
+ * Implements application to dump all employees with their addresses and
+ * projects to files for downstream systems.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public interface EmployeeExportService {
+
+    /**
+     * Exports every employee with addresses and projects. Rows are streamed
+     * from the database to the file, so memory use does not grow with the
+     * number of employees.
+     *
+     * @param filePath      path of the file to be written
+     * @param exportFormat  format of the file
+     * @param isCompressed  true to gzip the file
+     * @param parallelism   number of id ranges exported at once, each to its
+     *                      own part file when greater than 1
+     * @return              ExportReportVO rows exported, files and timing
+     */
+    public ExportReportVO exportEmployees(String filePath, ExportFormat exportFormat,
+            boolean isCompressed, int parallelism) throws EmployeeManagementException;
+}
@@ -0,0 +1,29 @@
+package com.proj.employeemanagement.service;
+
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.ImportReportVO;
+
+/**
+ * Implements application to onboard employees and their addresses in bulk
+ * from a file.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public interface EmployeeImportService {
+
+    /**
+     * Imports employees from a CSV file with one employee and address per
+     * row in the column order name, phone number, date of birth (dd/MM/yyyy),
+     * salary, email id, door number, street, district, state, country,
+     * pincode. Columns holding a comma are put in double quotes, with a
+     * quote inside doubled. A first row naming exactly the columns name,
+     * phone_number, dob, salary, email_id, door_number, street, district,
+     * state, country, pincode is skipped as the header.
+     *
+     * @param filePath  path of the CSV file to be imported
+     * @return          ImportReportVO rows imported, rejected rows and timings
+     */
+    public ImportReportVO importEmployees(String filePath) throws EmployeeManagementException;
+}
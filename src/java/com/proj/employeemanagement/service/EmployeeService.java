@@ -2,10 +2,17 @@ package com.proj.employeemanagement.service;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.AddressVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
 import com.proj.employeemanagement.model.EmployeeVO;
-import com.proj.employeemanagement.model.ProjectVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.model.PageVO;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.FetchPlan;
 
 /**
  * Implements application to store, return, delete and validate employee
@@ -25,6 +32,27 @@ public interface EmployeeService {
      */
     public int createEmployee(EmployeeVO employeeVO) throws EmployeeManagementException;
 
+    /** 
+     * Creates employee together with its first address in one transaction.
+     * The phone number and email id are checked again on the same
+     * connection, so neither the employee nor the address is stored when
+     * another employee took them meanwhile.
+     *
+     * @param employeeVO  specfic employee details
+     * @param addressVO   address of the employee
+     * @return            int id of the created employee or 0 if the phone
+     *                    number or email id is already used
+     */
+    public int createEmployeeWithAddress(EmployeeVO employeeVO, AddressVO addressVO) throws EmployeeManagementException;
+
+    /** 
+     * Creates many employees along with their addresses in one batch.
+     *
+     * @param employeesVO  employees to be created
+     * @return             List<Integer> ids of the created employees in order
+     */
+    public List<Integer> createEmployees(List<EmployeeVO> employeesVO) throws EmployeeManagementException;
+
     /** 
      * Fetches specfic employee details using employee id.
      * 
@@ -33,27 +61,82 @@ public interface EmployeeService {
      */
     public EmployeeVO getEmployeeById(int employeeId) throws EmployeeManagementException;
 
+    /** 
+     * Fetches specfic employee details using employee id, loading only the
+     * associations named by the fetch plan.
+     * 
+     * @param employeeId  employee id used to fetch details of employee
+     * @param fetchPlan   associations to be loaded with the employee
+     * @return            EmployeeVO specfic employee details 
+     */
+    public EmployeeVO getEmployeeById(int employeeId, FetchPlan fetchPlan) throws EmployeeManagementException;
+
     /** 
      * Fetches all employees details.
      * 
      * @return  List<EmployeeVO>> all employees details 
      */
     public List<EmployeeVO> getAllEmployee() throws EmployeeManagementException;
+
+    /** 
+     * Fetches all employees details, loading only the associations named by
+     * the fetch plan.
+     * 
+     * @param fetchPlan  associations to be loaded with the employees
+     * @return           List<EmployeeVO>> all employees details 
+     */
+    public List<EmployeeVO> getAllEmployee(FetchPlan fetchPlan) throws EmployeeManagementException;
+
+    /** 
+     * Fetches only the id and name of all employees, for the user to pick from.
+     * 
+     * @return  List<IdNameVO> id and name of all employees
+     */
+    public List<IdNameVO> getEmployeeNames() throws EmployeeManagementException;
+
+    /** 
+     * Fetches the page of employees following the given id.
+     * 
+     * @param lastId    id of the last employee already shown, 0 for the first page
+     * @param pageSize  number of employees in a page
+     * @return          PageVO<EmployeeVO> employees of the page and its cursors
+     */
+    public PageVO<EmployeeVO> getEmployeesAfter(int lastId, int pageSize) throws EmployeeManagementException;
+
+    /** 
+     * Fetches the page of employees preceding the given id.
+     * 
+     * @param firstId   id of the first employee already shown
+     * @param pageSize  number of employees in a page
+     * @return          PageVO<EmployeeVO> employees of the page and its cursors
+     */
+    public PageVO<EmployeeVO> getEmployeesBefore(int firstId, int pageSize) throws EmployeeManagementException;
     
     /**
-     * Gets all projects details.
+     * Gets the id and name of all projects, for picking projects to assign.
      *  
-     * @return List<ProjectVO> all projects details
+     * @return List<IdNameVO> id and name of all projects
      */
-    public List<ProjectVO> getAllProject() throws EmployeeManagementException;
+    public List<IdNameVO> getProjectNames() throws EmployeeManagementException;
 
     /** 
-     * Updates all details of a employee.
+     * Updates all details of a employee. The version of the employee VO is
+     * advanced when the update succeeds.
      *
      * @param employeeVO  employee object to update employee 
      * @return            boolean true if details are updated or false
      */
     public boolean updateEmployee(EmployeeVO employeeVO) throws EmployeeManagementException;
+
+    /** 
+     * Changes only the given fields of an employee, leaving the other
+     * columns and its addresses and projects as they are.
+     *
+     * @param employeeId  id of the employee to be patched
+     * @param changes     new value of every field to be changed
+     * @return            boolean true if the employee is updated or false
+     */
+    public boolean patchEmployee(int employeeId, Map<EmployeeField, ?> changes) throws EmployeeManagementException;
     
     /** 
      * Assign project to employee.
@@ -64,7 +147,7 @@ public interface EmployeeService {
      * @return            List<Integer> if details are assign or null
      */
     public List<Integer> assignProjectToEmployee(String projectIds, 
-            EmployeeVO employee, List<ProjectVO> projects) throws EmployeeManagementException;
+            EmployeeVO employee, List<IdNameVO> projects) throws EmployeeManagementException;
     
     /** 
      * deassign project to employee.
@@ -81,9 +164,9 @@ public interface EmployeeService {
      *
      * @param projects  list of all projects availabale
      * @param employee  employee used to get assigned project
-     * @return          List<ProjectVO>  list of all projects yet to be assigned
+     * @return          List<IdNameVO>  list of all projects yet to be assigned
      */
-    public List<ProjectVO> getProjectsTobeAssigned(List<ProjectVO> projects, 
+    public List<IdNameVO> getProjectsTobeAssigned(List<IdNameVO> projects, 
             EmployeeVO employee);
 
     /** 
@@ -95,11 +178,21 @@ public interface EmployeeService {
     public boolean removeEmployeeById(int employeeId) throws EmployeeManagementException;   
 
     /** 
-     * Clears all employees from record.
+     * Clears all employees from record, a chunk of employees per transaction.
+     *
+     * @param progressListener  told of the rows deleted so far after every
+     *                          chunk, may be null
+     * @return                  DeleteReportVO rows deleted from each table
+     */
+    public DeleteReportVO removeAllEmployee(Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException;
+
+    /** 
+     * Empties the employee, address and project records at once by
+     * truncating their tables. Cannot be undone.
      *
-     * @return boolean true if all employee records are removed
+     * @return  DeleteReportVO names of the truncated tables
      */
-    public boolean removeAllEmployee() throws EmployeeManagementException;
+    public DeleteReportVO resetAllRecords() throws EmployeeManagementException;
 
     /**
      * Validates id is integer and does not allow id to be 0.
@@ -2,10 +2,17 @@ package com.proj.employeemanagement.service;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.exception.EmployeeManagementException;
-import com.proj.employeemanagement.model.EmployeeVO;
+import com.proj.employeemanagement.model.AssignmentReportVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.model.PageVO;
 import com.proj.employeemanagement.model.ProjectVO;
+import com.proj.employeemanagement.util.ProjectField;
 
 /**
  * Implements application to store, return, delete and validate project
@@ -25,6 +32,14 @@ public interface ProjectService {
      */
     public int createProject(ProjectVO projectVO) throws EmployeeManagementException;
 
+    /** 
+     * Creates many projects in one batch.
+     *
+     * @param projectsVO  projects to be created
+     * @return            List<Integer> ids of the created projects in order
+     */
+    public List<Integer> createProjects(List<ProjectVO> projectsVO) throws EmployeeManagementException;
+
     /** 
      * Fetches specfic project details using project id.
      * 
@@ -39,21 +54,57 @@ public interface ProjectService {
      * @return  List<ProjectVO>> all projects details 
      */
     public List<ProjectVO> getAllProject() throws EmployeeManagementException;
+
+    /** 
+     * Fetches only the id and name of all projects, for the user to pick from.
+     * 
+     * @return  List<IdNameVO> id and name of all projects
+     */
+    public List<IdNameVO> getProjectNames() throws EmployeeManagementException;
+
+    /** 
+     * Fetches the page of projects following the given id.
+     * 
+     * @param lastId    id of the last project already shown, 0 for the first page
+     * @param pageSize  number of projects in a page
+     * @return          PageVO<ProjectVO> projects of the page and its cursors
+     */
+    public PageVO<ProjectVO> getProjectsAfter(int lastId, int pageSize) throws EmployeeManagementException;
+
+    /** 
+     * Fetches the page of projects preceding the given id.
+     * 
+     * @param firstId   id of the first project already shown
+     * @param pageSize  number of projects in a page
+     * @return          PageVO<ProjectVO> projects of the page and its cursors
+     */
+    public PageVO<ProjectVO> getProjectsBefore(int firstId, int pageSize) throws EmployeeManagementException;
     
     /**
-     * Gets all employees details.
+     * Gets the id and name of all employees, for picking employees to assign.
      *  
-     * @return List<EmployeeVO> all employees details
+     * @return List<IdNameVO> id and name of all employees
      */
-    public List<EmployeeVO> getAllEmployee() throws EmployeeManagementException;
+    public List<IdNameVO> getEmployeeNames() throws EmployeeManagementException;
 
     /** 
-     * Updates all details of a project.
+     * Updates all details of a project. The version of the project VO is
+     * advanced when the update succeeds.
      *
      * @param projectVO  project object to update project 
      * @return            boolean true if details are updated or false
      */
     public boolean updateProject(ProjectVO projectVO) throws EmployeeManagementException;
+
+    /** 
+     * Changes only the given fields of a project, leaving the other
+     * columns and its employees as they are.
+     *
+     * @param projectId  id of the project to be patched
+     * @param changes    new value of every field to be changed
+     * @return           boolean true if the project is updated or false
+     */
+    public boolean patchProject(int projectId, Map<ProjectField, ?> changes) throws EmployeeManagementException;
     
     /** 
      * Assign employee to project.
@@ -64,7 +115,7 @@ public interface ProjectService {
      * @return             List<Integer> if details are assign or null
      */
     public List<Integer> assignEmployeeToProject(String employeeIds, 
-            ProjectVO project, List<EmployeeVO> employees) throws EmployeeManagementException;
+            ProjectVO project, List<IdNameVO> employees) throws EmployeeManagementException;
     
     /** 
      * Deassign employee to project.
@@ -75,15 +126,36 @@ public interface ProjectService {
      */
     public List<Integer> deAssignEmployeeToProject(String employeeIds, 
             ProjectVO project) throws EmployeeManagementException;
+
+    /** 
+     * Assigns every employee to every project at once. Ids are validated
+     * with one query and pairs already assigned are skipped.
+     *
+     * @param employeeIds  ids of the employees to be assigned
+     * @param projectIds   ids of the projects to be staffed
+     * @return             AssignmentReportVO missing ids and pairs written
+     */
+    public AssignmentReportVO assignEmployeesToProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException;
+
+    /** 
+     * Removes every employee from every project at once.
+     *
+     * @param employeeIds  ids of the employees to be deassigned
+     * @param projectIds   ids of the projects to be left
+     * @return             AssignmentReportVO missing ids and pairs deleted
+     */
+    public AssignmentReportVO unassignEmployeesFromProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException;
     
     /** 
      * Gets employees yet to be assigned.
      *
      * @param employees  list of all employees availabale
      * @param project    project used to get assigned employee
-     * @return           List<EmployeeVO>  list of all employees yet to be assigned
+     * @return           List<IdNameVO>  list of all employees yet to be assigned
      */
-    public List<EmployeeVO> getEmployeesTobeAssigned(List<EmployeeVO> employees,
+    public List<IdNameVO> getEmployeesTobeAssigned(List<IdNameVO> employees,
             ProjectVO project);
 
     /** 
@@ -95,11 +167,13 @@ public interface ProjectService {
     public boolean removeProjectById(int projectId) throws EmployeeManagementException;   
 
     /** 
-     * Clears all projects from record.
+     * Clears all projects from record, a chunk of projects per transaction.
      *
-     * @return boolean true if all project records are removed
+     * @param progressListener  told of the rows deleted so far after every
+     *                          chunk, may be null
+     * @return                  DeleteReportVO rows deleted from each table
      */
-    public boolean removeAllProject() throws EmployeeManagementException;
+    public DeleteReportVO removeAllProject(Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException;
 
     /**
      * Validates id is integer and does not allow id to be 0.
@@ -117,6 +191,15 @@ public interface ProjectService {
      */
     public boolean isValidEmployeeId(String employeeId);
 
+    /**
+     * Parses a comma separated list of ids into a set.
+     *
+     * @param ids  ids separated by comma, spaces allowed
+     * @return     Set<Integer> ids in the given order or null if the list
+     *             is not valid
+     */
+    public Set<Integer> parseIds(String ids);
+
     /** 
      * Validates name is alphabet and allows spaces only between names.
      *
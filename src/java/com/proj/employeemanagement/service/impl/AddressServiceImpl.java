@@ -2,6 +2,8 @@ package com.proj.employeemanagement.service.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.proj.employeemanagement.dao.AddressDAO;
 import com.proj.employeemanagement.dao.impl.AddressDAOImpl;
@@ -9,8 +11,13 @@ import com.proj.employeemanagement.exception.EmployeeManagementException;
 import com.proj.employeemanagement.mapper.AddressMapper;
 import com.proj.employeemanagement.mapper.EmployeeMapper;
 import com.proj.employeemanagement.persistence.Address;
+import com.proj.employeemanagement.model.AddressReferenceVO;
 import com.proj.employeemanagement.model.AddressVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.model.PageVO;
 import com.proj.employeemanagement.service.AddressService;
+import com.proj.employeemanagement.util.AddressField;
+import com.proj.employeemanagement.util.ConstantUtil;
 
 /**
  * Implements methods to store, get, update and delete employee address detail 
@@ -34,6 +41,15 @@ public class AddressServiceImpl implements AddressService {
                 .getEmployee()));  
         return (addressDAO.saveAddress(address));
     }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Integer> addAddresses(List<AddressVO> addressesVO) throws EmployeeManagementException {
+        return (addressDAO.saveAddresses(AddressMapper
+                .convertAddressesVOToAddresses(addressesVO)));
+    }
     
     /**
      * {@inheritDoc} 
@@ -54,26 +70,49 @@ public class AddressServiceImpl implements AddressService {
      */
     @Override
     public boolean updateAddress(AddressVO addressVO) throws EmployeeManagementException {
-        return (null != addressDAO.updateAddressById(AddressMapper
-                .convertAddressVOToAddress(addressVO)));
+        Address address = addressDAO.updateAddressById(AddressMapper
+                .convertAddressVOToAddress(addressVO));
+
+        if (null != address) {
+            addressVO.setVersion(address.getVersion());
+        }
+        return (null != address);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean patchAddress(int addressId, Map<AddressField, ?> changes) throws EmployeeManagementException {
+        return (0 != addressDAO.patchAddress(addressId, changes));
     }
     
     /** 
      * {@inheritDoc}
      */
     @Override
-    public List<AddressVO> getAddressId() throws EmployeeManagementException {
-        List<Address> addressList = addressDAO.fetchAllAddress();
-        List<AddressVO> addresses = new ArrayList<>();
-        
-        if (null != addressList) {
-            for (Address address : addressList) {
-                 addresses.add(AddressMapper.convertAddressToAddressVO(address));
-            }
-        }
-        return addresses;
+    public List<AddressReferenceVO> getAddressId() throws EmployeeManagementException {
+        return addressDAO.fetchAllAddress();
     }   
     
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public PageVO<AddressVO> getAddressesAfter(int lastId, int pageSize) throws EmployeeManagementException {
+        return convertAddressesToPage(addressDAO.fetchAddressesAfter(lastId, pageSize + 1),
+                lastId, pageSize, true);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public PageVO<AddressVO> getAddressesBefore(int firstId, int pageSize) throws EmployeeManagementException {
+        return convertAddressesToPage(addressDAO.fetchAddressesBefore(firstId, pageSize + 1),
+                firstId, pageSize, false);
+    }
+
     /** 
      * {@inheritDoc}
      */
@@ -86,8 +125,8 @@ public class AddressServiceImpl implements AddressService {
      * {@inheritDoc}
      */
     @Override
-    public boolean removeAllAddress() throws EmployeeManagementException {
-        return (0 != addressDAO.deleteAllAddress());
+    public DeleteReportVO removeAllAddress(Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException {
+        return addressDAO.deleteAllAddress(ConstantUtil.DELETE_CHUNK_SIZE, progressListener);
     }
     
     /**
@@ -150,6 +189,35 @@ public class AddressServiceImpl implements AddressService {
                 + "([ ]?[a-zA-Z]?[a-zA-Z]*)?$");       
     }
 
+    /**
+     * Converts addresses fetched next to a cursor into a page. One row more
+     * than the page size is fetched to learn whether another page follows
+     * in the direction of the read.
+     *
+     * @param addresses  addresses in ascending id order, at most pageSize + 1
+     * @param cursorId   id next to which the addresses were fetched
+     * @param pageSize   number of addresses in a page
+     * @param isForward  true if the addresses follow the cursor
+     * @return           PageVO<AddressVO> page of addresses and its cursors
+     */
+    private PageVO<AddressVO> convertAddressesToPage(List<Address> addresses,
+            int cursorId, int pageSize, boolean isForward) {
+        List<AddressVO> addressesVO = new ArrayList<>();
+        boolean hasMore = addresses.size() > pageSize;
+        
+        if (hasMore) {
+            addresses = isForward ? addresses.subList(0, pageSize) 
+                    : addresses.subList(1, addresses.size());
+        }
+        for (Address address : addresses) {
+            addressesVO.add(AddressMapper.convertAddressToAddressVO(address));
+        }
+        return new PageVO<>(addressesVO,
+                addresses.isEmpty() ? cursorId : addresses.get(0).getId(),
+                addresses.isEmpty() ? cursorId : addresses.get(addresses.size() - 1).getId(),
+                isForward ? 0 < cursorId : hasMore, isForward ? hasMore : true);
+    }
+
     /**
      * Validates whether given detail matches with given regex pattern.
      *
@@ -0,0 +1,327 @@
+package com.proj.employeemanagement.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.impl.EmployeeDAOImpl;
+import com.proj.employeemanagement.dao.impl.WriteBehindEmployeeDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.model.ExportReportVO;
+import com.proj.employeemanagement.persistence.Address;
+import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.persistence.Project;
+import com.proj.employeemanagement.service.EmployeeExportService;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.ExportFormat;
+
+/**
+ * Streams the employee directory from database cursors straight into
+ * buffered, optionally gzipped files. Each employee is written and dropped
+ * as soon as its addresses and projects are read, and the id range can be
+ * split across parallel workers which each write a part file.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class EmployeeExportServiceImpl implements EmployeeExportService {
+
+    /** Every worker holds three pooled connections while it runs. */
+    private static final int MAX_PARALLELISM = 3;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,name,phone_number,dob,salary,"
+            + "email_id,addresses,projects";
+
+    private EmployeeDAO employeeDAO = WriteBehindEmployeeDAO.wrap(
+            new EmployeeDAOImpl());
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExportReportVO exportEmployees(String filePath, ExportFormat exportFormat,
+            boolean isCompressed, int parallelism) throws EmployeeManagementException {
+        long startTime = System.currentTimeMillis();
+        ExportReportVO report = new ExportReportVO();
+        int[] idRange = employeeDAO.fetchEmployeeIdRange();
+        int partCount = Math.max(1, Math.min(parallelism, MAX_PARALLELISM));
+
+        if (null == idRange) {
+            idRange = new int[] {1, 0};
+        }
+        if (1 == partCount) {
+            report.setExportedRows(exportRange(Paths.get(filePath), idRange[0],
+                    idRange[1], exportFormat, isCompressed));
+            report.addFile(filePath);
+        } else {
+            report.setExportedRows(exportParts(filePath, idRange, partCount,
+                    exportFormat, isCompressed, report));
+        }
+        report.setElapsedMillis(System.currentTimeMillis() - startTime);
+        EmployeeManagementLogger.LOGGER.info("Employee export finished\n" + report);
+        return report;
+    }
+
+    /**
+     * Splits the id range into equal parts and exports each part to its own
+     * file on its own thread.
+     *
+     * @param filePath      path the part file names are derived from
+     * @param idRange       lowest and highest employee id
+     * @param partCount     number of parts
+     * @param exportFormat  format of the files
+     * @param isCompressed  true to gzip the files
+     * @param report        report receiving the part files
+     * @return              int number of employees exported
+     */
+    private int exportParts(String filePath, int[] idRange, int partCount,
+            ExportFormat exportFormat, boolean isCompressed, ExportReportVO report)
+            throws EmployeeManagementException {
+        int exportedRows = 0;
+        long partSize = Math.max(1, ((long) idRange[1] - idRange[0] + partCount) / partCount);
+        ExecutorService executor = Executors.newFixedThreadPool(partCount);
+        List<Future<Integer>> parts = new ArrayList<>();
+
+        try {
+            for (int part = 0; part < partCount; part++) {
+                Path partPath = getPartPath(filePath, part);
+                int fromId = (int) (idRange[0] + part * partSize);
+                int toId = (int) Math.min(idRange[1], fromId + partSize - 1);
+
+                parts.add(executor.submit(() -> exportRange(partPath, fromId, toId,
+                        exportFormat, isCompressed)));
+                report.addFile(partPath.toString());
+            }
+            for (Future<Integer> part : parts) {
+                exportedRows += part.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_025));
+        } catch (ExecutionException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception.getCause());
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_025));
+        } finally {
+            executor.shutdownNow();
+        }
+        return exportedRows;
+    }
+
+    /**
+     * Streams the employees of an id range into a file.
+     *
+     * @param path          file to be written
+     * @param fromId        lowest id of the range
+     * @param toId          highest id of the range
+     * @param exportFormat  format of the file
+     * @param isCompressed  true to gzip the file
+     * @return              int number of employees written
+     */
+    private int exportRange(Path path, int fromId, int toId, ExportFormat exportFormat,
+            boolean isCompressed) throws EmployeeManagementException {
+        int exportedRows = 0;
+
+        try (Writer writer = openWriter(path, isCompressed)) {
+            ExportWriter exportWriter = new ExportWriter(writer, exportFormat);
+
+            if (fromId <= toId) {
+                exportedRows = employeeDAO.streamEmployees(fromId, toId,
+                        exportWriter::write);
+            }
+        } catch (IOException | UncheckedIOException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception);
+            throw new EmployeeManagementException(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_025));
+        }
+        return exportedRows;
+    }
+
+    private Writer openWriter(Path path, boolean isCompressed) throws IOException {
+        OutputStream outputStream = Files.newOutputStream(path);
+
+        if (isCompressed) {
+            outputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(outputStream,
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Derives the name of a part file by inserting the part number before
+     * the extensions of the file name, as in employees.part1.csv.gz.
+     */
+    private Path getPartPath(String filePath, int part) {
+        Path path = Paths.get(filePath);
+        String fileName = path.getFileName().toString();
+        int extensionIndex = fileName.indexOf('.');
+        String partName = (0 < extensionIndex)
+                ? fileName.substring(0, extensionIndex) + ".part" + part
+                        + fileName.substring(extensionIndex)
+                : fileName + ".part" + part;
+
+        return path.resolveSibling(partName);
+    }
+
+    /**
+     * Formats employees into one file. Instances are confined to the thread
+     * exporting the file, so the date formats need no locking.
+     */
+    private static class ExportWriter {
+
+        private final Writer writer;
+        private final ExportFormat exportFormat;
+        private final SimpleDateFormat csvDateFormat = new SimpleDateFormat("dd/MM/yyyy");
+        private final SimpleDateFormat jsonDateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        private final StringBuilder line = new StringBuilder(512);
+
+        private ExportWriter(Writer writer, ExportFormat exportFormat) throws IOException {
+            this.writer = writer;
+            this.exportFormat = exportFormat;
+            if (ExportFormat.CSV == exportFormat) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+        }
+
+        private void write(Employee employee) {
+            line.setLength(0);
+            if (ExportFormat.CSV == exportFormat) {
+                appendCsv(employee);
+            } else {
+                appendJson(employee);
+            }
+            line.append('\n');
+            try {
+                writer.append(line);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        private void appendCsv(Employee employee) {
+            StringBuilder addresses = new StringBuilder();
+            StringBuilder projects = new StringBuilder();
+
+            for (Address address : employee.getAddresses()) {
+                if (0 < addresses.length()) {
+                    addresses.append(" | ");
+                }
+                addresses.append(address.getDoorNumber()).append(", ")
+                        .append(address.getStreet()).append(", ")
+                        .append(address.getDistrict()).append(", ")
+                        .append(address.getState()).append(", ")
+                        .append(address.getCountry()).append(", ")
+                        .append(address.getPincode());
+            }
+            for (Project project : employee.getProjects()) {
+                if (0 < projects.length()) {
+                    projects.append(" | ");
+                }
+                projects.append(project.getId()).append(':').append(project.getName());
+            }
+            line.append(employee.getId()).append(',');
+            appendCsvValue(employee.getName());
+            line.append(',');
+            appendCsvValue(employee.getPhoneNumber());
+            line.append(',');
+            appendCsvValue((null == employee.getDob()) ? null
+                    : csvDateFormat.format(employee.getDob()));
+            line.append(',').append(employee.getSalary()).append(',');
+            appendCsvValue(employee.getEmailId());
+            line.append(',');
+            appendCsvValue(addresses.toString());
+            line.append(',');
+            appendCsvValue(projects.toString());
+        }
+
+        private void appendCsvValue(String value) {
+            if (null == value) {
+                return;
+            }
+            if (-1 == value.indexOf(',') && -1 == value.indexOf('"')
+                    && -1 == value.indexOf('\n')) {
+                line.append(value);
+            } else {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            }
+        }
+
+        private void appendJson(Employee employee) {
+            boolean isFirst = true;
+
+            line.append("{\"id\":").append(employee.getId()).append(",\"name\":");
+            appendJsonValue(employee.getName());
+            line.append(",\"phoneNumber\":");
+            appendJsonValue(employee.getPhoneNumber());
+            line.append(",\"dob\":");
+            appendJsonValue((null == employee.getDob()) ? null
+                    : jsonDateFormat.format(employee.getDob()));
+            line.append(",\"salary\":").append(employee.getSalary())
+                    .append(",\"emailId\":");
+            appendJsonValue(employee.getEmailId());
+            line.append(",\"addresses\":[");
+            for (Address address : employee.getAddresses()) {
+                line.append(isFirst ? "" : ",").append("{\"id\":")
+                        .append(address.getId()).append(",\"doorNumber\":");
+                appendJsonValue(address.getDoorNumber());
+                line.append(",\"street\":");
+                appendJsonValue(address.getStreet());
+                line.append(",\"district\":");
+                appendJsonValue(address.getDistrict());
+                line.append(",\"state\":");
+                appendJsonValue(address.getState());
+                line.append(",\"country\":");
+                appendJsonValue(address.getCountry());
+                line.append(",\"pincode\":").append(address.getPincode()).append('}');
+                isFirst = false;
+            }
+            isFirst = true;
+            line.append("],\"projects\":[");
+            for (Project project : employee.getProjects()) {
+                line.append(isFirst ? "" : ",").append("{\"id\":")
+                        .append(project.getId()).append(",\"name\":");
+                appendJsonValue(project.getName());
+                line.append('}');
+                isFirst = false;
+            }
+            line.append("]}");
+        }
+
+        private void appendJsonValue(String value) {
+            if (null == value) {
+                line.append("null");
+                return;
+            }
+            line.append('"');
+            for (int index = 0; index < value.length(); index++) {
+                char character = value.charAt(index);
+
+                if ('"' == character || '\\' == character) {
+                    line.append('\\').append(character);
+                } else if (' ' > character) {
+                    line.append(String.format("\\u%04x", (int) character));
+                } else {
+                    line.append(character);
+                }
+            }
+            line.append('"');
+        }
+    }
+}
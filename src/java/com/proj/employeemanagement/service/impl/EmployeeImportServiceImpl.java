@@ -0,0 +1,451 @@
+package com.proj.employeemanagement.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.model.AddressVO;
+import com.proj.employeemanagement.model.EmployeeVO;
+import com.proj.employeemanagement.model.ImportReportVO;
+import com.proj.employeemanagement.service.AddressService;
+import com.proj.employeemanagement.service.EmployeeImportService;
+import com.proj.employeemanagement.service.EmployeeService;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.DateUtil;
+
+/**
+ * Streams an import file through parsing, validation, duplicate detection and
+ * batched persistence. A reader thread feeds a bounded queue, a pool of
+ * workers parses and validates rows with the employee and address
+ * validators and the calling thread removes duplicates and saves batches, so
+ * a slow stage holds back the stages before it instead of filling the heap.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final String[] HEADER_COLUMNS = {"name", "phone_number", "dob",
+            "salary", "email_id", "door_number", "street", "district", "state",
+            "country", "pincode"};
+    private static final int COLUMN_COUNT = HEADER_COLUMNS.length;
+    private static final ImportRow END_OF_FILE = new ImportRow(-1, null);
+
+    private final EmployeeService employeeService = new EmployeeServiceImpl();
+    private final AddressService addressService = new AddressServiceImpl();
+    private final int workerCount = Math.max(1, Runtime.getRuntime()
+            .availableProcessors() - 1);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportReportVO importEmployees(String filePath) throws EmployeeManagementException {
+        long startTime = System.currentTimeMillis();
+        ImportReportVO report = new ImportReportVO();
+        BlockingQueue<ImportRow> parseQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<ImportRow> persistQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        AtomicLong readNanos = new AtomicLong();
+        AtomicLong validateNanos = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount + 1);
+
+        try {
+            Future<Integer> reader = executor.submit(() -> readRows(filePath,
+                    parseQueue, readNanos));
+
+            for (int worker = 0; worker < workerCount; worker++) {
+                executor.submit(() -> validateRows(parseQueue, persistQueue,
+                        report, validateNanos));
+            }
+            persistRows(persistQueue, report);
+            report.setTotalRows(reader.get());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new EmployeeManagementException(ConstantUtil.ERROR
+                    .get(ConstantUtil.ERROR_CODE_024));
+        } catch (ExecutionException exception) {
+            EmployeeManagementLogger.LOGGER.error("Import of " + filePath
+                    + " failed", exception.getCause());
+            throw new EmployeeManagementException(ConstantUtil.ERROR
+                    .get(ConstantUtil.ERROR_CODE_024));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        report.addStageMillis("read", TimeUnit.NANOSECONDS.toMillis(readNanos.get()));
+        report.addStageMillis("parse and validate (all workers)",
+                TimeUnit.NANOSECONDS.toMillis(validateNanos.get()));
+        report.setElapsedMillis(System.currentTimeMillis() - startTime);
+        return report;
+    }
+
+    /**
+     * Reads the import file line by line into the parse queue, blocking when
+     * the workers fall behind. The first line is skipped if it is the header.
+     *
+     * @param filePath    path of the file to be read
+     * @param parseQueue  queue feeding the validation workers
+     * @param readNanos   time spent reading the file
+     * @return            int number of data rows read
+     */
+    private int readRows(String filePath, BlockingQueue<ImportRow> parseQueue,
+            AtomicLong readNanos) throws IOException, InterruptedException {
+        int rowCount = 0;
+        int lineNumber = 0;
+        long startTime = System.nanoTime();
+
+        try (BufferedReader bufferedReader = Files.newBufferedReader(Paths
+                .get(filePath), StandardCharsets.UTF_8)) {
+            String line;
+
+            while (null != (line = bufferedReader.readLine())) {
+                lineNumber++;
+                if (line.trim().isEmpty() || (1 == lineNumber && isHeader(line))) {
+                    continue;
+                }
+                rowCount++;
+                parseQueue.put(new ImportRow(lineNumber, line));
+            }
+        } finally {
+            readNanos.set(System.nanoTime() - startTime);
+            for (int worker = 0; worker < workerCount; worker++) {
+                parseQueue.put(END_OF_FILE);
+            }
+        }
+        return rowCount;
+    }
+
+    /**
+     * Parses and validates rows until the end of file marker is taken and
+     * passes valid rows on to the persist queue.
+     *
+     * @param parseQueue     queue of raw rows
+     * @param persistQueue   queue of validated rows
+     * @param report         report collecting rejected rows
+     * @param validateNanos  time spent parsing and validating
+     */
+    private Void validateRows(BlockingQueue<ImportRow> parseQueue,
+            BlockingQueue<ImportRow> persistQueue, ImportReportVO report,
+            AtomicLong validateNanos) throws InterruptedException {
+        SimpleDateFormat dateFormatter = new SimpleDateFormat("dd/MM/yyyy");
+
+        try {
+            ImportRow row;
+
+            while (END_OF_FILE != (row = parseQueue.take())) {
+                long startTime = System.nanoTime();
+                String error;
+
+                try {
+                    error = parseAndValidate(row, dateFormatter);
+                } catch (RuntimeException exception) {
+                    error = exception.toString();
+                }
+                validateNanos.addAndGet(System.nanoTime() - startTime);
+
+                if (null == error) {
+                    persistQueue.put(row);
+                } else {
+                    report.addRowError(row.lineNumber, error);
+                }
+            }
+        } finally {
+            persistQueue.put(END_OF_FILE);
+        }
+        return null;
+    }
+
+    /**
+     * Splits a row into employee and address details and validates each of
+     * them.
+     *
+     * @param row            row to be parsed, receives the parsed employee
+     * @param dateFormatter  formatter used for the date of birth
+     * @return               String reason the row is invalid or null if valid
+     */
+    private String parseAndValidate(ImportRow row, SimpleDateFormat dateFormatter) {
+        String[] columns = null;
+        Date dob;
+        float salary;
+        int pincode;
+
+        try {
+            columns = splitColumns(row.line);
+        } catch (IllegalArgumentException exception) {
+            return exception.getMessage();
+        }
+        if (COLUMN_COUNT != columns.length) {
+            return "expected " + COLUMN_COUNT + " columns but found " + columns.length;
+        }
+        for (int index = 0; index < columns.length; index++) {
+            columns[index] = columns[index].trim();
+        }
+
+        if (!employeeService.validateName(columns[0])) {
+            return "invalid name";
+        }
+        if (!employeeService.validatePhoneNumber(columns[1])) {
+            return "invalid phone number";
+        }
+        if (!employeeService.validateDate(columns[2])) {
+            return "invalid date of birth";
+        }
+        try {
+            dob = DateUtil.convertStringToDate(columns[2], dateFormatter);
+            salary = Float.parseFloat(columns[3]);
+            pincode = Integer.parseInt(columns[10]);
+        } catch (ParseException | NumberFormatException exception) {
+            return "invalid number or date: " + exception.getMessage();
+        }
+        if (!employeeService.isValidAge(dob)) {
+            return "age must be between 18 and 60";
+        }
+        if (!employeeService.validateSalary(salary)) {
+            return "invalid salary";
+        }
+        if (!employeeService.validateEmailId(columns[4])) {
+            return "invalid email id";
+        }
+        if (!addressService.validateDoorNumber(columns[5])) {
+            return "invalid door number";
+        }
+        if (!addressService.validateStreet(columns[6])) {
+            return "invalid street";
+        }
+        if (!addressService.validateDistrict(columns[7])) {
+            return "invalid district";
+        }
+        if (!addressService.validateState(columns[8])) {
+            return "invalid state";
+        }
+        if (!addressService.validateCountry(columns[9])) {
+            return "invalid country";
+        }
+        if (!addressService.validatePincode(pincode)) {
+            return "invalid pincode";
+        }
+
+        row.employee = new EmployeeVO(columns[0], columns[1], dob, salary, columns[4]);
+        row.employee.getAddresses().add(new AddressVO(null, columns[5], columns[6],
+                columns[7], columns[8], columns[9], pincode));
+        return null;
+    }
+
+    /**
+     * Tells if the line names exactly the columns of the import, in their
+     * order and in any case.
+     *
+     * @param line  first line of the file
+     * @return      boolean true if the line is the header row
+     */
+    private boolean isHeader(String line) {
+        String[] columns = null;
+
+        try {
+            columns = splitColumns(line);
+        } catch (IllegalArgumentException exception) {
+            return false;
+        }
+        if (COLUMN_COUNT != columns.length) {
+            return false;
+        }
+        for (int index = 0; index < columns.length; index++) {
+            if (!HEADER_COLUMNS[index].equalsIgnoreCase(columns[index].trim())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a CSV line into its columns. A column in double quotes may hold
+     * commas, and a doubled quote within it stands for one quote, as written
+     * by the export.
+     *
+     * @param line  line to be split
+     * @return      String[] columns of the line, unquoted
+     * @throws IllegalArgumentException  if a quoted column is not closed or
+     *                                   is followed by more text
+     */
+    private static String[] splitColumns(String line) {
+        List<String> columns = new ArrayList<>(COLUMN_COUNT);
+        StringBuilder column = new StringBuilder();
+        boolean isQuoted = false;
+        boolean isClosed = false;
+
+        for (int index = 0; index < line.length(); index++) {
+            char character = line.charAt(index);
+
+            if (isQuoted) {
+                if ('"' != character) {
+                    column.append(character);
+                } else if (index + 1 < line.length() && '"' == line.charAt(index + 1)) {
+                    column.append('"');
+                    index++;
+                } else {
+                    isQuoted = false;
+                    isClosed = true;
+                }
+            } else if (',' == character) {
+                columns.add(column.toString());
+                column.setLength(0);
+                isClosed = false;
+            } else if (isClosed) {
+                if (!Character.isWhitespace(character)) {
+                    throw new IllegalArgumentException("text after the closing quote of column "
+                            + (columns.size() + 1));
+                }
+            } else if ('"' == character && column.toString().trim().isEmpty()) {
+                column.setLength(0);
+                isQuoted = true;
+            } else {
+                column.append(character);
+            }
+        }
+        if (isQuoted) {
+            throw new IllegalArgumentException("unclosed quote in column " + (columns.size() + 1));
+        }
+        columns.add(column.toString());
+        return columns.toArray(new String[columns.size()]);
+    }
+
+    /**
+     * Drops duplicate rows and saves the remaining ones in batches until every
+     * worker has finished.
+     *
+     * @param persistQueue  queue of validated rows
+     * @param report        report collecting imported and rejected rows
+     */
+    private void persistRows(BlockingQueue<ImportRow> persistQueue,
+            ImportReportVO report) throws InterruptedException {
+        int finishedWorkers = 0;
+        int importedRows = 0;
+        long duplicateCheckNanos = 0;
+        long persistNanos = 0;
+        Set<String> phoneNumbers = new HashSet<>();
+        Set<String> emailIds = new HashSet<>();
+        List<ImportRow> batch = new ArrayList<>(ConstantUtil.BATCH_SIZE);
+
+        while (finishedWorkers < workerCount) {
+            ImportRow row = persistQueue.take();
+            long startTime = System.nanoTime();
+
+            if (END_OF_FILE == row) {
+                finishedWorkers++;
+                continue;
+            }
+            String duplicate = findDuplicate(row.employee, phoneNumbers, emailIds);
+            duplicateCheckNanos += System.nanoTime() - startTime;
+
+            if (null != duplicate) {
+                report.addRowError(row.lineNumber, duplicate);
+                continue;
+            }
+            batch.add(row);
+            if (ConstantUtil.BATCH_SIZE == batch.size()) {
+                startTime = System.nanoTime();
+                importedRows += saveBatch(batch, report);
+                persistNanos += System.nanoTime() - startTime;
+            }
+        }
+        long startTime = System.nanoTime();
+        importedRows += saveBatch(batch, report);
+        persistNanos += System.nanoTime() - startTime;
+
+        report.setImportedRows(importedRows);
+        report.addStageMillis("duplicate check", TimeUnit.NANOSECONDS
+                .toMillis(duplicateCheckNanos));
+        report.addStageMillis("persist", TimeUnit.NANOSECONDS.toMillis(persistNanos));
+    }
+
+    /**
+     * Checks a row against the rows already seen in the file and against the
+     * stored employees.
+     *
+     * @param employee      employee parsed from the row
+     * @param phoneNumbers  phone numbers already seen in the file
+     * @param emailIds      email ids already seen in the file
+     * @return              String reason the row is a duplicate or null
+     */
+    private String findDuplicate(EmployeeVO employee, Set<String> phoneNumbers,
+            Set<String> emailIds) {
+        try {
+            if (!phoneNumbers.add(employee.getPhoneNumber())
+                    || employeeService.isDuplicatePhoneNumber(employee.getPhoneNumber())) {
+                return "duplicate phone number " + employee.getPhoneNumber();
+            }
+            if (!emailIds.add(employee.getEmailId())
+                    || employeeService.isDuplicateEmailId(employee.getEmailId())) {
+                return "duplicate email id " + employee.getEmailId();
+            }
+        } catch (EmployeeManagementException exception) {
+            return exception.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * Saves a batch of rows and clears it.
+     *
+     * @param batch   rows to be saved
+     * @param report  report receiving the rows of a failed batch
+     * @return        int number of rows saved
+     */
+    private int saveBatch(List<ImportRow> batch, ImportReportVO report) {
+        int savedRows = 0;
+        List<EmployeeVO> employees = new ArrayList<>(batch.size());
+
+        if (batch.isEmpty()) {
+            return savedRows;
+        }
+        for (ImportRow row : batch) {
+            employees.add(row.employee);
+        }
+        try {
+            savedRows = employeeService.createEmployees(employees).size();
+        } catch (EmployeeManagementException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception);
+            for (ImportRow row : batch) {
+                report.addRowError(row.lineNumber, exception.getMessage());
+            }
+        }
+        batch.clear();
+        return savedRows;
+    }
+
+    /**
+     * Line of the import file travelling through the pipeline.
+     */
+    private static class ImportRow {
+
+        private final int lineNumber;
+        private final String line;
+        private EmployeeVO employee;
+
+        private ImportRow(int lineNumber, String line) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+        }
+    }
+}
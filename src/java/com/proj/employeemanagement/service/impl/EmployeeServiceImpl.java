@@ -4,20 +4,36 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import com.proj.employeemanagement.connection.UnitOfWork;
 import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.ProjectAssignmentDAO;
 import com.proj.employeemanagement.dao.impl.EmployeeDAOImpl;
+import com.proj.employeemanagement.dao.impl.ProjectAssignmentDAOImpl;
+import com.proj.employeemanagement.dao.impl.WriteBehindEmployeeDAO;
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.AddressVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
 import com.proj.employeemanagement.mapper.AddressMapper;
 import com.proj.employeemanagement.mapper.EmployeeMapper;
 import com.proj.employeemanagement.mapper.ProjectMapper;
 import com.proj.employeemanagement.persistence.Employee;
 import com.proj.employeemanagement.model.EmployeeVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.model.PageVO;
 import com.proj.employeemanagement.model.ProjectVO;
+import com.proj.employeemanagement.service.AddressService;
 import com.proj.employeemanagement.service.EmployeeService;
 import com.proj.employeemanagement.service.ProjectService;
+import com.proj.employeemanagement.util.ConstantUtil;
 import com.proj.employeemanagement.util.DateUtil;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.FetchPlan;
 
 /**
  * Implements methods to store, get, update and delete employee detail 
@@ -29,7 +45,9 @@ import com.proj.employeemanagement.util.DateUtil;
  */
 public class EmployeeServiceImpl implements EmployeeService {
 
-    private EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+    private EmployeeDAO employeeDAO = WriteBehindEmployeeDAO.wrap(
+            new EmployeeDAOImpl());
+    private ProjectAssignmentDAO projectAssignmentDAO = new ProjectAssignmentDAOImpl();
     
     /** 
      * {@inheritDoc}
@@ -42,22 +60,68 @@ public class EmployeeServiceImpl implements EmployeeService {
         return (employeeDAO.saveEmployee(employee));
     }
 
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public int createEmployeeWithAddress(EmployeeVO employeeVO, AddressVO addressVO) throws EmployeeManagementException {
+        AddressService addressService = new AddressServiceImpl();
+
+        return UnitOfWork.execute(() -> {
+            int employeeId = 0;
+
+            if (isDuplicatePhoneNumber(employeeVO.getPhoneNumber())
+                    || isDuplicateEmailId(employeeVO.getEmailId())) {
+                return 0;
+            }
+            employeeId = createEmployee(employeeVO);
+            employeeVO.setId(employeeId);
+            addressVO.setEmployee(employeeVO);
+            addressService.addAddress(addressVO);
+            return employeeId;
+        });
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Integer> createEmployees(List<EmployeeVO> employeesVO) throws EmployeeManagementException {
+        List<Employee> employees = new ArrayList<>();
+
+        for (EmployeeVO employeeVO : employeesVO) {
+            Employee employee = EmployeeMapper.convertEmployeeVOToEmployee(employeeVO);
+            employee.setAddresses(AddressMapper.convertAddressesVOToAddresses(employeeVO
+                    .getAddresses()));
+            employees.add(employee);
+        }
+        return (employeeDAO.saveEmployees(employees));
+    }
+
     /** 
      * {@inheritDoc}
      */
     @Override
     public EmployeeVO getEmployeeById(int employeeId) throws EmployeeManagementException {
+        return getEmployeeById(employeeId, FetchPlan.FULL);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public EmployeeVO getEmployeeById(int employeeId, FetchPlan fetchPlan) throws EmployeeManagementException {
         EmployeeVO employeeVO = null;
-        Employee employee = employeeDAO.fetchEmployeeById(employeeId);
+        Employee employee = employeeDAO.fetchEmployeeById(employeeId, fetchPlan);
         
         if (null != employee) {
             employeeVO = EmployeeMapper.convertEmployeeToEmployeeVO(employee);
             
-            if (null != employee.getProjects()) {
+            if (fetchPlan.isProjectsIncluded() && null != employee.getProjects()) {
                 employeeVO.setProjects(ProjectMapper.convertProjectsToProjectsVO(employee
                         .getProjects()));
             }
-            if (null != employee.getAddresses()) {
+            if (fetchPlan.isAddressesIncluded() && null != employee.getAddresses()) {
                 employeeVO.setAddresses(AddressMapper.convertAddressesToAddressesVO(employee
                         .getAddresses()));
             }
@@ -70,17 +134,29 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     public List<EmployeeVO> getAllEmployee() throws EmployeeManagementException {
-        List<Employee> employeeRecords = employeeDAO.fetchAllEmployee();
+        return getAllEmployee(FetchPlan.WITH_ADDRESSES);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EmployeeVO> getAllEmployee(FetchPlan fetchPlan) throws EmployeeManagementException {
+        List<Employee> employeeRecords = employeeDAO.fetchAllEmployee(fetchPlan);
         List<EmployeeVO> employees = new ArrayList<>();
 
         if (null != employeeRecords) {
             for (Employee employee : employeeRecords) {
                 EmployeeVO employeeVO = EmployeeMapper.convertEmployeeToEmployeeVO(employee);
             
-                if (null != employee.getAddresses()) {
+                if (fetchPlan.isAddressesIncluded() && null != employee.getAddresses()) {
                     employeeVO.setAddresses(AddressMapper.convertAddressesToAddressesVO(employee
                             .getAddresses()));
                 }
+                if (fetchPlan.isProjectsIncluded() && null != employee.getProjects()) {
+                    employeeVO.setProjects(ProjectMapper.convertProjectsToProjectsVO(employee
+                            .getProjects()));
+                }
                 employees.add(employeeVO);
             }
         } else {
@@ -88,14 +164,40 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
         return employees;
     }  
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<IdNameVO> getEmployeeNames() throws EmployeeManagementException {
+        return employeeDAO.fetchEmployeeNames();
+    }
     
     /** 
      * {@inheritDoc}
      */
     @Override
-    public List<ProjectVO> getAllProject() throws EmployeeManagementException {
+    public PageVO<EmployeeVO> getEmployeesAfter(int lastId, int pageSize) throws EmployeeManagementException {
+        return convertEmployeesToPage(employeeDAO.fetchEmployeesAfter(lastId, pageSize + 1, FetchPlan.WITH_ADDRESSES),
+                lastId, pageSize, true);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public PageVO<EmployeeVO> getEmployeesBefore(int firstId, int pageSize) throws EmployeeManagementException {
+        return convertEmployeesToPage(employeeDAO.fetchEmployeesBefore(firstId, pageSize + 1, FetchPlan.WITH_ADDRESSES),
+                firstId, pageSize, false);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<IdNameVO> getProjectNames() throws EmployeeManagementException {
         ProjectService projectService = new ProjectServiceImpl();
-        return projectService.getAllProject();
+        return projectService.getProjectNames();
     }  
     
     /** 
@@ -103,27 +205,37 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     public List<Integer> assignProjectToEmployee(String projectIds, 
-            EmployeeVO employee, List<ProjectVO> projects) throws EmployeeManagementException {
+            EmployeeVO employee, List<IdNameVO> projects) throws EmployeeManagementException {
         boolean isAvailableProject = true;
         String[] idsOfProject = projectIds.replaceAll("\\s", "").split(",");
         List<Integer> unAvailableProject = new ArrayList<>();
+        Set<Integer> newProjectIds = new LinkedHashSet<>();
         
         for (int index = 0; index < idsOfProject.length; index++) {
             isAvailableProject = false;
             
-            for (ProjectVO project : projects) {   
+            for (IdNameVO project : projects) {   
                 if (Integer.parseInt(idsOfProject[index]) == project.getId()) {
                     isAvailableProject = true;
-                    employee.getProjects().add(project);
+                    if (!isProjectAssigned(employee, project.getId())) {
+                        ProjectVO assignedProject = new ProjectVO();
+
+                        assignedProject.setId(project.getId());
+                        assignedProject.setName(project.getName());
+                        employee.getProjects().add(assignedProject);
+                        newProjectIds.add(project.getId());
+                    }
                 }
             }            
             if (false == isAvailableProject) {
                 unAvailableProject.add(Integer.valueOf(idsOfProject[index]));
             }
         }    
-        return ((idsOfProject.length > unAvailableProject.size()) 
-                ? (true == updateEmployee(employee) ? null : unAvailableProject) 
-                : unAvailableProject);
+        if (idsOfProject.length == unAvailableProject.size()) {
+            return unAvailableProject;
+        }
+        projectAssignmentDAO.assignProjects(employee.getId(), newProjectIds);
+        return null;
     }
     
     /** 
@@ -135,6 +247,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         boolean isAssignedProject = false; 
         String[] idsOfProject = projectIds.replaceAll("\\s", "").split(",");
         List<Integer> unAvailableProject = new ArrayList<>();
+        List<Integer> removedProjectIds = new ArrayList<>();
         
         for (int index = 0; index < idsOfProject.length; index++) {
             isAssignedProject = false;
@@ -143,7 +256,7 @@ public class EmployeeServiceImpl implements EmployeeService {
                 if (Integer.parseInt(idsOfProject[index]) == employee.getProjects()
                         .get(listIndex).getId()) {
                     isAssignedProject = true;
-                    employee.getProjects().remove(listIndex);
+                    removedProjectIds.add(employee.getProjects().remove(listIndex).getId());
                 }
             }
             if (false == isAssignedProject) {
@@ -151,7 +264,8 @@ public class EmployeeServiceImpl implements EmployeeService {
             }
         }        
         return ((idsOfProject.length > unAvailableProject.size()) 
-                ? (true == updateEmployee(employee) ? null : unAvailableProject) 
+                ? (0 != projectAssignmentDAO.deAssignProjects(employee.getId(), removedProjectIds) 
+                        ? null : unAvailableProject) 
                 : unAvailableProject);
     }
     
@@ -160,23 +274,31 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     public boolean updateEmployee(EmployeeVO employeeVO) throws EmployeeManagementException { 
-        Employee employee = EmployeeMapper.convertEmployeeVOToEmployee(employeeVO);
-        employee.setProjects(ProjectMapper.convertProjectsVOToProjects(employeeVO
-                .getProjects()));    
-        employee.setAddresses(AddressMapper.convertAddressesVOToAddresses(employeeVO
-                .getAddresses()));   
-        return (null != employeeDAO.updateEmployee(employee));
+        Employee employee = employeeDAO.updateEmployee(EmployeeMapper
+                .convertEmployeeVOToEmployee(employeeVO));
+        if (null != employee) {
+            employeeVO.setVersion(employee.getVersion());
+        }
+        return (null != employee);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean patchEmployee(int employeeId, Map<EmployeeField, ?> changes) throws EmployeeManagementException {
+        return (0 != employeeDAO.patchEmployee(employeeId, changes));
     }
     
     /** 
      * {@inheritDoc}
      */
     @Override
-    public List<ProjectVO> getProjectsTobeAssigned(List<ProjectVO> projects, 
+    public List<IdNameVO> getProjectsTobeAssigned(List<IdNameVO> projects, 
             EmployeeVO employee) {
-        List<Integer> assignedProjects = new ArrayList();
+        List<Integer> assignedProjects = new ArrayList<>();
         
-        for (ProjectVO project : projects) {
+        for (IdNameVO project : projects) {
             for (ProjectVO employeeProject : employee.getProjects()) {
                 if (employeeProject.getId() == project.getId()) {
                     assignedProjects.add(projects.indexOf(project));
@@ -202,8 +324,16 @@ public class EmployeeServiceImpl implements EmployeeService {
      * {@inheritDoc}
      */
     @Override
-    public boolean removeAllEmployee() throws EmployeeManagementException {
-        return (0 != employeeDAO.deleteAllEmployee());
+    public DeleteReportVO removeAllEmployee(Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException {
+        return employeeDAO.deleteAllEmployee(ConstantUtil.DELETE_CHUNK_SIZE, progressListener);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public DeleteReportVO resetAllRecords() throws EmployeeManagementException {
+        return employeeDAO.truncateAll();
     }
 
     /**
@@ -291,6 +421,55 @@ public class EmployeeServiceImpl implements EmployeeService {
         return (null != employeeDAO.fetchEmployeeByEmailId(emailId)); 
     }
 
+    /**
+     * Converts employees fetched next to a cursor into a page. One row more
+     * than the page size is fetched to learn whether another page follows
+     * in the direction of the read.
+     *
+     * @param employees  employees in ascending id order, at most pageSize + 1
+     * @param cursorId   id next to which the employees were fetched
+     * @param pageSize   number of employees in a page
+     * @param isForward  true if the employees follow the cursor
+     * @return           PageVO<EmployeeVO> page of employees and its cursors
+     */
+    private PageVO<EmployeeVO> convertEmployeesToPage(List<Employee> employees,
+            int cursorId, int pageSize, boolean isForward) {
+        List<EmployeeVO> employeesVO = new ArrayList<>();
+        boolean hasMore = employees.size() > pageSize;
+        
+        if (hasMore) {
+            employees = isForward ? employees.subList(0, pageSize) 
+                    : employees.subList(1, employees.size());
+        }
+        for (Employee employee : employees) {
+            EmployeeVO employeeVO = EmployeeMapper.convertEmployeeToEmployeeVO(employee);
+            
+            employeeVO.setAddresses(AddressMapper.convertAddressesToAddressesVO(employee
+                    .getAddresses()));
+            employeesVO.add(employeeVO);
+        }
+        return new PageVO<>(employeesVO,
+                employees.isEmpty() ? cursorId : employees.get(0).getId(),
+                employees.isEmpty() ? cursorId : employees.get(employees.size() - 1).getId(),
+                isForward ? 0 < cursorId : hasMore, isForward ? hasMore : true);
+    }
+
+    /**
+     * Checks whether the project is already assigned to the employee.
+     *
+     * @param employee   employee holding its assigned projects
+     * @param projectId  id of the project to be checked
+     * @return           boolean true if the project is assigned or false
+     */
+    private boolean isProjectAssigned(EmployeeVO employee, int projectId) {
+        for (ProjectVO assignedProject : employee.getProjects()) {
+            if (projectId == assignedProject.getId()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Validates whether given detail matches with given regex pattern.
      *
@@ -4,19 +4,33 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import com.proj.employeemanagement.dao.ProjectAssignmentDAO;
 import com.proj.employeemanagement.dao.ProjectDAO;
+import com.proj.employeemanagement.dao.impl.ProjectAssignmentDAOImpl;
 import com.proj.employeemanagement.dao.impl.ProjectDAOImpl;
+import com.proj.employeemanagement.dao.impl.WriteBehindProjectDAO;
 import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.AssignmentReportVO;
+import com.proj.employeemanagement.model.DeleteReportVO;
 import com.proj.employeemanagement.mapper.EmployeeMapper;
 import com.proj.employeemanagement.mapper.ProjectMapper;
 import com.proj.employeemanagement.persistence.Project;
 import com.proj.employeemanagement.model.EmployeeVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.model.PageVO;
 import com.proj.employeemanagement.model.ProjectVO;
 import com.proj.employeemanagement.service.EmployeeService;
 import com.proj.employeemanagement.service.ProjectService;
+import com.proj.employeemanagement.util.ConstantUtil;
 import com.proj.employeemanagement.util.DateUtil;
+import com.proj.employeemanagement.util.FetchPlan;
+import com.proj.employeemanagement.util.ProjectField;
 
 /**
  * Implements methods to store, get, update and delete project detail 
@@ -28,7 +42,8 @@ import com.proj.employeemanagement.util.DateUtil;
  */
 public class ProjectServiceImpl implements ProjectService {
 
-    private ProjectDAO projectDAO = new ProjectDAOImpl();
+    private ProjectDAO projectDAO = WriteBehindProjectDAO.wrap(new ProjectDAOImpl());
+    private ProjectAssignmentDAO projectAssignmentDAO = new ProjectAssignmentDAOImpl();
     
     /** 
      * {@inheritDoc}
@@ -39,13 +54,22 @@ public class ProjectServiceImpl implements ProjectService {
                 .convertProjectVOToProject(projectVO)));
     }
 
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Integer> createProjects(List<ProjectVO> projectsVO) throws EmployeeManagementException {
+        return (projectDAO.saveProjects(ProjectMapper
+                .convertProjectsVOToProjects(projectsVO)));
+    }
+
     /** 
      * {@inheritDoc}
      */
     @Override
     public ProjectVO getProjectById(int projectId) throws EmployeeManagementException {
         ProjectVO projectVO = null;
-        Project project = projectDAO.fetchProjectById(projectId);
+        Project project = projectDAO.fetchProjectById(projectId, FetchPlan.WITH_EMPLOYEES);
         
         if (null != project) {
             projectVO = ProjectMapper.convertProjectToProjectVO(project);
@@ -62,7 +86,7 @@ public class ProjectServiceImpl implements ProjectService {
      */
     @Override
     public List<ProjectVO> getAllProject() throws EmployeeManagementException {
-        List<Project> projectRecords = projectDAO.fetchAllProject();
+        List<Project> projectRecords = projectDAO.fetchAllProject(FetchPlan.SUMMARY);
         List<ProjectVO> projects = new ArrayList<>();
         
         if (null != projectRecords) {
@@ -79,14 +103,40 @@ public class ProjectServiceImpl implements ProjectService {
         }
         return projects;
     }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<IdNameVO> getProjectNames() throws EmployeeManagementException {
+        return projectDAO.fetchProjectNames();
+    }
     
     /** 
      * {@inheritDoc}
      */
     @Override
-    public List<EmployeeVO> getAllEmployee() throws EmployeeManagementException {
+    public PageVO<ProjectVO> getProjectsAfter(int lastId, int pageSize) throws EmployeeManagementException {
+        return convertProjectsToPage(projectDAO.fetchProjectsAfter(lastId, pageSize + 1, FetchPlan.SUMMARY),
+                lastId, pageSize, true);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public PageVO<ProjectVO> getProjectsBefore(int firstId, int pageSize) throws EmployeeManagementException {
+        return convertProjectsToPage(projectDAO.fetchProjectsBefore(firstId, pageSize + 1, FetchPlan.SUMMARY),
+                firstId, pageSize, false);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public List<IdNameVO> getEmployeeNames() throws EmployeeManagementException {
         EmployeeService employeeService = new EmployeeServiceImpl();
-        return employeeService.getAllEmployee();
+        return employeeService.getEmployeeNames();
     }     
 
     /** 
@@ -94,21 +144,31 @@ public class ProjectServiceImpl implements ProjectService {
      */
     @Override
     public boolean updateProject(ProjectVO projectVO) throws EmployeeManagementException {
-        Project project = ProjectMapper.convertProjectVOToProject(projectVO);
-        project.setEmployees(EmployeeMapper.convertEmployeesVOToEmployees(projectVO
-                .getEmployees()));  
-        return (null != projectDAO.updateProject(project));
+        Project project = projectDAO.updateProject(ProjectMapper
+                .convertProjectVOToProject(projectVO));
+        if (null != project) {
+            projectVO.setVersion(project.getVersion());
+        }
+        return (null != project);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean patchProject(int projectId, Map<ProjectField, ?> changes) throws EmployeeManagementException {
+        return (0 != projectDAO.patchProject(projectId, changes));
     }
     
     /** 
      * {@inheritDoc}
      */
     @Override
-    public List<EmployeeVO> getEmployeesTobeAssigned(List<EmployeeVO> employees, 
+    public List<IdNameVO> getEmployeesTobeAssigned(List<IdNameVO> employees, 
             ProjectVO project) {
-        List<Integer> assignedEmployees = new ArrayList();
+        List<Integer> assignedEmployees = new ArrayList<>();
 
-        for (EmployeeVO employee : employees) {
+        for (IdNameVO employee : employees) {
             for (EmployeeVO projectEmployee : project.getEmployees()) {
                 if (projectEmployee.getId() == employee.getId()) {
                     assignedEmployees.add(employees.indexOf(employee));
@@ -127,26 +187,36 @@ public class ProjectServiceImpl implements ProjectService {
      */
     @Override
     public List<Integer> assignEmployeeToProject(String employeeIds, 
-            ProjectVO project, List<EmployeeVO> employees) throws EmployeeManagementException {
+            ProjectVO project, List<IdNameVO> employees) throws EmployeeManagementException {
         boolean isAvailableEmployee = true;
         String[] idsOfEmployee = employeeIds.replaceAll("\\s", "").split(",");
         List<Integer> unAvailableEmployee = new ArrayList<>();
+        Set<Integer> newEmployeeIds = new LinkedHashSet<>();
         
         for (int index = 0; index < idsOfEmployee.length; index++) {
             isAvailableEmployee = false;
-            for (EmployeeVO employee : employees) {   
+            for (IdNameVO employee : employees) {   
                 if (Integer.parseInt(idsOfEmployee[index]) == employee.getId()) {
                     isAvailableEmployee = true;
-                    project.getEmployees().add(employee);
+                    if (!isEmployeeAssigned(project, employee.getId())) {
+                        EmployeeVO assignedEmployee = new EmployeeVO();
+
+                        assignedEmployee.setId(employee.getId());
+                        assignedEmployee.setName(employee.getName());
+                        project.getEmployees().add(assignedEmployee);
+                        newEmployeeIds.add(employee.getId());
+                    }
                 }
             }            
             if (false == isAvailableEmployee) {
                 unAvailableEmployee.add(Integer.valueOf(idsOfEmployee[index]));
             }
         }    
-        return ((idsOfEmployee.length > unAvailableEmployee.size()) 
-                ? (true == updateProject(project) ? null : unAvailableEmployee) 
-                : unAvailableEmployee);
+        if (idsOfEmployee.length == unAvailableEmployee.size()) {
+            return unAvailableEmployee;
+        }
+        projectAssignmentDAO.assignEmployees(project.getId(), newEmployeeIds);
+        return null;
     }
     
     /** 
@@ -158,6 +228,7 @@ public class ProjectServiceImpl implements ProjectService {
         boolean isAssignedEmployee = false; 
         String[] idsOfEmployee = employeeIds.replaceAll("\\s", "").split(",");
         List<Integer> unAvailableEmployee = new ArrayList<>();
+        List<Integer> removedEmployeeIds = new ArrayList<>();
         
         for (int index = 0; index < idsOfEmployee.length; index++) {
             isAssignedEmployee = false;
@@ -165,7 +236,7 @@ public class ProjectServiceImpl implements ProjectService {
                 if (Integer.parseInt(idsOfEmployee[index]) == project.getEmployees()
                         .get(listIndex).getId()) {
                     isAssignedEmployee = true;
-                    project.getEmployees().remove(listIndex);
+                    removedEmployeeIds.add(project.getEmployees().remove(listIndex).getId());
                 }
             }
             if (false == isAssignedEmployee) {
@@ -173,10 +244,29 @@ public class ProjectServiceImpl implements ProjectService {
             }
         }                
         return  ((idsOfEmployee.length > unAvailableEmployee.size()) 
-                ? (true == updateProject(project) ? null : unAvailableEmployee) 
+                ? (0 != projectAssignmentDAO.deAssignEmployees(project.getId(), removedEmployeeIds) 
+                        ? null : unAvailableEmployee) 
                 : unAvailableEmployee);
     }
 
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public AssignmentReportVO assignEmployeesToProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException {
+        return projectAssignmentDAO.assignEmployeesToProjects(employeeIds, projectIds);
+    }
+
+    /** 
+     * {@inheritDoc}
+     */
+    @Override
+    public AssignmentReportVO unassignEmployeesFromProjects(Set<Integer> employeeIds, 
+            Set<Integer> projectIds) throws EmployeeManagementException {
+        return projectAssignmentDAO.unassignEmployeesFromProjects(employeeIds, projectIds);
+    }
+
     /** 
      * {@inheritDoc}
      */
@@ -189,8 +279,8 @@ public class ProjectServiceImpl implements ProjectService {
      * {@inheritDoc}
      */
     @Override
-    public boolean removeAllProject() throws EmployeeManagementException {
-        return (0 != projectDAO.deleteAllProject());
+    public DeleteReportVO removeAllProject(Consumer<DeleteReportVO> progressListener) throws EmployeeManagementException {
+        return projectDAO.deleteAllProject(ConstantUtil.DELETE_CHUNK_SIZE, progressListener);
     }
 
     /**
@@ -209,6 +299,25 @@ public class ProjectServiceImpl implements ProjectService {
         return validateInput(employeeId, "^[1-9\\s\\,]*$"); 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> parseIds(String ids) {
+        Set<Integer> idSet = new LinkedHashSet<>();
+
+        if (null == ids || !validateInput(ids, "^\\s*\\d{1,9}(\\s*,\\s*\\d{1,9})*\\s*$")) {
+            return null;
+        }
+        for (String id : ids.replaceAll("\\s", "").split(",")) {
+            if (0 == Integer.parseInt(id)) {
+                return null;
+            }
+            idSet.add(Integer.valueOf(id));
+        }
+        return idSet;
+    }
+
     /** 
      * {@inheritDoc}
      */
@@ -236,6 +345,51 @@ public class ProjectServiceImpl implements ProjectService {
         return DateUtil.validateProjectDate(startDate);
     }
 
+    /**
+     * Converts projects fetched next to a cursor into a page. One row more
+     * than the page size is fetched to learn whether another page follows
+     * in the direction of the read.
+     *
+     * @param projects   projects in ascending id order, at most pageSize + 1
+     * @param cursorId   id next to which the projects were fetched
+     * @param pageSize   number of projects in a page
+     * @param isForward  true if the projects follow the cursor
+     * @return           PageVO<ProjectVO> page of projects and its cursors
+     */
+    private PageVO<ProjectVO> convertProjectsToPage(List<Project> projects,
+            int cursorId, int pageSize, boolean isForward) {
+        List<ProjectVO> projectsVO = new ArrayList<>();
+        boolean hasMore = projects.size() > pageSize;
+        
+        if (hasMore) {
+            projects = isForward ? projects.subList(0, pageSize) 
+                    : projects.subList(1, projects.size());
+        }
+        for (Project project : projects) {
+            projectsVO.add(ProjectMapper.convertProjectToProjectVO(project));
+        }
+        return new PageVO<>(projectsVO,
+                projects.isEmpty() ? cursorId : projects.get(0).getId(),
+                projects.isEmpty() ? cursorId : projects.get(projects.size() - 1).getId(),
+                isForward ? 0 < cursorId : hasMore, isForward ? hasMore : true);
+    }
+
+    /**
+     * Checks whether the employee is already assigned to the project.
+     *
+     * @param project     project holding its assigned employees
+     * @param employeeId  id of the employee to be checked
+     * @return            boolean true if the employee is assigned or false
+     */
+    private boolean isEmployeeAssigned(ProjectVO project, int employeeId) {
+        for (EmployeeVO assignedEmployee : project.getEmployees()) {
+            if (employeeId == assignedEmployee.getId()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Validates whether given detail matches with given regex pattern.
      *
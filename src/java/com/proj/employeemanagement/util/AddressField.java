@@ -0,0 +1,37 @@
+package com.proj.employeemanagement.util;
+
+/**
+ * Names the address fields which can be patched without rewriting
+ * the rest of the row.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public enum AddressField implements PatchField {
+
+    DOOR_NUMBER("doorNumber", String.class),
+    STREET("street", String.class),
+    DISTRICT("district", String.class),
+    STATE("state", String.class),
+    COUNTRY("country", String.class),
+    PINCODE("pincode", Integer.class);
+
+    private final String propertyName;
+    private final Class<?> valueType;
+
+    private AddressField(String propertyName, Class<?> valueType) {
+        this.propertyName = propertyName;
+        this.valueType = valueType;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return valueType;
+    }
+}
@@ -0,0 +1,123 @@
+package com.proj.employeemanagement.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe Bloom filter of strings. A negative answer from the filter is
+ * always correct while a positive answer only means the string may have been
+ * added and has to be confirmed elsewhere.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int expectedInsertions;
+
+    /**
+     * Sizes the filter for the given number of strings and false positive
+     * rate.
+     *
+     * @param expectedInsertions  number of strings expected to be added
+     * @param falsePositiveRate   acceptable rate of false positive answers
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int insertions = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate)
+                / (Math.log(2) * Math.log(2)));
+
+        this.expectedInsertions = insertions;
+        this.bits = new AtomicLongArray((int) ((Math.max(64, optimalBits) + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount
+                / insertions * Math.log(2)));
+    }
+
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Adds a string to the filter.
+     *
+     * @param value  string to be added
+     * @return       boolean true if the filter changed, so the string was
+     *               surely not added before, false if it may have been
+     */
+    public boolean add(String value) {
+        long hash = hash(value);
+        int firstHash = (int) hash;
+        int secondHash = (int) (hash >>> 32);
+        boolean isChanged = false;
+
+        for (int index = 1; index <= hashCount; index++) {
+            isChanged |= setBit(position(firstHash, secondHash, index));
+        }
+        return isChanged;
+    }
+
+    /**
+     * Checks whether a string may have been added to the filter.
+     *
+     * @param value  string to be checked
+     * @return       boolean false if the string was never added, true if it
+     *               may have been added
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int firstHash = (int) hash;
+        int secondHash = (int) (hash >>> 32);
+
+        for (int index = 1; index <= hashCount; index++) {
+            long position = position(firstHash, secondHash, index);
+
+            if (0 == (bits.get((int) (position >>> 6)) & (1L << position))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Derives the bit position of the given hash round from two base hashes.
+     */
+    private long position(int firstHash, int secondHash, int index) {
+        int combinedHash = firstHash + index * secondHash;
+
+        return ((combinedHash < 0) ? ~combinedHash : combinedHash) % bitCount;
+    }
+
+    /**
+     * Sets a bit, returning false if it was already set.
+     */
+    private boolean setBit(long position) {
+        int wordIndex = (int) (position >>> 6);
+        long mask = 1L << position;
+        long word;
+
+        do {
+            word = bits.get(wordIndex);
+            if (0 != (word & mask)) {
+                return false;
+            }
+        } while (!bits.compareAndSet(wordIndex, word, word | mask));
+        return true;
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the string.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int index = 0; index < value.length(); index++) {
+            hash ^= value.charAt(index);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
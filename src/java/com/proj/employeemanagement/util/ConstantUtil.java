@@ -34,6 +34,27 @@ public class ConstantUtil {
     public static final String ERROR_CODE_018 = "ERROR_CODE_018";
     public static final String ERROR_CODE_019 = "ERROR_CODE_019";
     public static final String ERROR_CODE_020 = "ERROR_CODE_020";
+    public static final String ERROR_CODE_021 = "ERROR_CODE_021";
+    public static final String ERROR_CODE_022 = "ERROR_CODE_022";
+    public static final String ERROR_CODE_023 = "ERROR_CODE_023";
+    public static final String ERROR_CODE_024 = "ERROR_CODE_024";
+    public static final String ERROR_CODE_025 = "ERROR_CODE_025";
+    public static final String ERROR_CODE_026 = "ERROR_CODE_026";
+    public static final String ERROR_CODE_027 = "ERROR_CODE_027";
+    public static final String ERROR_CODE_028 = "ERROR_CODE_028";
+    public static final String ERROR_CODE_030 = "ERROR_CODE_030";
+    public static final String ERROR_CODE_031 = "ERROR_CODE_031";
+    public static final String ERROR_CODE_032 = "ERROR_CODE_032";
+    public static final int BATCH_SIZE = 50;
+    public static final int PAGE_SIZE = 20;
+    public static final int DELETE_CHUNK_SIZE = 1000;
+    public static final int CONFLICT_RETRIES = 3;
+    public static final String EMPLOYEE_ADDRESSES
+            = "com.proj.employeemanagement.persistence.Employee.addresses";
+    public static final String EMPLOYEE_PROJECTS
+            = "com.proj.employeemanagement.persistence.Employee.projects";
+    public static final String PROJECT_EMPLOYEES
+            = "com.proj.employeemanagement.persistence.Project.employees";
     
     /**
      * Gets list of error message and its coressponding code.
@@ -64,6 +85,17 @@ public class ConstantUtil {
         collectionOfErrorCodes.put(ERROR_CODE_018, "Project was not updated");
         collectionOfErrorCodes.put(ERROR_CODE_019, "Project was not delete");
         collectionOfErrorCodes.put(ERROR_CODE_020, "Projects were not deleted");
+        collectionOfErrorCodes.put(ERROR_CODE_021, "Employees were not created");
+        collectionOfErrorCodes.put(ERROR_CODE_022, "Addresses were not created");
+        collectionOfErrorCodes.put(ERROR_CODE_023, "Projects were not created");
+        collectionOfErrorCodes.put(ERROR_CODE_024, "Employees could not be imported");
+        collectionOfErrorCodes.put(ERROR_CODE_025, "Employees could not be exported");
+        collectionOfErrorCodes.put(ERROR_CODE_026, "Project assignments were not updated");
+        collectionOfErrorCodes.put(ERROR_CODE_027, "Record was changed by another user, reload and try again");
+        collectionOfErrorCodes.put(ERROR_CODE_028, "Changes were not saved");
+        collectionOfErrorCodes.put(ERROR_CODE_030, "Change could not be recorded, try again");
+        collectionOfErrorCodes.put(ERROR_CODE_031, "Change events could not be published");
+        collectionOfErrorCodes.put(ERROR_CODE_032, "Buffered changes could not be written yet, try again");
         return Collections.unmodifiableMap(collectionOfErrorCodes);
     }
 }
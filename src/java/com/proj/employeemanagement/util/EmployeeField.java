@@ -0,0 +1,38 @@
+package com.proj.employeemanagement.util;
+
+import java.util.Date;
+
+/**
+ * Names the employee fields which can be patched without rewriting
+ * the rest of the row.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public enum EmployeeField implements PatchField {
+
+    NAME("name", String.class),
+    PHONE_NUMBER("phoneNumber", String.class),
+    DOB("dob", Date.class),
+    SALARY("salary", Float.class),
+    EMAIL_ID("emailId", String.class);
+
+    private final String propertyName;
+    private final Class<?> valueType;
+
+    private EmployeeField(String propertyName, Class<?> valueType) {
+        this.propertyName = propertyName;
+        this.valueType = valueType;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return valueType;
+    }
+}
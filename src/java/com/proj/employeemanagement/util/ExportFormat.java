@@ -0,0 +1,27 @@
+package com.proj.employeemanagement.util;
+
+/**
+ * Output formats of the employee directory export.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public enum ExportFormat {
+
+    /** One comma separated row per employee after a header row. */
+    CSV("csv"),
+
+    /** One JSON object per line per employee. */
+    JSON_LINES("jsonl");
+
+    private final String extension;
+
+    private ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
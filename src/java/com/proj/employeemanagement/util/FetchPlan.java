@@ -0,0 +1,52 @@
+package com.proj.employeemanagement.util;
+
+/**
+ * Names the associations to be loaded together with an employee or project.
+ * Collections are mapped lazy with subselect fetching, so loading a
+ * collection for a list of owners costs one query whatever the list size.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public enum FetchPlan {
+
+    /** Only the columns of the employee or project itself. */
+    SUMMARY(false, false, false),
+
+    /** Employee with its addresses. */
+    WITH_ADDRESSES(true, false, false),
+
+    /** Employee with its projects. */
+    WITH_PROJECTS(false, true, false),
+
+    /** Project with its employees. */
+    WITH_EMPLOYEES(false, false, true),
+
+    /** Every association of the employee or project. */
+    FULL(true, true, true);
+
+    private final boolean isAddressesIncluded;
+    private final boolean isProjectsIncluded;
+    private final boolean isEmployeesIncluded;
+
+    private FetchPlan(boolean isAddressesIncluded, boolean isProjectsIncluded,
+            boolean isEmployeesIncluded) {
+
+        this.isAddressesIncluded = isAddressesIncluded;
+        this.isProjectsIncluded = isProjectsIncluded;
+        this.isEmployeesIncluded = isEmployeesIncluded;
+    }
+
+    public boolean isAddressesIncluded() {
+        return isAddressesIncluded;
+    }
+
+    public boolean isProjectsIncluded() {
+        return isProjectsIncluded;
+    }
+
+    public boolean isEmployeesIncluded() {
+        return isEmployeesIncluded;
+    }
+}
@@ -0,0 +1,27 @@
+package com.proj.employeemanagement.util;
+
+/**
+ * A column which may be changed on its own by a patch update. Only fields
+ * listed by the implementing enums can be patched, so the update statement
+ * is never built from free text.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public interface PatchField {
+
+    /**
+     * Gets the name of the mapped property holding the field.
+     *
+     * @return String property name used in the update statement
+     */
+    public String getPropertyName();
+
+    /**
+     * Gets the type a new value of the field must have.
+     *
+     * @return Class<?> type of the property
+     */
+    public Class<?> getValueType();
+}
@@ -0,0 +1,37 @@
+package com.proj.employeemanagement.util;
+
+import java.util.Date;
+
+/**
+ * Names the project fields which can be patched without rewriting
+ * the rest of the row.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public enum ProjectField implements PatchField {
+
+    NAME("name", String.class),
+    DOMAIN("domain", String.class),
+    START_DATE("startDate", Date.class),
+    MANAGER_NAME("managerName", String.class);
+
+    private final String propertyName;
+    private final Class<?> valueType;
+
+    private ProjectField(String propertyName, Class<?> valueType) {
+        this.propertyName = propertyName;
+        this.valueType = valueType;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return valueType;
+    }
+}
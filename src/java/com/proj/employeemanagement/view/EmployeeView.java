@@ -2,18 +2,30 @@ package com.proj.employeemanagement.view;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 import com.proj.employeemanagement.controller.AddressController;
 import com.proj.employeemanagement.controller.EmployeeController;
 import com.proj.employeemanagement.exception.EmployeeManagementException;
 import com.proj.employeemanagement.logger.EmployeeManagementLogger;
+import com.proj.employeemanagement.model.AddressReferenceVO;
 import com.proj.employeemanagement.model.AddressVO;
 import com.proj.employeemanagement.model.EmployeeVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.model.ImportReportVO;
+import com.proj.employeemanagement.model.PageVO;
 import com.proj.employeemanagement.model.ProjectVO;
+import com.proj.employeemanagement.util.AddressField;
+import com.proj.employeemanagement.util.ConstantUtil;
 import com.proj.employeemanagement.util.DateUtil;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.ExportFormat;
+import com.proj.employeemanagement.util.FetchPlan;
 
 /**
  * Implements a application for inputting, validating and viewing all employee 
@@ -36,8 +48,9 @@ public class EmployeeView {
     private void createEmployee() {        
         int userChoice = 0;
                
-        while (3 != userChoice) {
-            System.out.println("1. Add employee\n2. Add address\n3. Exit");
+        while (4 != userChoice) {
+            System.out.println("1. Add employee\n2. Add address\n"
+                    + "3. Import employees from CSV file\n4. Exit");
             userChoice = getAndValidateChoiceOfUser();
             
             switch (userChoice) {
@@ -47,7 +60,7 @@ public class EmployeeView {
                 case 2:
                     try {
                         EmployeeVO employee = employeeController
-                                .getEmployeeById(getAndValidateId());
+                                .getEmployeeById(getAndValidateId(), FetchPlan.SUMMARY);
                         
                         if (null != employee) {
                             addAddress(employee);
@@ -61,6 +74,9 @@ public class EmployeeView {
                     }
                     break;
                 case 3:
+                    importEmployees();
+                    break;
+                case 4:
                     break;
                 default:
                     System.out.println("Enter a valid choose!!!\n");
@@ -69,6 +85,30 @@ public class EmployeeView {
         }
     }
 
+    /**
+     * Asks user for a CSV file of employees, imports it and prints the 
+     * import report.
+     */
+    private void importEmployees() {
+        System.out.println("Columns: name, phone number, date of birth(dd/mm/yyyy),"
+                + " salary, email id, door number, street, district, state,"
+                + " country, pincode");
+        System.out.print("Enter the file path: ");
+        
+        try {
+            ImportReportVO report = employeeController.importEmployees(scanner
+                    .nextLine().trim());
+            
+            for (String rowError : report.getRowErrors()) {
+                System.out.println(rowError);
+            }
+            System.out.println(report);
+        } catch (EmployeeManagementException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception);
+            System.out.println(exception);
+        }
+    }
+
     /**
      * Asks inputs from the user to create employee and prints message   
      * whether employee is created or not. 
@@ -80,13 +120,19 @@ public class EmployeeView {
         Date dob = getAndValidateDate();        
         float salary = getAndValidateSalary();
         String emailId = getAndValidateEmailId();
+        String doorNumber = getAndValidateDoorNumber();   
+        String street = getAndValidateStreet();
+        String district = getAndValidateDistrict();        
+        String state = getAndValidateState();
+        String country = getAndValidateCountry();
+        int pincode = getAndValidatePincode(); 
         
         try {            
-            employeeId = employeeController.createEmployee(new EmployeeVO(name,
-                    phoneNumber, dob, salary, emailId));
+            employeeId = employeeController.createEmployeeWithAddress(new EmployeeVO(name,
+                    phoneNumber, dob, salary, emailId), new AddressVO(null,
+                    doorNumber, street, district, state, country, pincode));
                     
             if (0 != employeeId) {
-                addAddress(employeeController.getEmployeeById(employeeId));
                 System.out.println("Employee was created\nEmployee id is: " 
                 + employeeId);
             } else {
@@ -133,7 +179,8 @@ public class EmployeeView {
         int userChoice;
         StringBuilder preference = new StringBuilder();
         preference.append("\n1. single employee\n2. all employees\n")
-                .append("3. single employee project\n4. exit\n");
+                .append("3. single employee project\n4. export all employees\n")
+                .append("5. exit\n");
 
         while (isValidChoice) {
             System.out.print(preference);
@@ -147,7 +194,7 @@ public class EmployeeView {
      * detail of all employees.
      * 
      * @param userChoice  choice selected by user to display employee detail
-     * @return            boolean false if choose is 3 or true 
+     * @return            boolean false if choose is 5 or true 
      */
     private boolean executeViewOperation(int userChoice) {
         boolean isValidChoice = true;
@@ -163,6 +210,9 @@ public class EmployeeView {
                 viewProjectByEmployeeId();
                 break;
             case 4:
+                exportEmployees();
+                break;
+            case 5:
                 isValidChoice = false;
                 break;
             default:
@@ -180,7 +230,8 @@ public class EmployeeView {
         int employeeId = getAndValidateId();
         
         try {            
-            employee = employeeController.getEmployeeById(employeeId);  
+            employee = employeeController.getEmployeeById(employeeId,
+                    FetchPlan.WITH_ADDRESSES);  
             
             if (null != employee) {
                 List<AddressVO> addresses = employee.getAddresses();
@@ -203,27 +254,34 @@ public class EmployeeView {
     }
 
     /**
-     * Displays all employee details.
+     * Displays all employee details a page at a time.
      */    
     private void viewAllEmployee() {
-        List<EmployeeVO> employees = null;
+        int userChoice = 0;
         
         try {            
-            employees = employeeController.getAllEmployee();
+            PageVO<EmployeeVO> page = employeeController.getEmployeesAfter(0,
+                    ConstantUtil.PAGE_SIZE);
             
-            if (null != employees) {
-                for (EmployeeVO employeeDetail : employees) {
-                    List<AddressVO> addresses = employeeDetail.getAddresses();
-                    
-                    if (null != addresses) {          
-                        System.out.println(employeeDetail);
-                        for (AddressVO address : addresses) {
-                            System.out.println(address);
-                        }
-                    }                
-                }
-            } else {
+            if (page.isEmpty()) {
                 System.out.println("Database is empty!!!");
+                return;
+            }
+            while (3 != userChoice) {
+                for (EmployeeVO employeeDetail : page.getItems()) {
+                    System.out.println(employeeDetail);
+                    for (AddressVO address : employeeDetail.getAddresses()) {
+                        System.out.println(address);
+                    }
+                }
+                userChoice = getPageChoiceOfUser(page);
+                if (1 == userChoice) {
+                    page = employeeController.getEmployeesAfter(page.getLastId(),
+                            ConstantUtil.PAGE_SIZE);
+                } else if (2 == userChoice) {
+                    page = employeeController.getEmployeesBefore(page.getFirstId(),
+                            ConstantUtil.PAGE_SIZE);
+                }
             }
         } catch (EmployeeManagementException exception) {
             EmployeeManagementLogger.LOGGER.error(exception);
@@ -231,6 +289,43 @@ public class EmployeeView {
         }           
     }
     
+    /**
+     * Asks user for the format, compression and parallelism of the export,
+     * exports all employees and prints the export report.
+     */
+    private void exportEmployees() {
+        int userChoice = 0;
+        boolean isCompressed = false;
+        ExportFormat exportFormat = null;
+        String filePath = null;
+
+        while (null == exportFormat) {
+            System.out.println("1. CSV\n2. JSON Lines");
+            userChoice = getAndValidateChoiceOfUser();
+            exportFormat = (1 == userChoice) ? ExportFormat.CSV 
+                    : (2 == userChoice) ? ExportFormat.JSON_LINES : null;
+        }
+        System.out.println("Compress with gzip?\n1. yes\n2. no");
+        isCompressed = (1 == getAndValidateChoiceOfUser());
+        System.out.print("Enter the file path (default employees." 
+                + exportFormat.getExtension() + (isCompressed ? ".gz" : "") + "): ");
+        filePath = scanner.nextLine().trim();
+        if (filePath.isEmpty()) {
+            filePath = "employees." + exportFormat.getExtension() 
+                    + (isCompressed ? ".gz" : "");
+        }
+        System.out.println("Number of parallel parts (1 for a single file)");
+        userChoice = getAndValidateChoiceOfUser();
+
+        try {
+            System.out.println(employeeController.exportEmployees(filePath,
+                    exportFormat, isCompressed, userChoice));
+        } catch (EmployeeManagementException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception);
+            System.out.println(exception);
+        }
+    }
+    
     /**
      * Displays specific project details.
      */
@@ -239,7 +334,8 @@ public class EmployeeView {
         EmployeeVO employee = null;
         
         try {            
-            employee = employeeController.getEmployeeById(employeeId);
+            employee = employeeController.getEmployeeById(employeeId,
+                    FetchPlan.WITH_PROJECTS);
             
             if (null != employee) {
                 List<ProjectVO> projects = employee.getProjects();
@@ -268,7 +364,7 @@ public class EmployeeView {
         
         try {            
             System.out.println("---List of employees---\ne.id e.name");
-            for (EmployeeVO employee : employeeController.getAllEmployee()) {
+            for (IdNameVO employee : employeeController.getEmployeeNames()) {
                 employeeIds.append(employee.getId()).append("    ")
                         .append(employee.getName()).append("\n");
             }    
@@ -287,9 +383,9 @@ public class EmployeeView {
         
         try {            
             System.out.println("---List of addresses---\na.id e.id");
-            for (AddressVO address : addressController.getAddressId()) {
+            for (AddressReferenceVO address : addressController.getAddressId()) {
                 addressIds.append(address.getId()).append("     " )
-                        .append(address.getEmployee().getId()).append("\n");
+                        .append(address.getEmployeeId()).append("\n");
             }
             System.out.println(addressIds);
         } catch (EmployeeManagementException exception) {
@@ -302,25 +398,25 @@ public class EmployeeView {
      * Displays all project id and its corresponding project name.
      *
      * @param employee  employee used to get assigned project
-     * @return          List<ProjectVO> list of project not yet assigned
+     * @return          List<IdNameVO> list of project not yet assigned
      */    
-    private List<ProjectVO> getProject(EmployeeVO employee) {
+    private List<IdNameVO> getProject(EmployeeVO employee) {
         StringBuilder projectIds = new StringBuilder();
-        List<ProjectVO> projects = null;
+        List<IdNameVO> projects = null;
         
         try {            
-            projects = employeeController.getAllProject();
+            projects = employeeController.getProjectNames();
             
             if (null != projects) {
                 if (employee.getProjects().isEmpty()) {        
                     System.out.println("---List of projects---\np.id p.name");
-                    for (ProjectVO project : projects) {
+                    for (IdNameVO project : projects) {
                         projectIds.append(project.getId()).append("     " )
                                 .append(project.getName()).append("\n");
                     }
                 } else {
                     System.out.println("---List of projects---\np.id p.name");
-                    for (ProjectVO project : employeeController
+                    for (IdNameVO project : employeeController
                             .getProjectsTobeAssigned(projects, employee)) {
                         projectIds.append(project.getId()).append("     " )
                                 .append(project.getName()).append("\n");
@@ -412,7 +508,7 @@ public class EmployeeView {
      */    
     public void assignProject(EmployeeVO employee) {
         String projectIds;
-        List<ProjectVO> projects = getProject(employee);
+        List<IdNameVO> projects = getProject(employee);
         List<Integer> unAvailableProject;
         
         if (null != projects) {
@@ -421,6 +517,7 @@ public class EmployeeView {
             try {
                 unAvailableProject = employeeController
                         .assignProjectToEmployee(projectIds, employee, projects);
+                reloadEmployee(employee);
             
                 if (null != unAvailableProject ) {        
                     for (Integer projectId : unAvailableProject) {
@@ -459,6 +556,7 @@ public class EmployeeView {
             try {
                 unAssignedProject = employeeController
                         .deAssignProjectToEmployee(projectIds, employee);
+                reloadEmployee(employee);
                     
                 if (null != unAssignedProject ) {        
                     for (Integer projectId : unAssignedProject) {
@@ -511,23 +609,28 @@ public class EmployeeView {
             switch (userChoice) {
                 case 1:
                     employeeVO.setName(getAndValidateName());
-                    isDetailUpdated = employeeController.updateEmployee(employeeVO);
+                    isDetailUpdated = employeeController.patchEmployee(employeeVO.getId(),
+                            Collections.singletonMap(EmployeeField.NAME, employeeVO.getName()));
                     break;
                 case 2:
                     employeeVO.setPhoneNumber(getAndValidatePhoneNumber());
-                    isDetailUpdated = employeeController.updateEmployee(employeeVO);
+                    isDetailUpdated = employeeController.patchEmployee(employeeVO.getId(),
+                            Collections.singletonMap(EmployeeField.PHONE_NUMBER, employeeVO.getPhoneNumber()));
                     break;
                 case 3:
                     employeeVO.setDob(getAndValidateDate());
-                    isDetailUpdated = employeeController.updateEmployee(employeeVO);
+                    isDetailUpdated = employeeController.patchEmployee(employeeVO.getId(),
+                            Collections.singletonMap(EmployeeField.DOB, employeeVO.getDob()));
                     break;
                 case 4:
                     employeeVO.setSalary(getAndValidateSalary());
-                    isDetailUpdated = employeeController.updateEmployee(employeeVO);
+                    isDetailUpdated = employeeController.patchEmployee(employeeVO.getId(),
+                            Collections.singletonMap(EmployeeField.SALARY, employeeVO.getSalary()));
                     break;
                 case 5:
                     employeeVO.setEmailId(getAndValidateEmailId());
-                    isDetailUpdated = employeeController.updateEmployee(employeeVO);
+                    isDetailUpdated = employeeController.patchEmployee(employeeVO.getId(),
+                            Collections.singletonMap(EmployeeField.EMAIL_ID, employeeVO.getEmailId()));
                     break;
                 case 6:
                     isDetailUpdated = updateSpecificAddressDetail();
@@ -536,6 +639,9 @@ public class EmployeeView {
                     System.out.println("\nPlease enter a valid choice!!!");
                     break;
             }
+            if (isDetailUpdated && (6 != userChoice)) {
+                reloadEmployee(employeeVO);
+            }
         } catch (EmployeeManagementException exception) {
             EmployeeManagementLogger.LOGGER.error(exception);
             System.out.println(exception);
@@ -550,15 +656,20 @@ public class EmployeeView {
      */
     private void updateEmployee(EmployeeVO employeeVO) {
         boolean isDetailsUpdated;
-
-        employeeVO.setName(getAndValidateName());
-        employeeVO.setPhoneNumber(getAndValidatePhoneNumber());
-        employeeVO.setDob(getAndValidateDate());
-        employeeVO.setSalary(getAndValidateSalary());
-        employeeVO.setEmailId(getAndValidateEmailId());   
+        EmployeeVO editedEmployeeVO = new EmployeeVO(getAndValidateName(),
+                getAndValidatePhoneNumber(), getAndValidateDate(),
+                getAndValidateSalary(), getAndValidateEmailId());
+
+        editedEmployeeVO.setId(employeeVO.getId());
+        editedEmployeeVO.setVersion(employeeVO.getVersion());
+        editedEmployeeVO.setAddresses(employeeVO.getAddresses());
+        editedEmployeeVO.setProjects(employeeVO.getProjects());
         
         try {              
-            isDetailsUpdated =  employeeController.updateEmployee(employeeVO);
+            isDetailsUpdated =  employeeController.updateEmployee(employeeVO, editedEmployeeVO);
+            if (isDetailsUpdated) {
+                reloadEmployee(employeeVO);
+            }
 
             System.out.println(true == isDetailsUpdated 
                    ? "Employee details updated!!!" 
@@ -569,6 +680,25 @@ public class EmployeeView {
         }     
     }
 
+    /**
+     * Reloads the details and version of an employee after it was changed,
+     * so the next update of the same employee starts from what is stored.
+     *
+     * @param employeeVO  employee to be refreshed
+     */
+    private void reloadEmployee(EmployeeVO employeeVO) throws EmployeeManagementException {
+        EmployeeVO storedEmployeeVO = employeeController.getEmployeeById(employeeVO.getId());
+
+        if (null != storedEmployeeVO) {
+            employeeVO.setVersion(storedEmployeeVO.getVersion());
+            employeeVO.setName(storedEmployeeVO.getName());
+            employeeVO.setPhoneNumber(storedEmployeeVO.getPhoneNumber());
+            employeeVO.setDob(storedEmployeeVO.getDob());
+            employeeVO.setSalary(storedEmployeeVO.getSalary());
+            employeeVO.setEmailId(storedEmployeeVO.getEmailId());
+        }
+    }
+
     /**
      * Asks user to choose which specific detail to update and updates it.
      *
@@ -614,25 +744,32 @@ public class EmployeeView {
      */
     private boolean updateAddressDetail(AddressVO addressVO, int userChoice) {
         boolean isDetailUpdated = false;
+        Map<AddressField, Object> changes = new EnumMap<>(AddressField.class);
         
         switch (userChoice) {
             case 1:
                 addressVO.setDoorNumber(getAndValidateDoorNumber());
+                changes.put(AddressField.DOOR_NUMBER, addressVO.getDoorNumber());
                 break;
             case 2:
                 addressVO.setStreet(getAndValidateStreet());
+                changes.put(AddressField.STREET, addressVO.getStreet());
                 break;
             case 3:
                 addressVO.setDistrict(getAndValidateDistrict());
+                changes.put(AddressField.DISTRICT, addressVO.getDistrict());
                 break;
             case 4:
                 addressVO.setState(getAndValidateState());
+                changes.put(AddressField.STATE, addressVO.getState());
                 break;
             case 5:
                 addressVO.setCountry(getAndValidateCountry());
+                changes.put(AddressField.COUNTRY, addressVO.getCountry());
                 break;    
              case 6:
                 addressVO.setPincode(getAndValidatePincode());
+                changes.put(AddressField.PINCODE, addressVO.getPincode());
                 break;            
             default:
                 System.out.println("\nPlease enter a valid choice!!!");
@@ -640,8 +777,8 @@ public class EmployeeView {
         }
         
         try {
-            isDetailUpdated = (6 >= userChoice && 0 < userChoice &&
-                    addressController.updateAddress(addressVO)) ? true : false;
+            isDetailUpdated = (!changes.isEmpty() &&
+                    addressController.patchAddress(addressVO.getId(), changes)) ? true : false;
         } catch (EmployeeManagementException exception) {
             EmployeeManagementLogger.LOGGER.error(exception);
             System.out.println(exception);
@@ -661,7 +798,8 @@ public class EmployeeView {
             AddressVO addressVO = addressController.getAddress(getAndValidateAddressId());
             
             if (null != addressVO) {
-                isDetailUpdated = addressController.updateAddress(getAddress(addressVO, employee));
+                isDetailUpdated = addressController.updateAddress(addressVO,
+                        getAddress(addressVO, employee));
             } else {
                 getAddress();
                 System.out.println("Enter valid address id!!!");
@@ -677,20 +815,18 @@ public class EmployeeView {
     /**
      * Asks inputs from the user to update address.
      *
-     * @param addressVO   address object to be updated
+     * @param addressVO   address object to be updated, left as it was read
      * @param employee    employee of employee to be update
-     * @return            AddressVO if all the value are inputted
+     * @return            AddressVO new values of the address
      */
     private AddressVO getAddress(AddressVO addressVO, EmployeeVO employee) {
- 
-        addressVO.setEmployee(employee);
-        addressVO.setDoorNumber(getAndValidateDoorNumber());   
-        addressVO.setStreet(getAndValidateStreet());
-        addressVO.setDistrict(getAndValidateDistrict());        
-        addressVO.setState(getAndValidateState());
-        addressVO.setCountry(getAndValidateCountry());
-        addressVO.setPincode(getAndValidatePincode());            
-        return addressVO;
+        AddressVO editedAddressVO = new AddressVO(employee, getAndValidateDoorNumber(),
+                getAndValidateStreet(), getAndValidateDistrict(), getAndValidateState(),
+                getAndValidateCountry(), getAndValidatePincode());
+
+        editedAddressVO.setId(addressVO.getId());
+        editedAddressVO.setVersion(addressVO.getVersion());
+        return editedAddressVO;
     }  
 
     /**
@@ -733,7 +869,8 @@ public class EmployeeView {
         int userChoice;
         StringBuilder preference = new StringBuilder();
         preference.append("1. to delete individual employee\n")
-                .append("2. to delete all employee\n3. exit\n");
+                .append("2. to delete all employee\n")
+                .append("3. to reset all employee and project records\n4. exit\n");
            
         while (isValidChoice) {
             System.out.print(preference);
@@ -746,7 +883,7 @@ public class EmployeeView {
      * Deletes specfic employee using employee id or all employees.
      * 
      * @param userChoice  choose of the user to delete employee
-     * @return            boolean true if choose is 3 or false
+     * @return            boolean true if choose is 4 or false
      */
     private boolean executeDeleteOperation(int userChoice) {
         boolean isValidChoice = true;
@@ -759,6 +896,9 @@ public class EmployeeView {
                 deleteAllEmployee();
                 break;
             case 3:
+                resetAllRecords();
+                break;
+            case 4:
                 isValidChoice = false;
                 break;
             default:
@@ -795,7 +935,10 @@ public class EmployeeView {
      */    
     private void deleteAllEmployee() {
         try {
-            boolean isEmployeesRemoved = employeeController.deleteAllEmployee();
+            boolean isEmployeesRemoved = 0 != employeeController
+                    .deleteAllEmployee(report -> System.out.println(report
+                    .getDeletedRows("employee") + " employees removed so far..."))
+                    .getDeletedRows("employee");
             
             if (!isEmployeesRemoved) {
                 System.out.println("Database is empty!!!");
@@ -810,6 +953,25 @@ public class EmployeeView {
         }
     }    
 
+    /*
+     * Empties all employee, address and project records at once after the
+     * user confirms, since truncated records cannot be restored.
+     */    
+    private void resetAllRecords() {
+        System.out.println("All employees, addresses and projects will be"
+                + " removed permanently.\n1. to confirm\n2. to cancel");
+        if (1 != getAndValidateChoiceOfUser()) {
+            return;
+        }
+
+        try {
+            System.out.println(employeeController.resetAllRecords());
+        } catch (EmployeeManagementException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception);
+            System.out.println(exception);
+        }
+    }    
+
     /**
      * Asks user select a option continuously for deleting specific employee or 
      * all employees till user chooses to exit.
@@ -881,7 +1043,10 @@ public class EmployeeView {
      */    
     private void deleteAllAddress() {
         try {
-            boolean isAddressesRemoved = addressController.deleteAllAddress();
+            boolean isAddressesRemoved = 0 != addressController
+                    .deleteAllAddress(report -> System.out.println(report
+                    .getDeletedRows("address") + " addresses removed so far..."))
+                    .getDeletedRows("address");
             
             if (!isAddressesRemoved) {
                 System.out.println("Database is empty!!!");
@@ -979,6 +1144,38 @@ public class EmployeeView {
         return userChoice;
     }
 
+    /**
+     * Displays the page options available after a page is printed and asks
+     * user to choose one.
+     *
+     * @param page  page currently displayed
+     * @return      int 1 for next page, 2 for previous page and 3 to exit
+     */
+    private int getPageChoiceOfUser(PageVO<?> page) {
+        int userChoice = 0;
+        StringBuilder preference = new StringBuilder();
+
+        if (page.hasNext()) {
+            preference.append("1. next page\n");
+        }
+        if (page.hasPrevious()) {
+            preference.append("2. previous page\n");
+        }
+        preference.append("3. exit\n");
+
+        while (0 == userChoice) {
+            System.out.print(preference);
+            userChoice = getAndValidateChoiceOfUser();
+            if ((1 == userChoice && !page.hasNext()) 
+                    || (2 == userChoice && !page.hasPrevious())
+                    || 1 > userChoice || 3 < userChoice) {
+                System.out.println("Enter a valid choose!!!\n");
+                userChoice = 0;
+            }
+        }
+        return userChoice;
+    }
+
     /**
      * Asks user for employee id, validates id is integer and does not allow id 
      * to be 0. 
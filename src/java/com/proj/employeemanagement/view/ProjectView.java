@@ -3,15 +3,22 @@ package com.proj.employeemanagement.view;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
 
 import com.proj.employeemanagement.controller.ProjectController;
 import com.proj.employeemanagement.exception.EmployeeManagementException;
 import com.proj.employeemanagement.logger.EmployeeManagementLogger;
 import com.proj.employeemanagement.model.ProjectVO;
 import com.proj.employeemanagement.model.EmployeeVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.model.PageVO;
+import com.proj.employeemanagement.util.ConstantUtil;
 import com.proj.employeemanagement.util.DateUtil;
+import com.proj.employeemanagement.util.ProjectField;
 
 /**
  * Implements a application for inputting, validating and viewing all project 
@@ -126,16 +133,27 @@ public class ProjectView {
     }
 
     /*
-     * Displays all project details.
+     * Displays all project details a page at a time.
      */    
     private void viewAllProject() {
+        int userChoice = 0;
     
         try {
-            List<ProjectVO> projects = projectController.getAllProject();
-            if (null != projects) {
-                for (ProjectVO projectDetail : projects) {                          
+            PageVO<ProjectVO> page = projectController.getProjectsAfter(0,
+                    ConstantUtil.PAGE_SIZE);
+
+            while (!page.isEmpty() && 3 != userChoice) {
+                for (ProjectVO projectDetail : page.getItems()) {                          
                     System.out.println(projectDetail);                
                 }
+                userChoice = getPageChoiceOfUser(page);
+                if (1 == userChoice) {
+                    page = projectController.getProjectsAfter(page.getLastId(),
+                            ConstantUtil.PAGE_SIZE);
+                } else if (2 == userChoice) {
+                    page = projectController.getProjectsBefore(page.getFirstId(),
+                            ConstantUtil.PAGE_SIZE);
+                }
             }
         } catch (EmployeeManagementException exception) {
             EmployeeManagementLogger.LOGGER.error(exception);
@@ -151,7 +169,7 @@ public class ProjectView {
         
         try {
             System.out.println("---List of projects---\np.id p.name");
-            for (ProjectVO project : projectController.getAllProject()) {
+            for (IdNameVO project : projectController.getProjectNames()) {
                 projectId.append(project.getId()).append("    ")
                         .append(project.getName()).append("\n");
             } 
@@ -166,25 +184,25 @@ public class ProjectView {
      * Displays employees yet to be assigned to project.
      *
      * @param project  project used to get assigned employee
-     * @return         List<EmployeeVO> employees yet to be assigned
+     * @return         List<IdNameVO> employees yet to be assigned
      */    
-    private List<EmployeeVO> getEmployee(ProjectVO project) {
+    private List<IdNameVO> getEmployee(ProjectVO project) {
         StringBuilder employeeId = new StringBuilder();
-        List<EmployeeVO> employees = null;
+        List<IdNameVO> employees = null;
         
         try {
-            employees = projectController.getAllEmployee();        
+            employees = projectController.getEmployeeNames();
             
             if (project.getEmployees().isEmpty()) {        
                 System.out.println("---List of employee---\ne.id e.name");
-                for (EmployeeVO employee : employees) {
+                for (IdNameVO employee : employees) {
                     employeeId.append(employee.getId()).append("     " )
                             .append(employee.getName()).append("\n");
                 }
             } else {
                 System.out.println("---List of employee---\ne.id e.name");
                 
-                for (EmployeeVO employee : projectController
+                for (IdNameVO employee : projectController
                         .getEmployeesTobeAssigned(employees, project)) {
                     employeeId.append(employee.getId()).append("     " )
                             .append(employee.getName()).append("\n");
@@ -295,19 +313,24 @@ public class ProjectView {
      */
     private boolean updateDetail(ProjectVO projectVO, int userChoice) {
         boolean isDetailUpdated = false;
+        Map<ProjectField, Object> changes = new EnumMap<>(ProjectField.class);
         
         switch (userChoice) {
             case 1:
                 projectVO.setName(getAndValidateName());
+                changes.put(ProjectField.NAME, projectVO.getName());
                 break;
             case 2:
                 projectVO.setDomain(getAndValidateDomain());
+                changes.put(ProjectField.DOMAIN, projectVO.getDomain());
                 break;
             case 3:
                 projectVO.setStartDate(getAndValidateStartDate());
+                changes.put(ProjectField.START_DATE, projectVO.getStartDate());
                 break;
             case 4:
                 projectVO.setManagerName(getAndValidateManagerName());
+                changes.put(ProjectField.MANAGER_NAME, projectVO.getManagerName());
                 break;                
             default:
                 System.out.println("\nPlease enter a valid choice!!!");
@@ -315,8 +338,11 @@ public class ProjectView {
         }
         
         try {
-            isDetailUpdated = (4 >= userChoice && 0 < userChoice &&
-                    projectController.updateProject(projectVO)) ? true : false;
+            isDetailUpdated = (!changes.isEmpty() &&
+                    projectController.patchProject(projectVO.getId(), changes)) ? true : false;
+            if (isDetailUpdated) {
+                reloadProject(projectVO);
+            }
         } catch (EmployeeManagementException exception) {
             EmployeeManagementLogger.LOGGER.error(exception);
             System.out.println(exception);
@@ -331,14 +357,19 @@ public class ProjectView {
      */
     private void updateProject(ProjectVO projectVO) {
         boolean isDetailsUpdated;
-   
-        projectVO.setName(getAndValidateName());
-        projectVO.setDomain(getAndValidateDomain());
-        projectVO.setStartDate(getAndValidateStartDate());
-        projectVO.setManagerName(getAndValidateManagerName());
+        ProjectVO editedProjectVO = new ProjectVO(getAndValidateName(),
+                getAndValidateDomain(), getAndValidateStartDate(),
+                getAndValidateManagerName());
+
+        editedProjectVO.setId(projectVO.getId());
+        editedProjectVO.setVersion(projectVO.getVersion());
+        editedProjectVO.setEmployees(projectVO.getEmployees());
         
         try {               
-            isDetailsUpdated =  projectController.updateProject(projectVO);
+            isDetailsUpdated =  projectController.updateProject(projectVO, editedProjectVO);
+            if (isDetailsUpdated) {
+                reloadProject(projectVO);
+            }
 
             System.out.println(true == isDetailsUpdated 
                    ? "Project details updated!!!" 
@@ -349,6 +380,24 @@ public class ProjectView {
         }
     } 
     
+    /**
+     * Reloads the details and version of a project after it was changed,
+     * so the next update of the same project starts from what is stored.
+     *
+     * @param projectVO  project to be refreshed
+     */
+    private void reloadProject(ProjectVO projectVO) throws EmployeeManagementException {
+        ProjectVO storedProjectVO = projectController.getProjectById(projectVO.getId());
+
+        if (null != storedProjectVO) {
+            projectVO.setVersion(storedProjectVO.getVersion());
+            projectVO.setName(storedProjectVO.getName());
+            projectVO.setDomain(storedProjectVO.getDomain());
+            projectVO.setStartDate(storedProjectVO.getStartDate());
+            projectVO.setManagerName(storedProjectVO.getManagerName());
+        }
+    }
+
     /**
      * Asks user to choose which employee to assign to project.
      *
@@ -357,7 +406,7 @@ public class ProjectView {
     public void assignEmployee(ProjectVO project) {
         String employeeIds;
         String[] idsOfEmployee;
-        List<EmployeeVO> employees = getEmployee(project);
+        List<IdNameVO> employees = getEmployee(project);
         List<Integer> unAvailableEmployee;
         
         if (null != employees) {
@@ -366,6 +415,7 @@ public class ProjectView {
             try {
                 unAvailableEmployee = projectController
                         .assignEmployeeToProject(employeeIds, project, employees);
+                reloadProject(project);
                 
                 if (null != unAvailableEmployee ) {        
                     for (Integer employeeId : unAvailableEmployee) {
@@ -404,6 +454,7 @@ public class ProjectView {
             try {
                 unAssignedEmployee = projectController
                         .deAssignEmployeeToProject(employeeIds, project);
+                reloadProject(project);
                         
                 if (null != unAssignedEmployee ) {        
                     for (Integer employeeId : unAssignedEmployee) {
@@ -494,7 +545,10 @@ public class ProjectView {
      */    
     private void deleteAllProject() {
         try {
-            boolean isProjectsRemoved = projectController.deleteAllProject();
+            boolean isProjectsRemoved = 0 != projectController
+                    .deleteAllProject(report -> System.out.println(report
+                    .getDeletedRows("project") + " projects removed so far..."))
+                    .getDeletedRows("project");
             
             if (!isProjectsRemoved) {
                 System.out.println("Database is empty!!!");
@@ -522,7 +576,8 @@ public class ProjectView {
         optionErrorMessage.append("Option must be integer without special")
                 .append(" character, spaces and must enter option");
         preference.append("\n1. Create Project\n2. View Project\n")
-                .append("3. Update Project\n4. Delete Project\n5. Exit")
+                .append("3. Update Project\n4. Delete Project\n")
+                .append("5. Staff Projects\n6. Exit")
                 .append("\nEnter your choice: ");
 
         System.out.println("\nWelcome to Project Management System: ");
@@ -535,7 +590,7 @@ public class ProjectView {
                 EmployeeManagementLogger.LOGGER.error(optionErrorMessage);
                 System.out.println(optionErrorMessage);
             }
-        } while (5 != option);
+        } while (6 != option);
     }
 
     /**
@@ -559,6 +614,9 @@ public class ProjectView {
                 deleteProject();
                 break;
             case 5:
+                staffProjects();
+                break;
+            case 6:
                 System.out.println("Thank you for using PMS!!!");
                 break;
             default:
@@ -567,6 +625,107 @@ public class ProjectView {
         }
     }
 
+    /**
+     * Asks user continuously to assign or deassign many employees to many
+     * projects at once till user chooses to exit.
+     */
+    private void staffProjects() {
+        int userChoice = 0;
+        StringBuilder preference = new StringBuilder();
+
+        preference.append("\n1. assign employees to projects\n")
+                .append("2. deassign employees from projects\n3. exit\n");
+
+        while (3 != userChoice) {
+            System.out.print(preference);
+            userChoice = getAndValidateChoiceOfUser();
+            switch (userChoice) {
+                case 1:
+                case 2:
+                    staffProjects(1 == userChoice);
+                    break;
+                case 3:
+                    break;
+                default:
+                    System.out.println("Enter a valid choose!!!\n");
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Asks user for the employee ids and project ids and assigns or
+     * deassigns every employee to every project.
+     *
+     * @param isAssign  true to assign the employees or false to deassign
+     */
+    private void staffProjects(boolean isAssign) {
+        Set<Integer> employeeIds = getAndValidateIdSet("employee");
+        Set<Integer> projectIds = getAndValidateIdSet("project");
+
+        try {
+            System.out.println(isAssign 
+                    ? projectController.assignEmployeesToProjects(employeeIds, projectIds)
+                    : projectController.unassignEmployeesFromProjects(employeeIds, projectIds));
+        } catch (EmployeeManagementException exception) {
+            EmployeeManagementLogger.LOGGER.error(exception);
+            System.out.println(exception);
+        }
+    }
+
+    /**
+     * Asks user for a comma separated list of ids till a valid list is
+     * given.
+     *
+     * @param idName  name of the ids asked for
+     * @return        Set<Integer> ids given by user
+     */
+    private Set<Integer> getAndValidateIdSet(String idName) {
+        Set<Integer> ids = null;
+
+        while (null == ids) {
+            System.out.print("Enter the " + idName + " ids separated by comma: ");
+            ids = projectController.parseIds(scanner.nextLine());
+
+            if (null == ids) {
+                System.out.println("Ids must be positive integers separated by comma");
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Displays the page options available after a page is printed and asks
+     * user to choose one.
+     *
+     * @param page  page currently displayed
+     * @return      int 1 for next page, 2 for previous page and 3 to exit
+     */
+    private int getPageChoiceOfUser(PageVO<?> page) {
+        int userChoice = 0;
+        StringBuilder preference = new StringBuilder();
+
+        if (page.hasNext()) {
+            preference.append("1. next page\n");
+        }
+        if (page.hasPrevious()) {
+            preference.append("2. previous page\n");
+        }
+        preference.append("3. exit\n");
+
+        while (0 == userChoice) {
+            System.out.print(preference);
+            userChoice = getAndValidateChoiceOfUser();
+            if ((1 == userChoice && !page.hasNext()) 
+                    || (2 == userChoice && !page.hasPrevious())
+                    || 1 > userChoice || 3 < userChoice) {
+                System.out.println("Enter a valid choose!!!\n");
+                userChoice = 0;
+            }
+        }
+        return userChoice;
+    }
+
     /**
      * Gets choice from user and catches exception when invalid choice is given.
      *
@@ -0,0 +1,118 @@
+package com.proj.employeemanagement.connection;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.impl.EmployeeDAOImpl;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.FetchPlan;
+
+/**
+ * Read-your-writes routing of sessions against an embedded replica. The
+ * stickiness window belongs to the thread, so every test runs on a fresh
+ * one.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ConnectionFactoryTest {
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+
+    @BeforeClass
+    public static void configureReplica() {
+        System.setProperty(ReplicaRouter.REPLICA_URLS,
+                "jdbc:h2:mem:employee_management_replica1;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        System.setProperty(ReplicaRouter.STICKINESS_MILLIS, "60000");
+    }
+
+    @Before
+    public void emptyTables() throws Exception {
+        onFreshThread(() -> employeeDAO.truncateAll());
+    }
+
+    @Test
+    public void readsDoNotStartTheStickinessWindow() throws Exception {
+        onFreshThread(() -> {
+            employeeDAO.fetchAllEmployee(FetchPlan.SUMMARY);
+            employeeDAO.fetchEmployeeNames();
+
+            assertTrue(isReplicaReadAllowed());
+            return null;
+        });
+    }
+
+    @Test
+    public void committedWriteStartsTheStickinessWindow() throws Exception {
+        onFreshThread(() -> {
+            employeeDAO.saveEmployee(employee("Vani", "9200000002"));
+
+            assertFalse(isReplicaReadAllowed());
+            return null;
+        });
+    }
+
+    @Test
+    public void committedUnitStartsTheStickinessWindow() throws Exception {
+        onFreshThread(() -> {
+            UnitOfWork.execute(() -> {
+                int employeeId = employeeDAO.saveEmployee(employee("Hema", "9200000003"));
+
+                assertTrue(isReplicaReadAllowed());
+                return employeeId;
+            });
+
+            assertFalse(isReplicaReadAllowed());
+            return null;
+        });
+    }
+
+    @Test
+    public void rolledBackUnitDoesNotStartTheStickinessWindow() throws Exception {
+        onFreshThread(() -> {
+            try {
+                UnitOfWork.execute(() -> {
+                    employeeDAO.saveEmployee(employee("Uma", "9200000001"));
+                    throw new EmployeeManagementException(ConstantUtil.ERROR
+                            .get(ConstantUtil.ERROR_CODE_028));
+                });
+                fail("Unit of work must fail");
+            } catch (EmployeeManagementException exception) {
+                assertTrue(isReplicaReadAllowed());
+            }
+            return null;
+        });
+    }
+
+    private static boolean isReplicaReadAllowed() {
+        return SessionFactoryLifecycle.getReplicaRouter().isReplicaReadAllowed();
+    }
+
+    private static void onFreshThread(Callable<?> task) throws Exception {
+        FutureTask<?> futureTask = new FutureTask<>(task);
+        Thread thread = new Thread(futureTask);
+
+        thread.start();
+        try {
+            futureTask.get();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof Error) {
+                throw (Error) exception.getCause();
+            }
+            throw (Exception) exception.getCause();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.proj.employeemanagement.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Sizing and reset of pooled connections against an embedded database of
+ * their own.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class PooledConnectionProviderTest {
+
+    private final PooledConnectionProvider pool = new PooledConnectionProvider();
+
+    @After
+    public void stopPool() {
+        pool.stop();
+    }
+
+    @Test
+    public void concurrentFillsOpenOnlyTheMinimum() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> fills = new ArrayList<>();
+        int opened = 0;
+
+        configure(3, 5, null);
+        for (int index = 0; index < 8; index++) {
+            fills.add(executor.submit(() -> {
+                start.await();
+                return pool.fill();
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> fill : fills) {
+            opened += fill.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(3, opened);
+        assertEquals(3, pool.getStats().getTotalConnections());
+    }
+
+    @Test
+    public void fillAlongsideBorrowersStaysWithinTheMaximum() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+
+        configure(3, 3, null);
+        for (int index = 0; index < 6; index++) {
+            boolean isFiller = (0 == index % 2);
+
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (int round = 0; round < 50; round++) {
+                    if (isFiller) {
+                        pool.fill();
+                    } else {
+                        pool.closeConnection(pool.getConnection());
+                    }
+                    assertTrue(3 >= pool.getStats().getTotalConnections());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(3 >= pool.getStats().getTotalConnections());
+        assertEquals(0, pool.getStats().getTimeoutCount());
+    }
+
+    @Test
+    public void returnedConnectionGetsItsSettingsBack() throws Exception {
+        Connection connection = null;
+
+        configure(1, 1, String.valueOf(Connection.TRANSACTION_READ_COMMITTED));
+        connection = pool.getConnection();
+        assertTrue(connection.getAutoCommit());
+        connection.setReadOnly(true);
+        connection.setAutoCommit(false);
+        connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        pool.closeConnection(connection);
+
+        assertSame(connection, pool.getConnection());
+        assertFalse(connection.isReadOnly());
+        assertTrue(connection.getAutoCommit());
+        assertEquals(Connection.TRANSACTION_READ_COMMITTED,
+                connection.getTransactionIsolation());
+        pool.closeConnection(connection);
+    }
+
+    private void configure(int minSize, int maxSize, String isolation) {
+        Map<String, Object> settings = new HashMap<>();
+
+        settings.put(AvailableSettings.DRIVER, "org.h2.Driver");
+        settings.put(AvailableSettings.URL, "jdbc:h2:mem:pool_test;DB_CLOSE_DELAY=-1");
+        settings.put(AvailableSettings.USER, "sa");
+        settings.put(PooledConnectionProvider.MIN_SIZE, String.valueOf(minSize));
+        settings.put(PooledConnectionProvider.MAX_SIZE, String.valueOf(maxSize));
+        settings.put(PooledConnectionProvider.ACQUIRE_TIMEOUT, "5000");
+        settings.put(PooledConnectionProvider.LEAK_DETECTION_THRESHOLD, "0");
+        if (null != isolation) {
+            settings.put(AvailableSettings.ISOLATION, isolation);
+        }
+        pool.configure(settings);
+    }
+}
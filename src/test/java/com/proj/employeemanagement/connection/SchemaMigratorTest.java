@@ -0,0 +1,86 @@
+package com.proj.employeemanagement.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Statement;
+import java.util.Collections;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.Test;
+
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.impl.EmployeeDAOImpl;
+import com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+
+/**
+ * Schema migrations and the startup index check on the embedded database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class SchemaMigratorTest {
+
+    private final SessionFactory sessionFactory = ConnectionFactory.getSessionFactory();
+
+    @Test
+    public void migratedSchemaHasEveryExpectedIndex() {
+        assertEquals(0, SchemaMigrator.migrate(sessionFactory));
+        assertTrue(SchemaVerifier.findMissingIndexes(sessionFactory).isEmpty());
+        SchemaVerifier.verify(sessionFactory, SchemaVerifier.STRICT_MODE);
+    }
+
+    @Test
+    public void missingIndexIsReportedAndRecreatedByItsMigration() {
+        execute("DROP INDEX idx_project_employee_reverse");
+
+        assertEquals(Collections.singletonList(SchemaIndex.PROJECT_EMPLOYEE_REVERSE),
+                SchemaVerifier.findMissingIndexes(sessionFactory));
+        SchemaVerifier.verify(sessionFactory, SchemaVerifier.WARN_MODE);
+        try {
+            SchemaVerifier.verify(sessionFactory, SchemaVerifier.STRICT_MODE);
+            fail("Strict check must refuse a schema with a missing index");
+        } catch (HibernateException exception) {
+            assertTrue(exception.getMessage().contains("idx_project_employee_reverse"));
+        }
+
+        execute("DELETE FROM schema_version WHERE version >= 3");
+        assertEquals(3, SchemaMigrator.migrate(sessionFactory));
+        assertTrue(SchemaVerifier.findMissingIndexes(sessionFactory).isEmpty());
+    }
+
+    @Test
+    public void idSegmentIsSeededAboveTheStoredIds() throws EmployeeManagementException {
+        EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+
+        employeeDAO.truncateAll();
+        execute("INSERT INTO employee (id, version, name, phone_number, dob, salary,"
+                + " email_id) VALUES (5000, 0, 'Old', '9300000001', DATE '1990-01-01',"
+                + " 30000, 'old@example.com')");
+        execute("DELETE FROM id_generator WHERE sequence_name = 'employee'");
+        execute("DELETE FROM schema_version WHERE version = 5");
+
+        assertEquals(1, SchemaMigrator.migrate(sessionFactory));
+        assertTrue(5000 < employeeDAO.saveEmployee(EmployeeDAOImplTest.employee("New",
+                "9300000002")));
+    }
+
+    private void execute(String sql) {
+        Session session = sessionFactory.openSession();
+
+        try {
+            session.doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(sql);
+                }
+            });
+        } finally {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.proj.employeemanagement.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+/**
+ * Building, warming up and shutting down the session factory on the
+ * embedded database. The shutdown test closes the factory for good, so the
+ * tests run in name order with it last.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SessionFactoryLifecycleTest {
+
+    @Test
+    public void a_concurrentCallersShareOneFactory() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<SessionFactory>> factories = new ArrayList<>();
+
+        for (int index = 0; index < 8; index++) {
+            factories.add(executor.submit(() -> {
+                start.await();
+                return SessionFactoryLifecycle.getSessionFactory();
+            }));
+        }
+        start.countDown();
+        for (Future<SessionFactory> factory : factories) {
+            assertSame(factories.get(0).get(30, TimeUnit.SECONDS),
+                    factory.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void a_embeddedProfileCreatesTheSchemaOnH2() {
+        Session session = SessionFactoryLifecycle.getSessionFactory().openSession();
+
+        assertTrue(SessionFactoryLifecycle.isEmbeddedProfile());
+        try {
+            session.doWork(connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+
+                assertEquals("H2", metaData.getDatabaseProductName());
+                try (Statement statement = connection.createStatement();
+                        ResultSet mode = statement.executeQuery("SELECT VALUE FROM"
+                                + " INFORMATION_SCHEMA.SETTINGS WHERE NAME = 'MODE'")) {
+                    assertTrue(mode.next());
+                    assertEquals("MySQL", mode.getString(1));
+                }
+                for (String table : new String[] {"EMPLOYEE", "ADDRESS", "PROJECT",
+                        "PROJECT_EMPLOYEE", "ID_GENERATOR", "OUTBOX_EVENT"}) {
+                    try (ResultSet tables = metaData.getTables(connection.getCatalog(),
+                            null, table, null)) {
+                        assertTrue(table + " must exist", tables.next());
+                    }
+                }
+            });
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    public void b_warmUpFillsThePool() {
+        SessionFactoryLifecycle.warmUp();
+
+        assertTrue(2 <= ConnectionFactory.getPoolStats().getTotalConnections());
+        assertEquals(0, ConnectionFactory.getPoolStats().getActiveConnections());
+    }
+
+    @Test
+    public void c_shutdownRunsTasksOnceThenRefusesTheFactory() {
+        SessionFactory sessionFactory = SessionFactoryLifecycle.getSessionFactory();
+        AtomicInteger taskRuns = new AtomicInteger();
+
+        SessionFactoryLifecycle.runBeforeShutdown(() -> {
+            assertFalse(sessionFactory.isClosed());
+            taskRuns.incrementAndGet();
+        });
+        SessionFactoryLifecycle.shutdown();
+        SessionFactoryLifecycle.shutdown();
+
+        assertEquals(1, taskRuns.get());
+        assertTrue(sessionFactory.isClosed());
+        try {
+            SessionFactoryLifecycle.getSessionFactory();
+            fail("Session factory must not be rebuilt after shutdown");
+        } catch (HibernateException exception) {
+            assertTrue(exception.getMessage().contains("shut down"));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.proj.employeemanagement.connection;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.project;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.ProjectAssignmentDAO;
+import com.proj.employeemanagement.dao.ProjectDAO;
+import com.proj.employeemanagement.dao.impl.EmployeeDAOImpl;
+import com.proj.employeemanagement.dao.impl.ProjectAssignmentDAOImpl;
+import com.proj.employeemanagement.dao.impl.ProjectDAOImpl;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.FetchPlan;
+
+/**
+ * Several DAO calls committed or rolled back together in one unit of work.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class UnitOfWorkTest {
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+    private final ProjectDAO projectDAO = new ProjectDAOImpl();
+    private final ProjectAssignmentDAO projectAssignmentDAO = new ProjectAssignmentDAOImpl();
+
+    @Before
+    public void emptyTables() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+    }
+
+    @Test
+    public void committedUnitRunsEveryCallOnOneSession() throws EmployeeManagementException {
+        Statistics statistics = ConnectionFactory.getSessionFactory().getStatistics();
+        long sessions = statistics.getSessionOpenCount();
+        int employeeId = UnitOfWork.execute(() -> {
+            int savedEmployeeId = employeeDAO.saveEmployee(employee("Uma", "9200000001"));
+            int projectId = projectDAO.saveProject(project("Ledger"));
+
+            employeeDAO.fetchEmployeeById(savedEmployeeId, FetchPlan.SUMMARY);
+            projectAssignmentDAO.assignEmployees(projectId,
+                    Collections.singletonList(savedEmployeeId));
+            return savedEmployeeId;
+        });
+
+        assertEquals(sessions + 1, statistics.getSessionOpenCount());
+        assertEquals(1, employeeDAO.fetchEmployeeById(employeeId, FetchPlan.WITH_PROJECTS)
+                .getProjects().size());
+    }
+
+    @Test
+    public void thrownWorkRollsBackEveryCall() throws EmployeeManagementException {
+        try {
+            UnitOfWork.execute(() -> {
+                employeeDAO.saveEmployee(employee("Vel", "9200000002"));
+                projectDAO.saveProject(project("Ledger"));
+                throw new EmployeeManagementException("Operation abandoned");
+            });
+            fail("The exception of the work must reach the caller");
+        } catch (EmployeeManagementException exception) {
+            assertEquals("Operation abandoned", exception.getMessage());
+        }
+        assertTrue(employeeDAO.fetchEmployeeNames().isEmpty());
+        assertTrue(projectDAO.fetchProjectNames().isEmpty());
+    }
+
+    @Test
+    public void failedCallRollsBackTheUnitEvenIfTheWorkGoesOn()
+            throws EmployeeManagementException {
+        try {
+            UnitOfWork.execute(() -> {
+                int employeeId = employeeDAO.saveEmployee(employee("Siva", "9200000003"));
+                Map<EmployeeField, Object> changes = new EnumMap<>(EmployeeField.class);
+
+                changes.put(EmployeeField.SALARY, "high");
+                try {
+                    employeeDAO.patchEmployee(employeeId, changes);
+                } catch (EmployeeManagementException exception) {
+                    projectDAO.saveProject(project("Ledger"));
+                }
+                return employeeId;
+            });
+            fail("A unit with a failed call must not commit");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_028),
+                    exception.getMessage());
+        }
+        assertTrue(employeeDAO.fetchEmployeeNames().isEmpty());
+        assertTrue(projectDAO.fetchProjectNames().isEmpty());
+    }
+}
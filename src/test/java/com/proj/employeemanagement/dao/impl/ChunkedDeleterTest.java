@@ -0,0 +1,75 @@
+package com.proj.employeemanagement.dao.impl;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.project;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.ProjectAssignmentDAO;
+import com.proj.employeemanagement.dao.ProjectDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.DeleteReportVO;
+import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.util.FetchPlan;
+
+/**
+ * Chunked deletes of projects against the embedded database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ChunkedDeleterTest {
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+    private final ProjectDAO projectDAO = new ProjectDAOImpl();
+    private final ProjectAssignmentDAO projectAssignmentDAO = new ProjectAssignmentDAOImpl();
+
+    @Before
+    public void emptyTables() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+    }
+
+    @Test
+    public void deletesInChunksWithDependents() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(employee("Nila", "9300000001"));
+        int firstProjectId = projectDAO.saveProject(project("Ledger"));
+        int secondProjectId = projectDAO.saveProject(project("Payroll"));
+        int thirdProjectId = projectDAO.saveProject(project("Audit"));
+        DeleteReportVO report = null;
+
+        projectAssignmentDAO.assignProjects(employeeId,
+                Arrays.asList(firstProjectId, thirdProjectId));
+        report = projectDAO.deleteAllProject(2, null);
+
+        assertEquals(2, report.getChunks());
+        assertEquals(3, report.getDeletedRows("project"));
+        assertEquals(2, report.getDeletedRows("project_employee"));
+        assertEquals(Collections.emptyList(), projectDAO.fetchAllProject(FetchPlan.SUMMARY));
+        assertEquals(0, employeeDAO.fetchEmployeeById(employeeId, FetchPlan.WITH_PROJECTS)
+                .getProjects().size());
+    }
+
+    @Test
+    public void deleteKeepsCachedEntitiesOfOtherTables() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(employee("Tara", "9300000002"));
+
+        projectDAO.saveProject(project("Ledger"));
+        employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY);
+        assertTrue(ConnectionFactory.getSessionFactory().getCache()
+                .containsEntity(Employee.class, employeeId));
+
+        projectDAO.deleteAllProject(10, null);
+
+        assertTrue(ConnectionFactory.getSessionFactory().getCache()
+                .containsEntity(Employee.class, employeeId));
+    }
+}
@@ -0,0 +1,399 @@
+package com.proj.employeemanagement.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.connection.QueryStats;
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.ProjectAssignmentDAO;
+import com.proj.employeemanagement.dao.ProjectDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.AddressReferenceVO;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.persistence.Address;
+import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.persistence.Project;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.FetchPlan;
+
+/**
+ * Id allocation, bulk inserts, fetch plans and full updates of employees
+ * against the embedded database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class EmployeeDAOImplTest {
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+    private final ProjectDAO projectDAO = new ProjectDAOImpl();
+    private final ProjectAssignmentDAO projectAssignmentDAO = new ProjectAssignmentDAOImpl();
+
+    @Before
+    public void emptyTables() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+    }
+
+    @Test
+    public void concurrentSavesGetDistinctIdsFromOneBlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> saves = new ArrayList<>();
+        Set<Integer> employeeIds = ConcurrentHashMap.newKeySet();
+        long nextValue = fetchNextValue("employee");
+
+        for (int index = 0; index < 20; index++) {
+            String phoneNumber = String.valueOf(9400000000L + index);
+
+            saves.add(executor.submit(() -> employeeDAO.saveEmployee(
+                    employee("Worker", phoneNumber))));
+        }
+        for (Future<Integer> save : saves) {
+            employeeIds.add(save.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(20, employeeIds.size());
+        assertTrue(50 >= fetchNextValue("employee") - nextValue);
+    }
+
+    @Test
+    public void bulkSaveStoresEveryEmployeeWithAddresses() throws EmployeeManagementException {
+        List<Employee> employees = new ArrayList<>();
+        List<Integer> employeeIds = null;
+
+        for (int index = 0; index < 120; index++) {
+            Employee employee = employee("Bulk " + index, String.valueOf(9500000000L + index));
+
+            employee.getAddresses().add(new Address(employee, "1", "Main Street",
+                    "Chennai", "Tamil Nadu", "India", 600001));
+            employees.add(employee);
+        }
+        employeeIds = employeeDAO.saveEmployees(employees);
+
+        assertEquals(120, employeeIds.size());
+        assertEquals("Bulk 119", employeeDAO.fetchEmployeeById(employeeIds.get(119),
+                FetchPlan.SUMMARY).getName());
+        assertEquals(1, employeeDAO.fetchEmployeeById(employeeIds.get(60),
+                FetchPlan.WITH_ADDRESSES).getAddresses().size());
+        assertEquals(120, employeeDAO.fetchAllEmployee(FetchPlan.SUMMARY).size());
+    }
+
+    @Test
+    public void failedBulkSaveStoresNothing() throws EmployeeManagementException {
+        List<Employee> employees = new ArrayList<>();
+
+        for (int index = 0; index < 60; index++) {
+            employees.add(employee("Bulk " + index, String.valueOf(9600000000L + index)));
+        }
+        employees.add(employee("Duplicate", "9600000000"));
+        try {
+            employeeDAO.saveEmployees(employees);
+            fail("Bulk save with a duplicate phone number must fail");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_021),
+                    exception.getMessage());
+        }
+        assertEquals(0, employeeDAO.fetchAllEmployee(FetchPlan.SUMMARY).size());
+    }
+
+    @Test
+    public void summaryLeavesCollectionsUnloaded() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(employee("Lalitha", "9820000001"));
+        Employee readEmployee = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY);
+
+        assertFalse(Hibernate.isInitialized(readEmployee.getAddresses()));
+        assertFalse(Hibernate.isInitialized(readEmployee.getProjects()));
+        readEmployee = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.WITH_ADDRESSES);
+        assertTrue(Hibernate.isInitialized(readEmployee.getAddresses()));
+        assertFalse(Hibernate.isInitialized(readEmployee.getProjects()));
+    }
+
+    @Test
+    public void fullPlanLoadsEveryEmployeeInAFixedNumberOfQueries()
+            throws EmployeeManagementException {
+        List<Employee> employees = new ArrayList<>();
+        int projectId = projectDAO.saveProject(project("Ledger"));
+        Statistics statistics = ConnectionFactory.getSessionFactory().getStatistics();
+        long statements = 0;
+
+        for (int index = 0; index < 30; index++) {
+            Employee employee = employee("Graph " + index, String.valueOf(9830000000L + index));
+
+            employee.getAddresses().add(new Address(employee, "1", "Main Street",
+                    "Chennai", "Tamil Nadu", "India", 600001));
+            employees.add(employee);
+        }
+        for (Integer employeeId : employeeDAO.saveEmployees(employees)) {
+            projectAssignmentDAO.assignProjects(employeeId, Collections.singletonList(projectId));
+        }
+        ConnectionFactory.getSessionFactory().getCache().evictAllRegions();
+        statements = statistics.getPrepareStatementCount();
+        employees = employeeDAO.fetchAllEmployee(FetchPlan.FULL);
+
+        assertTrue(3 >= statistics.getPrepareStatementCount() - statements);
+        assertEquals(30, employees.size());
+        for (Employee employee : employees) {
+            assertEquals(1, employee.getAddresses().size());
+            assertEquals(1, employee.getProjects().size());
+        }
+    }
+
+    @Test
+    public void updateWritesFieldsAndLeavesAssignmentsAlone()
+            throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(employee("Asha", "9000000001"));
+        int projectId = projectDAO.saveProject(project("Ledger"));
+        Employee readEmployee = null;
+
+        projectAssignmentDAO.assignProjects(employeeId, Collections.singletonList(projectId));
+        readEmployee = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY);
+        readEmployee.setName("Asha K");
+        readEmployee.setProjects(Collections.emptyList());
+        employeeDAO.updateEmployee(readEmployee);
+
+        readEmployee = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.WITH_PROJECTS);
+        assertEquals("Asha K", readEmployee.getName());
+        assertEquals(1, readEmployee.getProjects().size());
+    }
+
+    @Test
+    public void staleUpdateIsRefused() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(employee("Kiran", "9000000003"));
+        Employee firstCopy = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY);
+        Employee secondCopy = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY);
+
+        firstCopy.setSalary(40000);
+        employeeDAO.updateEmployee(firstCopy);
+        secondCopy.setName("Kiran R");
+        try {
+            employeeDAO.updateEmployee(secondCopy);
+            fail("Update of a stale copy must be refused");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR_CODE_027, exception.getErrorCode());
+        }
+        assertEquals("Kiran", employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY)
+                .getName());
+    }
+
+    @Test
+    public void patchChangesOnlyTheGivenFields() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(employee("Latha", "9000000004"));
+        int projectId = projectDAO.saveProject(project("Billing"));
+        Map<EmployeeField, Object> changes = new EnumMap<>(EmployeeField.class);
+        Employee readEmployee = null;
+        int version = 0;
+
+        projectAssignmentDAO.assignEmployees(projectId, Collections.singletonList(employeeId));
+        version = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY).getVersion();
+        changes.put(EmployeeField.SALARY, 45000f);
+        changes.put(EmployeeField.PHONE_NUMBER, "9000000005");
+
+        assertEquals(1, employeeDAO.patchEmployee(employeeId, changes));
+        readEmployee = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.WITH_PROJECTS);
+        assertEquals(45000f, readEmployee.getSalary(), 0f);
+        assertEquals("9000000005", readEmployee.getPhoneNumber());
+        assertEquals("Latha", readEmployee.getName());
+        assertEquals("9000000004@example.com", readEmployee.getEmailId());
+        assertEquals(version + 1, readEmployee.getVersion());
+        assertEquals(1, readEmployee.getProjects().size());
+        assertEquals(0, employeeDAO.patchEmployee(Integer.MAX_VALUE, changes));
+    }
+
+    @Test
+    public void patchWithWrongValueTypeChangesNothing() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(employee("Gopi", "9000000006"));
+        Map<EmployeeField, Object> changes = new EnumMap<>(EmployeeField.class);
+
+        changes.put(EmployeeField.NAME, "Gopi S");
+        changes.put(EmployeeField.SALARY, "high");
+        try {
+            employeeDAO.patchEmployee(employeeId, changes);
+            fail("A salary which is not a number must be refused");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_004),
+                    exception.getMessage());
+        }
+        assertEquals("Gopi", employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY)
+                .getName());
+    }
+
+    @Test
+    public void readOnlySessionNeverFlushesChanges() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(employee("Nila", "9000000007"));
+        Session session = ConnectionFactory.getReadOnlySession();
+        Transaction transaction = null;
+
+        try {
+            Employee readEmployee = null;
+
+            transaction = ConnectionFactory.beginReadOnlyTransaction(session);
+            readEmployee = session.get(Employee.class, employeeId);
+            readEmployee.setName("Nila M");
+
+            assertTrue(session.isReadOnly(readEmployee));
+            assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode());
+            session.flush();
+            ConnectionFactory.commit(transaction);
+        } finally {
+            ConnectionFactory.close(session);
+        }
+        assertEquals("Nila", employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY)
+                .getName());
+    }
+
+    @Test
+    public void repeatedLookupsReuseTheQueryPlan() throws EmployeeManagementException {
+        QueryStats firstStats = null;
+        QueryStats lastStats = null;
+
+        employeeDAO.saveEmployee(employee("Hari", "9000000008"));
+        employeeDAO.fetchEmployeeByPhoneNumber("9000000008");
+        firstStats = ConnectionFactory.getQueryStats();
+        for (int index = 0; index < 3; index++) {
+            assertEquals("Hari", employeeDAO.fetchEmployeeByPhoneNumber("9000000008").getName());
+        }
+        lastStats = ConnectionFactory.getQueryStats();
+
+        assertEquals(firstStats.getPlanCacheMissCount(), lastStats.getPlanCacheMissCount());
+        assertTrue(lastStats.getPlanCacheHitCount() >= firstStats.getPlanCacheHitCount() + 3);
+        assertEquals(firstStats.getExecutionCount() + 3, lastStats.getExecutionCount());
+    }
+
+    @Test
+    public void takenKeysAreRefusedByTheUniqueConstraints() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(employee("Devi", "9000000009"));
+        Employee copy = employee("Devi R", "9000000009");
+        Map<EmployeeField, Object> changes = new EnumMap<>(EmployeeField.class);
+
+        employeeDAO.saveEmployee(employee("Arun", "9000000010"));
+        copy.setEmailId("devi.r@example.com");
+        try {
+            employeeDAO.saveEmployee(copy);
+            fail("A second employee with the phone number must be refused");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_001),
+                    exception.getMessage());
+        }
+        changes.put(EmployeeField.EMAIL_ID, "9000000010@example.com");
+        try {
+            employeeDAO.patchEmployee(employeeId, changes);
+            fail("A patch to an email id in use must be refused");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_004),
+                    exception.getMessage());
+        }
+        assertEquals(2, employeeDAO.fetchEmployeeNames().size());
+        assertEquals("9000000009@example.com", employeeDAO.fetchEmployeeById(employeeId,
+                FetchPlan.SUMMARY).getEmailId());
+    }
+
+    @Test
+    public void updateOfMissingEmployeeReturnsNull() throws EmployeeManagementException {
+        Employee employee = employee("Ravi", "9000000002");
+
+        employee.setId(Integer.MAX_VALUE);
+        assertNull(employeeDAO.updateEmployee(employee));
+    }
+
+    @Test
+    public void namesAndAddressReferencesAreReadInOneQueryEach()
+            throws EmployeeManagementException {
+        Statistics statistics = ConnectionFactory.getSessionFactory().getStatistics();
+        List<Employee> employees = new ArrayList<>();
+        List<Integer> employeeIds;
+        List<IdNameVO> names;
+        List<AddressReferenceVO> addresses;
+        long statements = 0;
+
+        for (String name : new String[] {"Zara", "Anil", "Mohan"}) {
+            Employee employee = employee(name, String.valueOf(9700000000L + employees.size()));
+
+            employee.getAddresses().add(new Address(employee, "1", "Main Street",
+                    "Chennai", "Tamil Nadu", "India", 600001));
+            employees.add(employee);
+        }
+        employeeIds = employeeDAO.saveEmployees(employees);
+
+        statements = statistics.getPrepareStatementCount();
+        names = employeeDAO.fetchEmployeeNames();
+        assertEquals(statements + 1, statistics.getPrepareStatementCount());
+        addresses = new AddressDAOImpl().fetchAllAddress();
+        assertEquals(statements + 2, statistics.getPrepareStatementCount());
+
+        assertEquals(3, names.size());
+        assertEquals(3, addresses.size());
+        for (int index = 0; index < 3; index++) {
+            assertEquals(employeeIds.get(index).intValue(), names.get(index).getId());
+            assertEquals(employeeIds.get(index).intValue(), addresses.get(index).getEmployeeId());
+        }
+        assertEquals("Zara", names.get(0).getName());
+        assertEquals("Mohan", names.get(2).getName());
+    }
+
+    private static long fetchNextValue(String segment) {
+        Session session = ConnectionFactory.getSession();
+
+        try {
+            return ((Number) session.createNativeQuery("SELECT next_val FROM"
+                    + " id_generator WHERE sequence_name = :segment")
+                    .setParameter("segment", segment).uniqueResult()).longValue();
+        } finally {
+            ConnectionFactory.close(session);
+        }
+    }
+
+    /**
+     * @return  Employee unsaved employee with the phone number in its email id
+     */
+    public static Employee employee(String name, String phoneNumber) {
+        Employee employee = new Employee();
+
+        employee.setName(name);
+        employee.setPhoneNumber(phoneNumber);
+        employee.setDob(new Date(0));
+        employee.setSalary(30000);
+        employee.setEmailId(phoneNumber + "@example.com");
+        return employee;
+    }
+
+    /**
+     * @return  Project unsaved project
+     */
+    public static Project project(String name) {
+        Project project = new Project();
+
+        project.setName(name);
+        project.setDomain("Finance");
+        project.setStartDate(new Date(0));
+        project.setManagerName("Meena");
+        return project;
+    }
+}
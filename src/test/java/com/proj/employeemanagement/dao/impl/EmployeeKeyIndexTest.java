@@ -0,0 +1,75 @@
+package com.proj.employeemanagement.dao.impl;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.proj.employeemanagement.connection.UnitOfWork;
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.util.ConstantUtil;
+
+/**
+ * Keys recorded by the employee key index against the embedded database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class EmployeeKeyIndexTest {
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+
+    @Before
+    public void emptyTables() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+        EmployeeKeyIndex.warmUp();
+    }
+
+    @Test
+    public void committedKeysAreRecorded() throws EmployeeManagementException {
+        assertFalse(EmployeeKeyIndex.mightContainPhoneNumber("9100000001"));
+        employeeDAO.saveEmployee(employee("Meena", "9100000001"));
+
+        assertTrue(EmployeeKeyIndex.mightContainPhoneNumber("9100000001"));
+        assertTrue(EmployeeKeyIndex.mightContainEmailId("9100000001@example.com"));
+        assertEquals("Meena", employeeDAO.fetchEmployeeByPhoneNumber("9100000001")
+                .getName());
+    }
+
+    @Test
+    public void keysOfRolledBackUnitAreNotRecorded() {
+        try {
+            UnitOfWork.execute(() -> {
+                employeeDAO.saveEmployee(employee("Gopal", "9100000002"));
+                throw new EmployeeManagementException(ConstantUtil.ERROR
+                        .get(ConstantUtil.ERROR_CODE_028));
+            });
+            fail("Unit of work must fail");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_028),
+                    exception.getMessage());
+        }
+
+        assertFalse(EmployeeKeyIndex.mightContainPhoneNumber("9100000002"));
+        assertFalse(EmployeeKeyIndex.mightContainEmailId("9100000002@example.com"));
+    }
+
+    @Test
+    public void keysOfCommittedUnitAreRecordedAtCommit()
+            throws EmployeeManagementException {
+        UnitOfWork.execute(() -> {
+            int employeeId = employeeDAO.saveEmployee(employee("Latha", "9100000003"));
+
+            assertFalse(EmployeeKeyIndex.mightContainPhoneNumber("9100000003"));
+            return employeeId;
+        });
+
+        assertTrue(EmployeeKeyIndex.mightContainPhoneNumber("9100000003"));
+    }
+}
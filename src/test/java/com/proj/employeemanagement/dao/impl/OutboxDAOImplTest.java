@@ -0,0 +1,113 @@
+package com.proj.employeemanagement.dao.impl;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.project;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.proj.employeemanagement.connection.UnitOfWork;
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.OutboxDAO;
+import com.proj.employeemanagement.dao.ProjectAssignmentDAO;
+import com.proj.employeemanagement.dao.ProjectDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.OutboxEventVO;
+import com.proj.employeemanagement.outbox.QueueOutboxSink;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.EmployeeField;
+
+/**
+ * Change events recorded with their changes and relayed from the outbox
+ * table of the embedded database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class OutboxDAOImplTest {
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+    private final ProjectDAO projectDAO = new ProjectDAOImpl();
+    private final ProjectAssignmentDAO projectAssignmentDAO = new ProjectAssignmentDAOImpl();
+    private final OutboxDAO outboxDAO = new OutboxDAOImpl();
+
+    @BeforeClass
+    public static void enableOutbox() {
+        System.setProperty(Outbox.ENABLED, "true");
+    }
+
+    @Before
+    public void emptyTables() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+        outboxDAO.relayEvents(Integer.MAX_VALUE, new QueueOutboxSink(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void changesAreRelayedInOrderAndRemoved() throws EmployeeManagementException {
+        QueueOutboxSink sink = new QueueOutboxSink(100);
+        int employeeId = employeeDAO.saveEmployee(employee("Ilango", "9500000001"));
+        int projectId = projectDAO.saveProject(project("Ledger"));
+        List<String> employeeOperations = new ArrayList<>();
+        List<String> projectOperations = new ArrayList<>();
+
+        projectAssignmentDAO.assignEmployees(projectId, Collections.singletonList(employeeId));
+        employeeDAO.patchEmployee(employeeId,
+                Collections.singletonMap(EmployeeField.NAME, "Ilango M"));
+        employeeDAO.deleteEmployeeById(employeeId);
+
+        outboxDAO.relayEvents(100, sink);
+        for (OutboxEventVO event : sink.getQueue()) {
+            if (Outbox.EMPLOYEE.equals(event.getEntity())) {
+                assertEquals(employeeId, event.getEntityId());
+                employeeOperations.add(event.getOperation());
+            } else {
+                assertEquals(projectId, event.getEntityId());
+                projectOperations.add(event.getOperation());
+            }
+        }
+        assertEquals(Arrays.asList(Outbox.CREATE, Outbox.UPDATE, Outbox.DELETE),
+                employeeOperations);
+        assertEquals(Arrays.asList(Outbox.CREATE, Outbox.ASSIGN), projectOperations);
+        assertEquals(0, outboxDAO.relayEvents(100, sink));
+    }
+
+    @Test
+    public void rolledBackChangeRecordsNoEvent() throws EmployeeManagementException {
+        try {
+            UnitOfWork.execute(() -> {
+                employeeDAO.saveEmployee(employee("Kavin", "9500000002"));
+                throw new EmployeeManagementException("Operation abandoned");
+            });
+            fail("The exception of the work must reach the caller");
+        } catch (EmployeeManagementException exception) {
+            assertEquals("Operation abandoned", exception.getMessage());
+        }
+        assertEquals(0, outboxDAO.relayEvents(100, new QueueOutboxSink(100)));
+    }
+
+    @Test
+    public void eventsStayWhenTheSinkRefusesThem() throws EmployeeManagementException {
+        QueueOutboxSink sink = new QueueOutboxSink(100);
+
+        employeeDAO.saveEmployee(employee("Nandhu", "9500000003"));
+        employeeDAO.saveEmployee(employee("Oviya", "9500000004"));
+        try {
+            outboxDAO.relayEvents(100, new QueueOutboxSink(1));
+            fail("A sink without room must fail the relay");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR.get(ConstantUtil.ERROR_CODE_031),
+                    exception.getMessage());
+        }
+        assertEquals(2, outboxDAO.relayEvents(100, sink));
+        assertEquals(2, sink.getQueue().size());
+    }
+}
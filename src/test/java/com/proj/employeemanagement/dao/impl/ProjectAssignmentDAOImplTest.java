@@ -0,0 +1,142 @@
+package com.proj.employeemanagement.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.ProjectAssignmentDAO;
+import com.proj.employeemanagement.dao.ProjectDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.AssignmentReportVO;
+import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.persistence.Project;
+import com.proj.employeemanagement.util.ConstantUtil;
+import com.proj.employeemanagement.util.FetchPlan;
+
+/**
+ * Row-by-row and set-based project assignments against the embedded
+ * database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ProjectAssignmentDAOImplTest {
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+    private final ProjectDAO projectDAO = new ProjectDAOImpl();
+    private final ProjectAssignmentDAO projectAssignmentDAO = new ProjectAssignmentDAOImpl();
+
+    @Before
+    public void emptyTables() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+    }
+
+    @Test
+    public void assignmentsChangeOnlyTheGivenPairs() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(EmployeeDAOImplTest.employee("Asha", "9100000001"));
+        int firstProjectId = projectDAO.saveProject(EmployeeDAOImplTest.project("Ledger"));
+        int secondProjectId = projectDAO.saveProject(EmployeeDAOImplTest.project("Payroll"));
+
+        assertEquals(2, projectAssignmentDAO.assignProjects(employeeId,
+                Arrays.asList(firstProjectId, secondProjectId)));
+        assertEquals(0, projectAssignmentDAO.assignProjects(employeeId,
+                Collections.singletonList(firstProjectId)));
+        assertEquals(1, projectAssignmentDAO.deAssignProjects(employeeId,
+                Collections.singletonList(firstProjectId)));
+        assertEquals(secondProjectId, employeeDAO.fetchEmployeeById(employeeId,
+                FetchPlan.WITH_PROJECTS).getProjects().get(0).getId());
+    }
+
+    @Test
+    public void assignmentAdvancesTheVersionOfBothSides() throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(EmployeeDAOImplTest.employee("Ravi", "9100000002"));
+        int projectId = projectDAO.saveProject(EmployeeDAOImplTest.project("Ledger"));
+        Employee readEmployee = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY);
+        Project readProject = projectDAO.fetchProjectById(projectId, FetchPlan.SUMMARY);
+
+        projectAssignmentDAO.assignEmployees(projectId, Collections.singletonList(employeeId));
+        readEmployee.setName("Ravi K");
+        readProject.setName("General Ledger");
+        try {
+            employeeDAO.updateEmployee(readEmployee);
+            fail("Employee update prepared before the assignment must be refused");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR_CODE_027, exception.getErrorCode());
+        }
+        try {
+            projectDAO.updateProject(readProject);
+            fail("Project update prepared before the assignment must be refused");
+        } catch (EmployeeManagementException exception) {
+            assertEquals(ConstantUtil.ERROR_CODE_027, exception.getErrorCode());
+        }
+    }
+
+    @Test
+    public void bulkAssignmentReportsMissingIdsAndAdvancesVersions()
+            throws EmployeeManagementException {
+        int employeeId = employeeDAO.saveEmployee(EmployeeDAOImplTest.employee("Kiran", "9100000003"));
+        int projectId = projectDAO.saveProject(EmployeeDAOImplTest.project("Ledger"));
+        int employeeVersion = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY)
+                .getVersion();
+        AssignmentReportVO report = projectAssignmentDAO.assignEmployeesToProjects(
+                new HashSet<>(Arrays.asList(employeeId, Integer.MAX_VALUE)),
+                Collections.singleton(projectId));
+
+        assertEquals(1, report.getChangedPairs());
+        assertEquals(Collections.singleton(Integer.MAX_VALUE), report.getMissingEmployeeIds());
+        assertEquals(employeeVersion + 1, employeeDAO.fetchEmployeeById(employeeId,
+                FetchPlan.SUMMARY).getVersion());
+        assertEquals(1, projectAssignmentDAO.unassignEmployeesFromProjects(
+                Collections.singleton(employeeId), Collections.singleton(projectId))
+                .getChangedPairs());
+    }
+
+    @Test
+    public void bulkAssignmentSkipsExistingPairsInAFewStatements()
+            throws EmployeeManagementException {
+        Statistics statistics = ConnectionFactory.getSessionFactory().getStatistics();
+        Set<Integer> employeeIds = new HashSet<>();
+        Set<Integer> projectIds = new HashSet<>();
+        AssignmentReportVO report = null;
+        int firstEmployeeId = 0;
+        long statements = 0;
+
+        for (int index = 0; index < 30; index++) {
+            employeeIds.add(employeeDAO.saveEmployee(EmployeeDAOImplTest.employee(
+                    "Staff " + index, String.valueOf(9110000000L + index))));
+        }
+        for (String name : new String[] {"Ledger", "Payroll", "Audit"}) {
+            projectIds.add(projectDAO.saveProject(EmployeeDAOImplTest.project(name)));
+        }
+        firstEmployeeId = employeeIds.iterator().next();
+        projectAssignmentDAO.assignProjects(firstEmployeeId,
+                Collections.singletonList(projectIds.iterator().next()));
+
+        statements = statistics.getPrepareStatementCount();
+        report = projectAssignmentDAO.assignEmployeesToProjects(employeeIds, projectIds);
+
+        assertEquals(89, report.getChangedPairs());
+        assertEquals(1, report.getSkippedPairs());
+        assertTrue(report.getMissingEmployeeIds().isEmpty());
+        assertTrue(report.getMissingProjectIds().isEmpty());
+        assertTrue(statistics.getPrepareStatementCount() - statements <= 6);
+        for (int projectId : projectIds) {
+            assertEquals(30, projectDAO.fetchProjectById(projectId, FetchPlan.WITH_EMPLOYEES)
+                    .getEmployees().size());
+        }
+        assertEquals(90, projectAssignmentDAO.unassignEmployeesFromProjects(employeeIds,
+                projectIds).getChangedPairs());
+    }
+}
@@ -0,0 +1,94 @@
+package com.proj.employeemanagement.dao.impl;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.project;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.proj.employeemanagement.connection.ConnectionFactory;
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.ProjectAssignmentDAO;
+import com.proj.employeemanagement.dao.ProjectDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.IdNameVO;
+import com.proj.employeemanagement.persistence.Project;
+import com.proj.employeemanagement.util.FetchPlan;
+
+/**
+ * Cached reads of projects against the embedded database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class ProjectDAOImplTest {
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+    private final ProjectDAO projectDAO = new ProjectDAOImpl();
+    private final ProjectAssignmentDAO projectAssignmentDAO = new ProjectAssignmentDAOImpl();
+
+    @Before
+    public void emptyTables() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+        ConnectionFactory.getSessionFactory().getCache().evictAllRegions();
+    }
+
+    @Test
+    public void repeatedFetchIsServedFromTheCache() throws EmployeeManagementException {
+        int projectId = projectDAO.saveProject(project("Ledger"));
+        Statistics statistics = ConnectionFactory.getSessionFactory().getStatistics();
+        long statements = 0;
+
+        projectDAO.fetchProjectById(projectId, FetchPlan.SUMMARY);
+        statements = statistics.getPrepareStatementCount();
+        projectDAO.fetchProjectById(projectId, FetchPlan.SUMMARY);
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(ConnectionFactory.getSessionFactory().getCache()
+                .containsEntity(Project.class, projectId));
+    }
+
+    @Test
+    public void namesAreListedByIdWithoutCachingProjects() throws EmployeeManagementException {
+        int firstId = projectDAO.saveProject(project("Payroll"));
+        int secondId = projectDAO.saveProject(project("Audit"));
+        List<IdNameVO> names;
+
+        ConnectionFactory.getSessionFactory().getCache().evictAllRegions();
+        names = projectDAO.fetchProjectNames();
+
+        assertEquals(2, names.size());
+        assertEquals(firstId, names.get(0).getId());
+        assertEquals("Payroll", names.get(0).getName());
+        assertEquals(secondId, names.get(1).getId());
+        assertEquals("Audit", names.get(1).getName());
+        assertFalse(ConnectionFactory.getSessionFactory().getCache()
+                .containsEntity(Project.class, firstId));
+    }
+
+    @Test
+    public void updateAndAssignmentAreSeenThroughTheCache() throws EmployeeManagementException {
+        int projectId = projectDAO.saveProject(project("Ledger"));
+        int employeeId = employeeDAO.saveEmployee(employee("Dev", "9810000001"));
+        Project readProject = projectDAO.fetchProjectById(projectId, FetchPlan.WITH_EMPLOYEES);
+
+        assertEquals(0, readProject.getEmployees().size());
+        readProject.setName("General Ledger");
+        projectDAO.updateProject(readProject);
+        projectAssignmentDAO.assignEmployees(projectId, Collections.singletonList(employeeId));
+
+        readProject = projectDAO.fetchProjectById(projectId, FetchPlan.WITH_EMPLOYEES);
+        assertEquals("General Ledger", readProject.getName());
+        assertEquals(1, readProject.getEmployees().size());
+        assertEquals(1, employeeDAO.fetchEmployeeById(employeeId, FetchPlan.WITH_PROJECTS)
+                .getProjects().size());
+    }
+}
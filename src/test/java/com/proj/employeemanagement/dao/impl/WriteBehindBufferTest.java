@@ -0,0 +1,135 @@
+package com.proj.employeemanagement.dao.impl;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.util.EmployeeField;
+import com.proj.employeemanagement.util.FetchPlan;
+
+/**
+ * Buffered employee patches written to the embedded database. The flush
+ * timer is set far off, so patches are only written by explicit flushes.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class WriteBehindBufferTest {
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+
+    @BeforeClass
+    public static void configureBuffers() {
+        System.setProperty(WriteBehindBuffer.INTERVAL_MILLIS, "3600000");
+        System.setProperty(WriteBehindBuffer.MAX_PENDING, "1000");
+        System.setProperty(WriteBehindBuffer.JOURNAL_DIRECTORY, folder.getRoot().toString());
+    }
+
+    @Before
+    public void emptyTables() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+    }
+
+    @Test
+    public void repeatedPatchesOfOneRowAreWrittenAsOneUpdate() throws Exception {
+        int employeeId = employeeDAO.saveEmployee(employee("Mani", "9400000001"));
+        int version = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY).getVersion();
+        AtomicInteger writes = new AtomicInteger();
+        WriteBehindBuffer<EmployeeField> buffer = new WriteBehindBuffer<>("coalesce",
+                EmployeeField.class, (id, changes) -> {
+                    writes.incrementAndGet();
+                    return employeeDAO.patchEmployee(id, changes);
+                });
+        Employee readEmployee = null;
+
+        try {
+            buffer.add(employeeId, Collections.singletonMap(EmployeeField.NAME, "Mani K"));
+            buffer.add(employeeId, Collections.singletonMap(EmployeeField.SALARY, 52000f));
+            buffer.add(employeeId, Collections.singletonMap(EmployeeField.NAME, "Mani R"));
+
+            assertEquals(1, buffer.getPendingCount());
+            assertEquals("Mani", employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY)
+                    .getName());
+            buffer.flush();
+        } finally {
+            buffer.close();
+        }
+
+        readEmployee = employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY);
+        assertEquals(1, writes.get());
+        assertEquals("Mani R", readEmployee.getName());
+        assertEquals(52000f, readEmployee.getSalary(), 0f);
+        assertEquals(version + 1, readEmployee.getVersion());
+        assertEquals(0, Files.size(folder.getRoot().toPath().resolve("coalesce.journal")));
+    }
+
+    @Test
+    public void patchesLeftInTheJournalAreWrittenByTheNextBuffer() throws Exception {
+        int employeeId = employeeDAO.saveEmployee(employee("Selvi", "9400000002"));
+        WriteBehindBuffer<EmployeeField> failingBuffer = new WriteBehindBuffer<>("replay",
+                EmployeeField.class, (id, changes) -> {
+                    throw new EmployeeManagementException("Database is down");
+                });
+        WriteBehindBuffer<EmployeeField> buffer = null;
+
+        failingBuffer.add(employeeId, Collections.singletonMap(EmployeeField.NAME, "Selvi P"));
+        failingBuffer.close();
+
+        buffer = new WriteBehindBuffer<>("replay", EmployeeField.class,
+                employeeDAO::patchEmployee);
+        try {
+            assertEquals(1, buffer.getPendingCount());
+            buffer.flush();
+        } finally {
+            buffer.close();
+        }
+        assertEquals("Selvi P", employeeDAO.fetchEmployeeById(employeeId, FetchPlan.SUMMARY)
+                .getName());
+    }
+
+    @Test
+    public void rejectedPatchIsMovedToTheDeadLetterFile() throws Exception {
+        int employeeId = employeeDAO.saveEmployee(employee("Bala", "9400000003"));
+        int otherEmployeeId = employeeDAO.saveEmployee(employee("Devan", "9400000004"));
+        WriteBehindBuffer<EmployeeField> buffer = new WriteBehindBuffer<>("deadletter",
+                EmployeeField.class, employeeDAO::patchEmployee);
+        Map<EmployeeField, Object> changes = new EnumMap<>(EmployeeField.class);
+        Path deadLetterPath = folder.getRoot().toPath().resolve("deadletter.deadletter");
+
+        changes.put(EmployeeField.EMAIL_ID, "9400000004@example.com");
+        try {
+            buffer.add(employeeId, changes);
+            buffer.add(otherEmployeeId, Collections.singletonMap(EmployeeField.NAME, "Devan S"));
+            buffer.flush();
+
+            assertEquals(0, buffer.getPendingCount());
+        } finally {
+            buffer.close();
+        }
+        assertTrue(Files.size(deadLetterPath) > 0);
+        assertEquals("9400000003@example.com", employeeDAO.fetchEmployeeById(employeeId,
+                FetchPlan.SUMMARY).getEmailId());
+        assertEquals("Devan S", employeeDAO.fetchEmployeeById(otherEmployeeId,
+                FetchPlan.SUMMARY).getName());
+    }
+}
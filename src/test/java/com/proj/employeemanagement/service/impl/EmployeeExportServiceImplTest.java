@@ -0,0 +1,106 @@
+package com.proj.employeemanagement.service.impl;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.impl.EmployeeDAOImpl;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.ExportReportVO;
+import com.proj.employeemanagement.persistence.Address;
+import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.util.ExportFormat;
+
+/**
+ * Exports of the employee directory from the embedded database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class EmployeeExportServiceImplTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+
+    @Before
+    public void saveEmployees() throws EmployeeManagementException {
+        List<Employee> employees = new ArrayList<>();
+
+        employeeDAO.truncateAll();
+        for (int index = 0; index < 25; index++) {
+            Employee employee = employee("Export " + index, String.valueOf(9850000000L + index));
+
+            employee.getAddresses().add(new Address(employee, "1", "Main Street",
+                    "Chennai", "Tamil Nadu", "India", 600001));
+            employees.add(employee);
+        }
+        employeeDAO.saveEmployees(employees);
+    }
+
+    @Test
+    public void exportsEveryEmployeeToOneCsvFile() throws Exception {
+        String filePath = folder.getRoot().toPath().resolve("employees.csv").toString();
+        ExportReportVO report = new EmployeeExportServiceImpl().exportEmployees(filePath,
+                ExportFormat.CSV, false, 1);
+        List<String> lines = Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+
+        assertEquals(25, report.getExportedRows());
+        assertEquals(26, lines.size());
+        assertTrue(lines.get(0).startsWith("id,name,phone_number"));
+        assertTrue(lines.get(1).contains("Export 0"));
+        assertTrue(lines.get(1).contains("Main Street"));
+    }
+
+    @Test
+    public void exportsCompressedJsonLinesInParts() throws Exception {
+        String filePath = folder.getRoot().toPath().resolve("employees.jsonl.gz").toString();
+        ExportReportVO report = new EmployeeExportServiceImpl().exportEmployees(filePath,
+                ExportFormat.JSON_LINES, true, 3);
+        List<String> lines = new ArrayList<>();
+
+        for (String file : report.getFiles()) {
+            lines.addAll(readCompressed(file));
+        }
+
+        assertEquals(25, report.getExportedRows());
+        assertEquals(3, report.getFiles().size());
+        assertEquals(25, lines.size());
+        for (String line : lines) {
+            assertTrue(line.startsWith("{\"id\":"));
+        }
+    }
+
+    private static List<String> readCompressed(String file) throws IOException {
+        List<String> lines = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(Paths.get(file))),
+                StandardCharsets.UTF_8))) {
+            String line;
+
+            while (null != (line = reader.readLine())) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
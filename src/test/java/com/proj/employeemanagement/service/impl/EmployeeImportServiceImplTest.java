@@ -0,0 +1,112 @@
+package com.proj.employeemanagement.service.impl;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.impl.EmployeeDAOImpl;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.ImportReportVO;
+import com.proj.employeemanagement.persistence.Employee;
+import com.proj.employeemanagement.util.FetchPlan;
+
+/**
+ * Imports of employees from CSV files into the embedded database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class EmployeeImportServiceImplTest {
+
+    private static final String HEADER = "name,phone_number,dob,salary,email_id,"
+            + "door_number,street,district,state,country,pincode";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+
+    @Before
+    public void emptyTables() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+    }
+
+    @Test
+    public void importsValidRowsAcrossBatches() throws Exception {
+        List<String> lines = new ArrayList<>();
+        ImportReportVO report = null;
+
+        lines.add(HEADER);
+        for (int index = 0; index < 130; index++) {
+            lines.add(row("Imported Person", String.valueOf(9700000000L + index),
+                    "person" + index + "@example.com"));
+        }
+        report = new EmployeeImportServiceImpl().importEmployees(write(lines));
+
+        assertEquals(130, report.getTotalRows());
+        assertEquals(130, report.getImportedRows());
+        assertEquals(Collections.emptyList(), report.getRowErrors());
+        assertEquals(130, employeeDAO.fetchAllEmployee(FetchPlan.SUMMARY).size());
+        assertEquals(1, employeeDAO.fetchEmployeeById(employeeDAO
+                .fetchEmployeeByPhoneNumber("9700000042").getId(), FetchPlan.WITH_ADDRESSES)
+                .getAddresses().size());
+    }
+
+    @Test
+    public void rejectsInvalidAndDuplicateRows() throws Exception {
+        Employee stored = employee("Stored", "9800000001");
+        ImportReportVO report = null;
+        List<String> rowErrors = null;
+
+        employeeDAO.saveEmployee(stored);
+        report = new EmployeeImportServiceImpl().importEmployees(write(Arrays.asList(
+                HEADER,
+                row("Valid Person", "9800000002", "valid@example.com"),
+                row("Bad Phone", "12345", "badphone@example.com"),
+                row("Stored Again", "9800000001", "storedagain@example.com"),
+                row("File Twin", "9800000002", "filetwin@example.com"),
+                "\"Quoted Person\",9800000003,01/01/1990,30000,quoted@example.com,"
+                        + "12,\"Main Street\",Chennai,Tamil Nadu,India,600001",
+                "Short Row,9800000004")));
+        rowErrors = new ArrayList<>(report.getRowErrors());
+        Collections.sort(rowErrors);
+
+        assertEquals(6, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(4, rowErrors.size());
+        assertTrue(rowErrors.get(0).startsWith("Row 3: invalid phone number"));
+        assertTrue(rowErrors.get(1).startsWith("Row 4: duplicate phone number"));
+        assertTrue(rowErrors.get(2).startsWith("Row 5: duplicate phone number"));
+        assertTrue(rowErrors.get(3).startsWith("Row 7: expected 11 columns"));
+        assertEquals("Quoted Person", employeeDAO.fetchEmployeeByPhoneNumber("9800000003")
+                .getName());
+    }
+
+    private static String row(String name, String phoneNumber, String emailId) {
+        return name + "," + phoneNumber + ",01/01/1990,30000," + emailId
+                + ",12,Main Street,Chennai,Tamil Nadu,India,600001";
+    }
+
+    private String write(List<String> lines) throws IOException {
+        File file = folder.newFile("employees.csv");
+
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+        return file.getPath();
+    }
+}
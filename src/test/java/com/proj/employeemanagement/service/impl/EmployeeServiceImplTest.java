@@ -0,0 +1,76 @@
+package com.proj.employeemanagement.service.impl;
+
+import static com.proj.employeemanagement.dao.impl.EmployeeDAOImplTest.employee;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.proj.employeemanagement.dao.EmployeeDAO;
+import com.proj.employeemanagement.dao.impl.EmployeeDAOImpl;
+import com.proj.employeemanagement.exception.EmployeeManagementException;
+import com.proj.employeemanagement.model.EmployeeVO;
+import com.proj.employeemanagement.model.PageVO;
+import com.proj.employeemanagement.service.EmployeeService;
+
+/**
+ * Paging through employees against the embedded database.
+ *
+ * @version 1.00
+ * @author  Pallavan
+ * @since   1.04
+ */
+public class EmployeeServiceImplTest {
+
+    private final EmployeeDAO employeeDAO = new EmployeeDAOImpl();
+    private final EmployeeService employeeService = new EmployeeServiceImpl();
+
+    @Before
+    public void saveEmployees() throws EmployeeManagementException {
+        employeeDAO.truncateAll();
+        for (int index = 0; index < 7; index++) {
+            employeeDAO.saveEmployee(employee("Page " + index,
+                    String.valueOf(9840000000L + index)));
+        }
+    }
+
+    @Test
+    public void pagesForwardAndBackByIdCursor() throws EmployeeManagementException {
+        PageVO<EmployeeVO> firstPage = employeeService.getEmployeesAfter(0, 3);
+        PageVO<EmployeeVO> secondPage = employeeService.getEmployeesAfter(
+                firstPage.getLastId(), 3);
+        PageVO<EmployeeVO> lastPage = employeeService.getEmployeesAfter(
+                secondPage.getLastId(), 3);
+        PageVO<EmployeeVO> previousPage = employeeService.getEmployeesBefore(
+                lastPage.getFirstId(), 3);
+
+        assertEquals(Arrays.asList("Page 0", "Page 1", "Page 2"), names(firstPage));
+        assertFalse(firstPage.hasPrevious());
+        assertTrue(firstPage.hasNext());
+        assertEquals(Arrays.asList("Page 3", "Page 4", "Page 5"), names(secondPage));
+        assertTrue(secondPage.hasNext());
+        assertEquals(Arrays.asList("Page 6"), names(lastPage));
+        assertFalse(lastPage.hasNext());
+        assertEquals(names(secondPage), names(previousPage));
+        assertTrue(previousPage.hasPrevious());
+        assertEquals(names(firstPage), names(employeeService.getEmployeesBefore(
+                previousPage.getFirstId(), 3)));
+        assertFalse(employeeService.getEmployeesBefore(previousPage.getFirstId(), 3)
+                .hasPrevious());
+    }
+
+    private static List<String> names(PageVO<EmployeeVO> page) {
+        List<String> names = new ArrayList<>();
+
+        for (EmployeeVO employee : page.getItems()) {
+            names.add(employee.getName());
+        }
+        return names;
+    }
+}